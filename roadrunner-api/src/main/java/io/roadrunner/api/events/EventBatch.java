@@ -0,0 +1,34 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.events;
+
+import io.roadrunner.api.measurments.EventCursor;
+
+/**
+ * Batch of journaled events, in timestamp order. The batch is a view over buffers that are reused
+ * once {@link EventListener#onEvent(EventBatch)} returns, so neither the batch nor its cursors may be
+ * kept past that call.
+ */
+public interface EventBatch {
+
+    int size();
+
+    /**
+     * Returns a new cursor positioned before the first event of the batch; the batch can be walked
+     * any number of times.
+     */
+    EventCursor cursor();
+}
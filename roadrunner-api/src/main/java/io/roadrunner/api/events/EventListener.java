@@ -16,6 +16,7 @@
 package io.roadrunner.api.events;
 
 import io.roadrunner.api.measurments.EventReader;
+import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -29,6 +30,21 @@ public interface EventListener {
 
     void onEvent(Collection<? extends Event> batch);
 
+    /**
+     * Handles a batch of journaled events through its columnar view. Listeners on the hot path
+     * override it to read primitives off the cursor; by default the batch is materialized and passed
+     * to {@link #onEvent(Collection)}.
+     */
+    default void onEvent(EventBatch batch) {
+        var events = new ArrayList<Event>(batch.size());
+        try (var cursor = batch.cursor()) {
+            while (cursor.next()) {
+                events.add(cursor.event());
+            }
+        }
+        onEvent(events);
+    }
+
     void onStop();
 
     EventReader samplesReader();
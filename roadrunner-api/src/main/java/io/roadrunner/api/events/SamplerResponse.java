@@ -20,8 +20,17 @@ import java.util.StringJoiner;
 
 public abstract sealed class SamplerResponse<SELF extends SamplerResponse<SELF>> extends Event
         permits SamplerResponse.Response, SamplerResponse.Error {
+    /**
+     * Value of {@link #bytesReceived()}, {@link #timeToRequestSent()} and {@link #timeToFirstByte()}
+     * when the sampler doesn't measure them.
+     */
+    public static final long NOT_MEASURED = -1;
+
     private long scheduledStartTime;
     private long latency;
+    private long bytesReceived = NOT_MEASURED;
+    private long timeToRequestSent = NOT_MEASURED;
+    private long timeToFirstByte = NOT_MEASURED;
 
     public static <T> Response<T> response(long timestamp, long stopTime, T body) {
         return new Response<>(timestamp, stopTime, body);
@@ -54,6 +63,30 @@ public abstract sealed class SamplerResponse<SELF extends SamplerResponse<SELF>>
         return latency;
     }
 
+    /**
+     * Returns the number of response body bytes received, or {@link #NOT_MEASURED}.
+     */
+    public long bytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Returns the time from the start of the request until the whole request was handed over to
+     * the transport, in nanoseconds, or {@link #NOT_MEASURED}.
+     */
+    public long timeToRequestSent() {
+        return timeToRequestSent;
+    }
+
+    /**
+     * Returns the time from the start of the request until the first byte of the response arrived,
+     * in nanoseconds, or {@link #NOT_MEASURED}. The time to the last byte is the service time,
+     * {@code stopTime() - timestamp()}.
+     */
+    public long timeToFirstByte() {
+        return timeToFirstByte;
+    }
+
     public SELF withScheduledStartTime(long scheduledStartTime) {
         this.scheduledStartTime = scheduledStartTime;
         return self();
@@ -64,18 +97,45 @@ public abstract sealed class SamplerResponse<SELF extends SamplerResponse<SELF>>
         return self();
     }
 
+    public SELF withBytesReceived(long bytesReceived) {
+        this.bytesReceived = bytesReceived;
+        return self();
+    }
+
+    public SELF withTimeToRequestSent(long timeToRequestSent) {
+        this.timeToRequestSent = timeToRequestSent;
+        return self();
+    }
+
+    public SELF withTimeToFirstByte(long timeToFirstByte) {
+        this.timeToFirstByte = timeToFirstByte;
+        return self();
+    }
+
     abstract SELF self();
 
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof SamplerResponse<?> that)) return false;
         if (!super.equals(o)) return false;
-        return scheduledStartTime == that.scheduledStartTime && latency == that.latency && stopTime == that.stopTime;
+        return scheduledStartTime == that.scheduledStartTime
+                && latency == that.latency
+                && stopTime == that.stopTime
+                && bytesReceived == that.bytesReceived
+                && timeToRequestSent == that.timeToRequestSent
+                && timeToFirstByte == that.timeToFirstByte;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), scheduledStartTime, latency, stopTime);
+        return Objects.hash(
+                super.hashCode(),
+                scheduledStartTime,
+                latency,
+                stopTime,
+                bytesReceived,
+                timeToRequestSent,
+                timeToFirstByte);
     }
 
     public static final class Response<T> extends SamplerResponse<Response<T>> {
@@ -86,6 +146,10 @@ public abstract sealed class SamplerResponse<SELF extends SamplerResponse<SELF>>
             this.body = body;
         }
 
+        public T body() {
+            return body;
+        }
+
         @Override
         Response<T> self() {
             return this;
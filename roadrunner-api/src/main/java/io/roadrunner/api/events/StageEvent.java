@@ -0,0 +1,83 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.events;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Event marking the start of a load profile stage; responses scheduled to start at or after its
+ * timestamp, up to the next stage's, belong to it.
+ */
+public final class StageEvent extends Event {
+
+    /** Labels are journaled with every stage, keep them short. */
+    public static final int MAX_LABEL_BYTES = 64;
+
+    /**
+     * Label of the warm-up stage: its responses are journaled, but left out of the run's summary,
+     * latency histograms and reports.
+     */
+    public static final String WARM_UP = "warm-up";
+
+    /** Label of the stage following the warm-up. */
+    public static final String MEASUREMENT = "measurement";
+
+    /**
+     * Label prefix of the stage a throughput search ends with, followed by the highest arrival rate
+     * that held the latency threshold; no responses belong to it.
+     */
+    public static final String MAX_SUSTAINED_RATE = "max-sustained-rate-";
+
+    private final String label;
+
+    public StageEvent(long timestamp, String label) {
+        super(timestamp);
+        this.label = checkLabel(label);
+    }
+
+    public String label() {
+        return label;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof StageEvent that)) return false;
+        if (!super.equals(o)) return false;
+        return label.equals(that.label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), label);
+    }
+
+    /**
+     * Returns the label when it is not blank and at most {@link #MAX_LABEL_BYTES} long in UTF-8,
+     * throws {@link IllegalArgumentException} otherwise.
+     */
+    public static String checkLabel(String label) {
+        Objects.requireNonNull(label, "stage label cannot be null");
+        if (label.isBlank()) {
+            throw new IllegalArgumentException("stage label cannot be blank");
+        }
+        if (label.getBytes(StandardCharsets.UTF_8).length > MAX_LABEL_BYTES) {
+            throw new IllegalArgumentException(
+                    "stage label cannot be longer than %d bytes: %s".formatted(MAX_LABEL_BYTES, label));
+        }
+        return label;
+    }
+}
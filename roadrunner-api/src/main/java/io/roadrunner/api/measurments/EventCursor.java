@@ -0,0 +1,112 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.measurments;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.MeasurementError;
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.events.UserEvent;
+
+/**
+ * Forward-only, allocation-free view over recorded events. The cursor is positioned before the
+ * first event; every successful {@link #next()} moves it to the following event, whose values are
+ * then available through the accessors until the next call. Values of response-only columns are
+ * undefined for other events.
+ */
+public interface EventCursor extends AutoCloseable {
+
+    enum Kind {
+        USER_ENTER,
+        USER_EXIT,
+        RESPONSE,
+        /** The sampler failed with an exception, there is no response. */
+        ERROR,
+        /** A load profile stage started, see {@link #label()}. */
+        STAGE
+    }
+
+    /**
+     * Moves to the next event, returns {@code false} when there are no more events.
+     */
+    boolean next();
+
+    Kind kind();
+
+    /**
+     * Returns the timestamp of the event, in nanoseconds; for responses this is when the request
+     * actually started.
+     */
+    long timestamp();
+
+    long scheduledStartTime();
+
+    long stopTime();
+
+    long latency();
+
+    Sample.Status status();
+
+    /**
+     * Returns the number of response body bytes received, or {@link SamplerResponse#NOT_MEASURED}.
+     */
+    long bytesReceived();
+
+    /**
+     * Returns the time until the request was sent, or {@link SamplerResponse#NOT_MEASURED}.
+     */
+    long timeToRequestSent();
+
+    /**
+     * Returns the time to the first byte of the response, or {@link SamplerResponse#NOT_MEASURED}.
+     */
+    long timeToFirstByte();
+
+    /**
+     * Returns the label of a stage; undefined for other events.
+     */
+    String label();
+
+    /**
+     * Materializes the current event. Allocates, meant for consumers that need event objects; the
+     * default implementation has no access to response bodies or exceptions.
+     */
+    default Event event() {
+        return switch (kind()) {
+            case USER_ENTER -> new UserEvent.Enter(timestamp());
+            case USER_EXIT -> new UserEvent.Exit(timestamp());
+            case RESPONSE ->
+                status() == Sample.Status.OK
+                        ? new SamplerResponse.Response<>(timestamp(), stopTime(), null)
+                                .withLatency(latency())
+                                .withScheduledStartTime(scheduledStartTime())
+                                .withBytesReceived(bytesReceived())
+                                .withTimeToRequestSent(timeToRequestSent())
+                                .withTimeToFirstByte(timeToFirstByte())
+                        : new SamplerResponse.Error(timestamp(), stopTime(), null)
+                                .withLatency(latency())
+                                .withScheduledStartTime(scheduledStartTime())
+                                .withBytesReceived(bytesReceived())
+                                .withTimeToRequestSent(timeToRequestSent())
+                                .withTimeToFirstByte(timeToFirstByte());
+            case ERROR -> new MeasurementError(timestamp(), null);
+            case STAGE -> new StageEvent(timestamp(), label());
+        };
+    }
+
+    @Override
+    void close();
+}
@@ -17,6 +17,7 @@ package io.roadrunner.api.measurments;
 
 import io.roadrunner.api.events.Event;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Represents a reader for events that can be iterated over.
@@ -24,4 +25,22 @@ import java.util.Iterator;
  */
 public interface EventReader extends Iterable<Event> {
     Iterator<Event> iterator();
+
+    /**
+     * Opens a cursor over the events. Readers backed by a binary journal read values in place,
+     * without materializing an {@link Event} per row; the default implementation walks
+     * {@link #iterator()}.
+     */
+    default EventCursor cursor() {
+        return new IteratingEventCursor(iterator());
+    }
+
+    /**
+     * Splits the events into at most {@code parallelism} readers over consecutive, disjoint parts
+     * that can be read concurrently; read one after another, in list order, they yield the same
+     * events as this reader. Readers that can't be split return themselves as the only chunk.
+     */
+    default List<EventReader> chunks(int parallelism) {
+        return List.of(this);
+    }
 }
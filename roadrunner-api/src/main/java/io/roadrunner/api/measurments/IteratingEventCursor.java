@@ -0,0 +1,149 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.measurments;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.MeasurementError;
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.events.UserEvent;
+import java.util.Iterator;
+
+/**
+ * {@link EventCursor} on top of a plain event iterator, for readers that don't have a better way.
+ * {@link #event()} hands out the iterated events as they are.
+ */
+final class IteratingEventCursor implements EventCursor {
+
+    private final Iterator<Event> events;
+    private Event event;
+    private Kind kind;
+    private long timestamp;
+    private long scheduledStartTime;
+    private long stopTime;
+    private long latency;
+    private Sample.Status status;
+    private long bytesReceived;
+    private long timeToRequestSent;
+    private long timeToFirstByte;
+    private String label;
+
+    IteratingEventCursor(Iterator<Event> events) {
+        this.events = events;
+    }
+
+    @Override
+    public boolean next() {
+        if (events.hasNext()) {
+            event = events.next();
+            switch (event) {
+                case SamplerResponse<?> response -> {
+                    kind = Kind.RESPONSE;
+                    timestamp = response.timestamp();
+                    scheduledStartTime = response.scheduledStartTime();
+                    stopTime = response.stopTime();
+                    latency = response.latency();
+                    status = response instanceof SamplerResponse.Error ? Sample.Status.KO : Sample.Status.OK;
+                    bytesReceived = response.bytesReceived();
+                    timeToRequestSent = response.timeToRequestSent();
+                    timeToFirstByte = response.timeToFirstByte();
+                    return true;
+                }
+                case UserEvent.Enter enter -> {
+                    kind = Kind.USER_ENTER;
+                    timestamp = enter.timestamp();
+                    return true;
+                }
+                case UserEvent.Exit exit -> {
+                    kind = Kind.USER_EXIT;
+                    timestamp = exit.timestamp();
+                    return true;
+                }
+                case MeasurementError error -> {
+                    kind = Kind.ERROR;
+                    timestamp = error.timestamp();
+                    return true;
+                }
+                case StageEvent stage -> {
+                    kind = Kind.STAGE;
+                    timestamp = stage.timestamp();
+                    label = stage.label();
+                    return true;
+                }
+                default -> throw new IllegalStateException("Unexpected value: " + event);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Event event() {
+        return event;
+    }
+
+    @Override
+    public Kind kind() {
+        return kind;
+    }
+
+    @Override
+    public long timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public long scheduledStartTime() {
+        return scheduledStartTime;
+    }
+
+    @Override
+    public long stopTime() {
+        return stopTime;
+    }
+
+    @Override
+    public long latency() {
+        return latency;
+    }
+
+    @Override
+    public Sample.Status status() {
+        return status;
+    }
+
+    @Override
+    public long bytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public long timeToRequestSent() {
+        return timeToRequestSent;
+    }
+
+    @Override
+    public long timeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    @Override
+    public String label() {
+        return label;
+    }
+
+    @Override
+    public void close() {}
+}
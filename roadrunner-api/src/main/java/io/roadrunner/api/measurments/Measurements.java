@@ -15,6 +15,15 @@
  */
 package io.roadrunner.api.measurments;
 
+import java.util.Optional;
+
 public interface Measurements {
     EventReader samplesReader();
+
+    /**
+     * Returns aggregates computed while the run was journaled, if they are available.
+     */
+    default Optional<MeasurementsSummary> summary() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.measurments;
+
+import java.util.List;
+
+/**
+ * Aggregates of a run computed while events were journaled, so that reports don't need to read
+ * the journal back. Times are in nanoseconds.
+ */
+public interface MeasurementsSummary {
+
+    long totalRequests();
+
+    long errorRequests();
+
+    /**
+     * Returns the earliest scheduled start time of a request, {@link Long#MAX_VALUE} when there
+     * were no requests.
+     */
+    long firstStartTime();
+
+    /**
+     * Returns the latest stop time of a request, zero when there were no requests.
+     */
+    long lastStopTime();
+
+    long minLatency();
+
+    long maxLatency();
+
+    double meanLatency();
+
+    long latencyAtPercentile(double percentile);
+
+    /**
+     * Returns the total number of response body bytes received, or
+     * {@link io.roadrunner.api.events.SamplerResponse#NOT_MEASURED} when no response measured it.
+     */
+    long bytesReceived();
+
+    /**
+     * Returns the time to the first byte at the given percentile, or
+     * {@link io.roadrunner.api.events.SamplerResponse#NOT_MEASURED} when no response measured it.
+     */
+    long timeToFirstByteAtPercentile(double percentile);
+
+    /**
+     * Returns the time to the last byte (service time) at the given percentile, over the responses
+     * that measured their time to the first byte, or
+     * {@link io.roadrunner.api.events.SamplerResponse#NOT_MEASURED} when there were none.
+     */
+    long timeToLastByteAtPercentile(double percentile);
+
+    /**
+     * Returns the time until the request was sent at the given percentile, or
+     * {@link io.roadrunner.api.events.SamplerResponse#NOT_MEASURED} when no response measured it.
+     */
+    long timeToRequestSentAtPercentile(double percentile);
+
+    /**
+     * Returns the time the server took to answer, from request sent to the first byte of the
+     * response, at the given percentile, or
+     * {@link io.roadrunner.api.events.SamplerResponse#NOT_MEASURED} when no response measured both.
+     */
+    long serverTimeAtPercentile(double percentile);
+
+    /**
+     * Returns the time spent receiving the response, from its first to its last byte, at the given
+     * percentile, or {@link io.roadrunner.api.events.SamplerResponse#NOT_MEASURED} when no response
+     * measured its time to the first byte.
+     */
+    long transferTimeAtPercentile(double percentile);
+
+    /**
+     * Returns the number of requests completed in each second of the run, counted from the
+     * scheduled start of the first journaled request.
+     */
+    long[] requestsPerSecond();
+
+    /**
+     * Returns the number of failed requests in each second of the run, aligned with
+     * {@link #requestsPerSecond()}.
+     */
+    long[] errorsPerSecond();
+
+    /**
+     * Returns the aggregates of every load profile stage, in the order they ran; empty when the
+     * run had no stages.
+     */
+    default List<StageSummary> stages() {
+        return List.of();
+    }
+}
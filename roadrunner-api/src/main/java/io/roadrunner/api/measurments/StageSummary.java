@@ -0,0 +1,42 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.measurments;
+
+/**
+ * Aggregates of the requests of a single load profile stage. Times are in nanoseconds.
+ */
+public interface StageSummary {
+
+    String label();
+
+    /**
+     * Returns when the stage started.
+     */
+    long startTime();
+
+    long totalRequests();
+
+    long errorRequests();
+
+    /**
+     * Returns the latest stop time of a request of the stage, zero when there were none.
+     */
+    long lastStopTime();
+
+    long maxLatency();
+
+    long latencyAtPercentile(double percentile);
+}
@@ -23,6 +23,10 @@ package io.roadrunner.api.parameters;
  * closes the feed. From that point on, sampler threads see the engine's own thread-safe dispatcher;
  * the feed returned here never reaches the hot path. Concurrency, cycling, and hot-path
  * performance are entirely the engine's concerns.
+ * <p>
+ * The exceptions are a {@link ParameterTable}, which the engine reads in place rather than
+ * copying it, and streaming access, where a single reader thread iterates the feed while the run
+ * goes on. Either way, the feed is iterated by one thread at a time.
  */
 public interface ParameterFeed extends AutoCloseable, Iterable<SamplerParameters> {
 
@@ -39,6 +39,11 @@ import java.util.Collections;
  *
  * {@link #load()} is the only point at which I/O may happen. The hot path never re-enters this
  * method.
+ * <p>
+ * Sources of datasets too large to copy onto the heap return a {@link ParameterTable} instead: the
+ * engine keeps it for the whole run, reads its rows by index and closes it, together with the
+ * source, after the run. With streaming access, the engine doesn't drain the feed up front either:
+ * a single reader thread iterates it while the run goes on, and closes it after the run.
  */
 public interface ParameterSource extends AutoCloseable {
 
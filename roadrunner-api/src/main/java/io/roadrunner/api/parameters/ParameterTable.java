@@ -0,0 +1,124 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.parameters;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link ParameterFeed} whose rows share a single header and can be read by row index.
+ * <p>
+ * The engine doesn't drain a table into rows of its own: it keeps the table for the whole run,
+ * hands out {@link SamplerParameters} views over row indexes and closes the table once the run is
+ * over. This is what lets a table keep millions of rows in typed columns, or in a memory-mapped
+ * file, instead of a map per row on the heap.
+ * <p>
+ * Unlike a plain feed, a table is read concurrently by sampler threads, so
+ * {@link #valueAt(int, int)} and the other accessors must be safe to call from many threads.
+ */
+public interface ParameterTable extends ParameterFeed {
+
+    /**
+     * Returns the column names, in positional binding order.
+     */
+    List<String> columns();
+
+    /**
+     * Returns the type of the values in {@code column}.
+     */
+    Class<?> typeOf(int column);
+
+    /**
+     * Returns the number of rows.
+     */
+    int size();
+
+    /**
+     * Returns the value in {@code row} and {@code column}.
+     */
+    Object valueAt(int row, int column);
+
+    /**
+     * Returns {@code true} when the value in {@code row} and {@code column} is {@code null}.
+     */
+    default boolean isNull(int row, int column) {
+        return valueAt(row, column) == null;
+    }
+
+    /**
+     * Returns the numeric value in {@code row} and {@code column} as a {@code long}. The accessors
+     * of primitive values let tables with primitive columns hand values out without boxing them.
+     */
+    default long longAt(int row, int column) {
+        return ((Number) valueAt(row, column)).longValue();
+    }
+
+    /**
+     * Returns the numeric value in {@code row} and {@code column} as an {@code int}.
+     */
+    default int intAt(int row, int column) {
+        return ((Number) valueAt(row, column)).intValue();
+    }
+
+    /**
+     * Returns the numeric value in {@code row} and {@code column} as a {@code double}.
+     */
+    default double doubleAt(int row, int column) {
+        return ((Number) valueAt(row, column)).doubleValue();
+    }
+
+    /**
+     * Returns the boolean value in {@code row} and {@code column}.
+     */
+    default boolean booleanAt(int row, int column) {
+        return (Boolean) valueAt(row, column);
+    }
+
+    /**
+     * Returns the position of column {@code name}, or {@code -1} when there is no such column.
+     */
+    default int columnOf(String name) {
+        return columns().indexOf(name);
+    }
+
+    /**
+     * Returns a view over {@code row}.
+     */
+    default SamplerParameters row(int row) {
+        return SamplerParameters.of(this, row);
+    }
+
+    @Override
+    default Iterator<SamplerParameters> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public SamplerParameters next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return row(next++);
+            }
+        };
+    }
+}
@@ -15,16 +15,24 @@
  */
 package io.roadrunner.api.parameters;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.SequencedMap;
 
+/**
+ * Parameters of a single sampler invocation: a view over one row of a {@link ParameterTable}.
+ * Parameters built from a map are a table of their own, holding that single row.
+ */
 public final class SamplerParameters {
 
-    public static final SamplerParameters NONE = new SamplerParameters(new LinkedHashMap<>());
+    public static final SamplerParameters NONE = of(new LinkedHashMap<>());
 
     public static SamplerParameters of(String key, Object value) {
-        return new SamplerParameters(new LinkedHashMap<>(Map.of(key, value)));
+        return of(new LinkedHashMap<>(Map.of(key, value)));
     }
 
     /**
@@ -33,28 +41,113 @@ public final class SamplerParameters {
      * {@link SequencedMap} — passing a {@link java.util.HashMap} won't compile.
      */
     public static SamplerParameters of(SequencedMap<String, ?> map) {
-        return new SamplerParameters(map);
+        return new SamplerParameters(new MapRow(map), 0);
     }
 
-    private final SequencedMap<String, ?> parameters;
+    /**
+     * Returns a view over {@code row} of {@code table}. Nothing is copied, values are read from
+     * the table as they are asked for.
+     */
+    public static SamplerParameters of(ParameterTable table, int row) {
+        Objects.checkIndex(row, table.size());
+        return new SamplerParameters(table, row);
+    }
 
-    private SamplerParameters(SequencedMap<String, ?> parameters) {
-        this.parameters = parameters;
+    private final ParameterTable table;
+    private final int row;
+
+    private SamplerParameters(ParameterTable table, int row) {
+        this.table = table;
+        this.row = row;
+    }
+
+    /**
+     * Returns the table these parameters are a row of. Rows of the same table share its columns and
+     * their types, which lets samplers prepare how they use parameters once per table rather than
+     * once per row.
+     */
+    public ParameterTable table() {
+        return table;
+    }
+
+    /**
+     * Returns the index of the row in {@link #table()}.
+     */
+    public int row() {
+        return row;
     }
 
     public Object valueOf(String key) {
-        return parameters.get(key);
+        var column = table.columnOf(key);
+        return column < 0 ? null : table.valueAt(row, column);
     }
 
+    /**
+     * Returns the parameters as an unmodifiable map. Parameters viewing a row of a table copy the row
+     * into a new map on every call, prefer {@link #valueOf(String)} or {@link #forEach(IndexedParameterSink)}
+     * when that matters.
+     */
     public Map<String, ?> asMap() {
-        return parameters;
+        if (table instanceof MapRow mapRow) {
+            return mapRow.map;
+        }
+        var columns = table.columns();
+        var map = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < columns.size(); i++) {
+            map.put(columns.get(i), table.valueAt(row, i));
+        }
+        return Collections.unmodifiableMap(map);
     }
 
     public void forEach(IndexedParameterSink sink) throws Exception {
-        int i = 0;
-        for (var value : parameters.values()) {
-            sink.accept(i, value.getClass(), value);
-            i++;
+        var columns = table.columns().size();
+        for (int i = 0; i < columns; i++) {
+            sink.accept(i, table.typeOf(i), table.valueAt(row, i));
+        }
+    }
+
+    /**
+     * A single row copied from the map it was built from, so later changes to that map don't show.
+     */
+    private static final class MapRow implements ParameterTable {
+        private final Map<String, ?> map;
+        private final List<String> columns;
+        private final Object[] values;
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        private MapRow(SequencedMap<String, ?> map) {
+            this.map = Collections.unmodifiableSequencedMap(new LinkedHashMap<>(map));
+            this.columns = List.copyOf(this.map.keySet());
+            this.values = this.map.values().toArray();
+            for (int i = 0; i < columns.size(); i++) {
+                positions.put(columns.get(i), i);
+            }
+        }
+
+        @Override
+        public List<String> columns() {
+            return columns;
+        }
+
+        @Override
+        public Class<?> typeOf(int column) {
+            var value = values[column];
+            return value == null ? Object.class : value.getClass();
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public Object valueAt(int row, int column) {
+            return values[column];
+        }
+
+        @Override
+        public int columnOf(String name) {
+            return positions.getOrDefault(name, -1);
         }
     }
 }
@@ -16,8 +16,18 @@
 package io.roadrunner.api.reports;
 
 import io.roadrunner.api.measurments.EventReader;
+import io.roadrunner.api.measurments.Measurements;
 import java.io.IOException;
 
 public interface ReportGenerator {
     void generateChart(EventReader eventReader) throws IOException;
+
+    /**
+     * Generates the report for the given run. Generators that can work off
+     * {@link Measurements#summary()} override it to skip reading the journal back; by default it
+     * reads all events.
+     */
+    default void generateReport(Measurements measurements) throws IOException {
+        generateChart(measurements.samplesReader());
+    }
 }
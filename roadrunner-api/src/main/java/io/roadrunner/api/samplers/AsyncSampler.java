@@ -0,0 +1,46 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.samplers;
+
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.parameters.SamplerParameters;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of {@link Sampler}: starts a request and returns right away, the returned
+ * stage completes with the response. Unlike a {@link Sampler}, a single instance serves all requests
+ * in flight, so implementations must be thread-safe.
+ */
+public interface AsyncSampler extends AutoCloseable {
+
+    /**
+     * Starts one request with the given parameters. Failures of the request itself are reported as
+     * {@link SamplerResponse.Error} responses; an exceptionally completed stage is journaled as a
+     * measurement error.
+     */
+    CompletionStage<SamplerResponse<?>> executeAsync(SamplerParameters parameters);
+
+    /**
+     * Returns the failure a stage completed with, unwrapped from the {@link CompletionException}
+     * that dependent stages wrap it in.
+     */
+    static Throwable causeOf(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    default void close() {}
+}
@@ -0,0 +1,26 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.samplers;
+
+/**
+ * {@link SamplerProvider} that can also issue requests without blocking a thread for each of them.
+ * The open-world model prefers {@link #newAsyncSampler()} when the provider implements this
+ * interface, so the number of requests in flight isn't bound by threads.
+ */
+public interface AsyncSamplerProvider extends SamplerProvider {
+
+    AsyncSampler newAsyncSampler();
+}
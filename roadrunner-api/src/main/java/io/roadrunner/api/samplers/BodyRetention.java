@@ -0,0 +1,110 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.api.samplers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * What is left of a response body by the time the response is journaled. Bodies are reduced right
+ * after the sampler returns, so a large payload becomes garbage before it ever reaches the journal
+ * queue.
+ * <p>
+ * Sizes and checksums can only be taken of {@code byte[]}, {@link ByteBuffer} and
+ * {@link CharSequence} bodies (the latter encoded as UTF-8); other bodies are dropped.
+ */
+public enum BodyRetention {
+    /**
+     * Drop the body.
+     */
+    NONE {
+        @Override
+        public Object retain(Object body) {
+            return null;
+        }
+    },
+    /**
+     * Replace the body with its length in bytes, as a {@link Long}.
+     */
+    SIZE {
+        @Override
+        public Object retain(Object body) {
+            return switch (body) {
+                case byte[] bytes -> (long) bytes.length;
+                case ByteBuffer buffer -> (long) buffer.remaining();
+                case CharSequence chars -> utf8Length(chars);
+                case null, default -> null;
+            };
+        }
+    },
+    /**
+     * Replace the body with its CRC32C checksum, as a {@link Long}.
+     */
+    CHECKSUM {
+        @Override
+        public Object retain(Object body) {
+            var checksum = new CRC32C();
+            switch (body) {
+                case byte[] bytes -> checksum.update(bytes);
+                case ByteBuffer buffer -> checksum.update(buffer.duplicate());
+                case CharSequence chars -> checksum.update(chars.toString().getBytes(StandardCharsets.UTF_8));
+                case null, default -> {
+                    return null;
+                }
+            }
+            return checksum.getValue();
+        }
+    },
+    /**
+     * Keep the body as returned by the sampler.
+     */
+    FULL {
+        @Override
+        public Object retain(Object body) {
+            return body;
+        }
+    };
+
+    /**
+     * Returns what should be journaled in place of the {@code body}.
+     */
+    public abstract Object retain(Object body);
+
+    /**
+     * Counts the bytes {@code chars} take in UTF-8 without encoding them; an unpaired surrogate
+     * counts as the single {@code '?'} the encoder replaces it with.
+     */
+    static long utf8Length(CharSequence chars) {
+        long length = 0;
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            var c = chars.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
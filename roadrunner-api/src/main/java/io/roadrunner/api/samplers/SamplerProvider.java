@@ -18,5 +18,13 @@ package io.roadrunner.api.samplers;
 public interface SamplerProvider extends AutoCloseable {
     Sampler newSampler();
 
+    /**
+     * How much of the response bodies returned by this provider's samplers is kept in the journal.
+     * Listeners only look at timings and status, so by default bodies are dropped.
+     */
+    default BodyRetention bodyRetention() {
+        return BodyRetention.NONE;
+    }
+
     default void close() throws Exception {}
 }
@@ -0,0 +1,241 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.output.binary;
+
+import static io.roadrunner.output.binary.BinaryOutputFormat.*;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.EventBatch;
+import io.roadrunner.api.events.EventListener;
+import io.roadrunner.api.events.MeasurementError;
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.events.UserEvent;
+import io.roadrunner.api.measurments.EventReader;
+import io.roadrunner.api.measurments.Sample;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes events into the block-structured, columnar journal described in {@link BinaryOutputFormat}.
+ * Rows are collected into per-column arrays and every full block is encoded into a single direct
+ * buffer and written with one channel write.
+ */
+public class BinaryOutputEventListener implements EventListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BinaryOutputEventListener.class);
+
+    private final Path outputFile;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_BLOCK_BYTES);
+    private final byte[] kinds = new byte[BLOCK_ROWS];
+    private final long[] timestamps = new long[BLOCK_ROWS];
+    private final long[] scheduledStartTimes = new long[BLOCK_ROWS];
+    private final long[] stopTimes = new long[BLOCK_ROWS];
+    private final long[] latencies = new long[BLOCK_ROWS];
+    private final long[] bytesReceived = new long[BLOCK_ROWS];
+    private final long[] timesToRequestSent = new long[BLOCK_ROWS];
+    private final long[] timesToFirstByte = new long[BLOCK_ROWS];
+    private final byte[][] labels = new byte[BLOCK_ROWS][];
+    private int rows;
+    private int responses;
+    private int stages;
+    private FileChannel channel;
+
+    public BinaryOutputEventListener(Path outputFile) {
+        this.outputFile = outputFile;
+    }
+
+    @Override
+    public void onStart() {
+        try {
+            channel = FileChannel.open(
+                    outputFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.clear().putInt(MAGIC).putInt(VERSION).flip();
+            write();
+        } catch (IOException e) {
+            LOG.error("cannot open binary output", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onEvent(Collection<? extends Event> batch) {
+        for (var event : batch) {
+            switch (event) {
+                case SamplerResponse.Error e -> appendResponse(e, RESPONSE_KO);
+                case SamplerResponse.Response<?> e -> appendResponse(e, RESPONSE_OK);
+                case UserEvent.Enter e -> append(USER_ENTER, e.timestamp());
+                case UserEvent.Exit e -> append(USER_EXIT, e.timestamp());
+                case StageEvent e -> appendStage(e.timestamp(), e.label());
+                // the exception can't be read back, there is nothing to persist
+                case MeasurementError e -> {}
+                default -> throw new IllegalStateException("Unexpected value: " + event);
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(EventBatch batch) {
+        try (var cursor = batch.cursor()) {
+            while (cursor.next()) {
+                switch (cursor.kind()) {
+                    case RESPONSE ->
+                        appendResponse(
+                                cursor.status() == Sample.Status.OK ? RESPONSE_OK : RESPONSE_KO,
+                                cursor.timestamp(),
+                                cursor.scheduledStartTime(),
+                                cursor.stopTime(),
+                                cursor.latency(),
+                                cursor.bytesReceived(),
+                                cursor.timeToRequestSent(),
+                                cursor.timeToFirstByte());
+                    case USER_ENTER -> append(USER_ENTER, cursor.timestamp());
+                    case USER_EXIT -> append(USER_EXIT, cursor.timestamp());
+                    case ERROR -> {}
+                    case STAGE -> appendStage(cursor.timestamp(), cursor.label());
+                }
+            }
+        }
+    }
+
+    private void appendResponse(SamplerResponse<?> response, byte kind) {
+        appendResponse(
+                kind,
+                response.timestamp(),
+                response.scheduledStartTime(),
+                response.stopTime(),
+                response.latency(),
+                response.bytesReceived(),
+                response.timeToRequestSent(),
+                response.timeToFirstByte());
+    }
+
+    private void appendResponse(
+            byte kind,
+            long timestamp,
+            long scheduledStartTime,
+            long stopTime,
+            long latency,
+            long bytes,
+            long timeToRequestSent,
+            long timeToFirstByte) {
+        scheduledStartTimes[responses] = scheduledStartTime;
+        stopTimes[responses] = stopTime;
+        latencies[responses] = latency;
+        bytesReceived[responses] = bytes;
+        timesToRequestSent[responses] = timeToRequestSent;
+        timesToFirstByte[responses] = timeToFirstByte;
+        responses++;
+        append(kind, timestamp);
+    }
+
+    private void appendStage(long timestamp, String label) {
+        labels[stages++] = label.getBytes(StandardCharsets.UTF_8);
+        append(STAGE, timestamp);
+    }
+
+    private void append(byte kind, long timestamp) {
+        kinds[rows] = kind;
+        timestamps[rows] = timestamp;
+        rows++;
+        if (rows == BLOCK_ROWS) {
+            writeBlock();
+        }
+    }
+
+    private void writeBlock() {
+        if (rows == 0) {
+            return;
+        }
+        buffer.clear().position(BLOCK_HEADER_BYTES);
+        buffer.put(kinds, 0, rows);
+        var previous = 0L;
+        for (int i = 0; i < rows; i++) {
+            putVarLong(buffer, timestamps[i] - previous);
+            previous = timestamps[i];
+        }
+        for (int i = 0, r = 0; i < rows; i++) {
+            if (isResponse(kinds[i])) {
+                putVarLong(buffer, timestamps[i] - scheduledStartTimes[r++]);
+            }
+        }
+        for (int i = 0, r = 0; i < rows; i++) {
+            if (isResponse(kinds[i])) {
+                putVarLong(buffer, stopTimes[r++] - timestamps[i]);
+            }
+        }
+        for (int r = 0; r < responses; r++) {
+            putVarLong(buffer, latencies[r]);
+        }
+        for (int r = 0; r < responses; r++) {
+            putVarLong(buffer, bytesReceived[r]);
+        }
+        for (int r = 0; r < responses; r++) {
+            putVarLong(buffer, timesToRequestSent[r]);
+        }
+        for (int r = 0; r < responses; r++) {
+            putVarLong(buffer, timesToFirstByte[r]);
+        }
+        for (int s = 0; s < stages; s++) {
+            putVarLong(buffer, labels[s].length);
+            buffer.put(labels[s]);
+            labels[s] = null;
+        }
+        buffer.putInt(0, rows).putInt(Integer.BYTES, buffer.position() - BLOCK_HEADER_BYTES);
+        buffer.flip();
+        try {
+            write();
+        } catch (IOException e) {
+            LOG.error("cannot write binary output", e);
+            throw new UncheckedIOException(e);
+        }
+        rows = 0;
+        responses = 0;
+        stages = 0;
+    }
+
+    private void write() throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void onStop() {
+        writeBlock();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public EventReader samplesReader() {
+        return new BinaryOutputEventReader(outputFile);
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.output.binary;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.measurments.EventCursor;
+import io.roadrunner.api.measurments.EventReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads back the journal written by {@link BinaryOutputEventListener}. The file is memory-mapped and
+ * {@link #cursor()} walks it without allocating per event; {@link #iterator()} materializes events
+ * from the same cursor for callers that need objects. Blocks decode independently of each other, so
+ * {@link #chunks(int)} splits the file on block boundaries.
+ */
+public class BinaryOutputEventReader implements EventReader {
+
+    static final long WINDOW_BYTES = 64L * 1024 * 1024;
+
+    private final Path outputFile;
+    private final long windowBytes;
+    // range of blocks to read, end is exclusive
+    private final long start;
+    private final long end;
+
+    public BinaryOutputEventReader(Path outputFile) {
+        this(outputFile, WINDOW_BYTES);
+    }
+
+    BinaryOutputEventReader(Path outputFile, long windowBytes) {
+        this(outputFile, windowBytes, BinaryOutputFormat.FILE_HEADER_BYTES, Long.MAX_VALUE);
+    }
+
+    private BinaryOutputEventReader(Path outputFile, long windowBytes, long start, long end) {
+        this.outputFile = outputFile;
+        this.windowBytes = windowBytes;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public EventCursor cursor() {
+        try {
+            return new MappedEventCursor(
+                    FileChannel.open(outputFile, StandardOpenOption.READ), windowBytes, start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<EventReader> chunks(int parallelism) {
+        if (parallelism <= 1) {
+            return List.of(this);
+        }
+        try (var channel = FileChannel.open(outputFile, StandardOpenOption.READ)) {
+            var rangeEnd = Math.min(end, channel.size());
+            var chunkBytes = Math.max(1, (rangeEnd - start) / parallelism);
+            var chunks = new ArrayList<EventReader>(parallelism);
+            var header = ByteBuffer.allocate(BinaryOutputFormat.BLOCK_HEADER_BYTES);
+            var chunkStart = start;
+            var position = start;
+            // walk block headers only, cutting a chunk whenever it has grown past its share
+            while (position + BinaryOutputFormat.BLOCK_HEADER_BYTES <= rangeEnd) {
+                header.clear();
+                while (header.hasRemaining()) {
+                    if (channel.read(header, position + header.position()) < 0) {
+                        throw new IOException("truncated binary output");
+                    }
+                }
+                position += BinaryOutputFormat.BLOCK_HEADER_BYTES + header.getInt(Integer.BYTES);
+                if (position - chunkStart >= chunkBytes && chunks.size() < parallelism - 1) {
+                    chunks.add(new BinaryOutputEventReader(outputFile, windowBytes, chunkStart, position));
+                    chunkStart = position;
+                }
+            }
+            if (chunkStart < position || chunks.isEmpty()) {
+                chunks.add(new BinaryOutputEventReader(outputFile, windowBytes, chunkStart, position));
+            }
+            return chunks;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Iterator<Event> iterator() {
+        return new CursorIterator(cursor());
+    }
+
+    private static final class CursorIterator implements Iterator<Event> {
+
+        private final EventCursor cursor;
+        private boolean hasNext;
+
+        CursorIterator(EventCursor cursor) {
+            this.cursor = cursor;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Event next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            var event = cursor.event();
+            advance();
+            return event;
+        }
+
+        private void advance() {
+            hasNext = cursor.next();
+            if (!hasNext) {
+                cursor.close();
+            }
+        }
+    }
+}
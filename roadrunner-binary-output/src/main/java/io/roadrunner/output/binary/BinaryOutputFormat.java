@@ -0,0 +1,84 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.output.binary;
+
+import io.roadrunner.api.events.StageEvent;
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of the binary events journal.
+ * <p>
+ * The file starts with a {@link #MAGIC} and {@link #VERSION} header followed by blocks of at most
+ * {@link #BLOCK_ROWS} events. Every block starts with the number of rows and the length of its
+ * payload, so a reader can skip or split the file on block boundaries, and stores its rows
+ * column by column:
+ * <ol>
+ *     <li>event kinds, one byte per row,</li>
+ *     <li>timestamps, delta-encoded against the previous row (the first row of a block against zero),</li>
+ *     <li>for response rows only: offset of the timestamp from the scheduled start time, service time
+ *     (stop time minus timestamp), latency, bytes received, time to request sent and time to first byte,</li>
+ *     <li>for stage rows only: the label, its UTF-8 length followed by the bytes.</li>
+ * </ol>
+ * All columns except kinds are zig-zag encoded variable-length longs, so the typical few-microsecond
+ * deltas take two or three bytes instead of a 19-digit decimal.
+ */
+final class BinaryOutputFormat {
+
+    static final int MAGIC = 0x52524a42; // "RRJB"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 2 * Integer.BYTES;
+    static final int BLOCK_HEADER_BYTES = 2 * Integer.BYTES;
+    static final int BLOCK_ROWS = 4096;
+    static final int MAX_VARLONG_BYTES = 10;
+    // kind + timestamp for every row, six more columns for responses or a length-prefixed label for stages
+    static final int MAX_ROW_BYTES =
+            1 + Math.max(7 * MAX_VARLONG_BYTES, 2 * MAX_VARLONG_BYTES + StageEvent.MAX_LABEL_BYTES);
+    static final int MAX_BLOCK_BYTES = BLOCK_HEADER_BYTES + BLOCK_ROWS * MAX_ROW_BYTES;
+
+    static final byte USER_ENTER = 0;
+    static final byte USER_EXIT = 1;
+    static final byte RESPONSE_OK = 2;
+    static final byte RESPONSE_KO = 3;
+    static final byte STAGE = 4;
+
+    private BinaryOutputFormat() {}
+
+    static boolean isResponse(byte kind) {
+        return kind == RESPONSE_OK || kind == RESPONSE_KO;
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        // zig-zag, so that small negative deltas stay small
+        var v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7fL) != 0) {
+            buffer.put((byte) ((v & 0x7f) | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            v |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
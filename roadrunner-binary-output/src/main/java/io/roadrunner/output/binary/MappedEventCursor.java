@@ -0,0 +1,238 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.output.binary;
+
+import static io.roadrunner.output.binary.BinaryOutputFormat.*;
+
+import io.roadrunner.api.measurments.EventCursor;
+import io.roadrunner.api.measurments.Sample;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link EventCursor} over a memory-mapped binary journal. The file is mapped in windows of at least
+ * {@code windowBytes}, moved forward whenever the next block doesn't fit the current one, and every
+ * block is decoded into column arrays that are reused for the whole file, so walking the journal
+ * allocates nothing per event.
+ */
+final class MappedEventCursor implements EventCursor {
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long end;
+    private final long windowBytes;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long blockPosition;
+
+    private final byte[] kinds = new byte[BLOCK_ROWS];
+    private final long[] timestamps = new long[BLOCK_ROWS];
+    private final long[] scheduledStartTimes = new long[BLOCK_ROWS];
+    private final long[] stopTimes = new long[BLOCK_ROWS];
+    private final long[] latencies = new long[BLOCK_ROWS];
+    private final long[] bytesReceived = new long[BLOCK_ROWS];
+    private final long[] timesToRequestSent = new long[BLOCK_ROWS];
+    private final long[] timesToFirstByte = new long[BLOCK_ROWS];
+    private final String[] labels = new String[BLOCK_ROWS];
+    private int rows;
+    private int row = -1;
+    private int response = -1;
+    private int stage = -1;
+
+    MappedEventCursor(FileChannel channel, long windowBytes, long start, long end) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.end = Math.min(end, fileSize);
+        this.windowBytes = windowBytes;
+        try {
+            map(0, FILE_HEADER_BYTES);
+        } catch (UncheckedIOException e) {
+            channel.close();
+            throw e.getCause();
+        }
+        var magic = window.getInt(0);
+        var version = window.getInt(Integer.BYTES);
+        if (magic != MAGIC || version != VERSION) {
+            channel.close();
+            throw new IOException("not a binary output file (version %d)".formatted(version));
+        }
+        blockPosition = start;
+    }
+
+    @Override
+    public boolean next() {
+        while (++row >= rows) {
+            if (!nextBlock()) {
+                row = rows;
+                return false;
+            }
+        }
+        if (isResponse(kinds[row])) {
+            response++;
+        } else if (kinds[row] == STAGE) {
+            stage++;
+        }
+        return true;
+    }
+
+    private boolean nextBlock() {
+        if (blockPosition + BLOCK_HEADER_BYTES > end) {
+            return false;
+        }
+        map(blockPosition, BLOCK_HEADER_BYTES);
+        var offset = (int) (blockPosition - windowStart);
+        var blockRows = window.getInt(offset);
+        var payloadBytes = window.getInt(offset + Integer.BYTES);
+        map(blockPosition, BLOCK_HEADER_BYTES + payloadBytes);
+        window.position((int) (blockPosition - windowStart) + BLOCK_HEADER_BYTES);
+        decode(blockRows);
+        blockPosition += BLOCK_HEADER_BYTES + payloadBytes;
+        return true;
+    }
+
+    private void map(long position, long length) {
+        if (window != null && position >= windowStart && position + length <= windowStart + window.capacity()) {
+            return;
+        }
+        if (position + length > fileSize) {
+            throw new UncheckedIOException(new EOFException("truncated binary output"));
+        }
+        try {
+            windowStart = position;
+            window = channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    position,
+                    Math.min(Math.max(windowBytes, length), fileSize - position));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void decode(int blockRows) {
+        window.get(kinds, 0, blockRows);
+        var previous = 0L;
+        for (int i = 0; i < blockRows; i++) {
+            previous += getVarLong(window);
+            timestamps[i] = previous;
+        }
+        var blockResponses = 0;
+        for (int i = 0; i < blockRows; i++) {
+            if (isResponse(kinds[i])) {
+                scheduledStartTimes[blockResponses++] = timestamps[i] - getVarLong(window);
+            }
+        }
+        for (int i = 0, r = 0; i < blockRows; i++) {
+            if (isResponse(kinds[i])) {
+                stopTimes[r++] = timestamps[i] + getVarLong(window);
+            }
+        }
+        for (int r = 0; r < blockResponses; r++) {
+            latencies[r] = getVarLong(window);
+        }
+        for (int r = 0; r < blockResponses; r++) {
+            bytesReceived[r] = getVarLong(window);
+        }
+        for (int r = 0; r < blockResponses; r++) {
+            timesToRequestSent[r] = getVarLong(window);
+        }
+        for (int r = 0; r < blockResponses; r++) {
+            timesToFirstByte[r] = getVarLong(window);
+        }
+        // stage rows are rare, their labels are the only thing decoding allocates
+        var blockStages = 0;
+        for (int i = 0; i < blockRows; i++) {
+            if (kinds[i] == STAGE) {
+                var label = new byte[(int) getVarLong(window)];
+                window.get(label);
+                labels[blockStages++] = new String(label, StandardCharsets.UTF_8);
+            }
+        }
+        rows = blockRows;
+        row = -1;
+        response = -1;
+        stage = -1;
+    }
+
+    @Override
+    public Kind kind() {
+        return switch (kinds[row]) {
+            case USER_ENTER -> Kind.USER_ENTER;
+            case USER_EXIT -> Kind.USER_EXIT;
+            case RESPONSE_OK, RESPONSE_KO -> Kind.RESPONSE;
+            case STAGE -> Kind.STAGE;
+            default -> throw new IllegalStateException("Unexpected event kind: " + kinds[row]);
+        };
+    }
+
+    @Override
+    public long timestamp() {
+        return timestamps[row];
+    }
+
+    @Override
+    public long scheduledStartTime() {
+        return scheduledStartTimes[response];
+    }
+
+    @Override
+    public long stopTime() {
+        return stopTimes[response];
+    }
+
+    @Override
+    public long latency() {
+        return latencies[response];
+    }
+
+    @Override
+    public Sample.Status status() {
+        return kinds[row] == RESPONSE_KO ? Sample.Status.KO : Sample.Status.OK;
+    }
+
+    @Override
+    public long bytesReceived() {
+        return bytesReceived[response];
+    }
+
+    @Override
+    public long timeToRequestSent() {
+        return timesToRequestSent[response];
+    }
+
+    @Override
+    public long timeToFirstByte() {
+        return timesToFirstByte[response];
+    }
+
+    @Override
+    public String label() {
+        return labels[stage];
+    }
+
+    @Override
+    public void close() {
+        window = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
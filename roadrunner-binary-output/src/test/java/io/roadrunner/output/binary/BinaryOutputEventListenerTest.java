@@ -0,0 +1,179 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.output.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.MeasurementError;
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.events.UserEvent;
+import io.roadrunner.api.measurments.EventCursor;
+import io.roadrunner.api.measurments.Sample;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BinaryOutputEventListenerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readBackWrittenEvents() {
+        var outputFile = tempDir.resolve("output.bin");
+        var events = new ArrayList<Event>();
+        // spans a few blocks, with timestamps going back and forth
+        for (int i = 0; i < BinaryOutputFormat.BLOCK_ROWS * 2 + 17; i++) {
+            long timestamp = 1_000_000_000_000L + i * 1_000L - (i % 3) * 5_000L;
+            events.add(
+                    switch (i % 4) {
+                        case 0 -> new UserEvent.Enter(timestamp);
+                        case 1 ->
+                            new SamplerResponse.Response<>(timestamp, timestamp + 2_500L, null)
+                                    .withScheduledStartTime(timestamp - 100L)
+                                    .withLatency(2_600L)
+                                    .withBytesReceived(i * 31L)
+                                    .withTimeToRequestSent(40L)
+                                    .withTimeToFirstByte(900L);
+                        case 2 ->
+                            new SamplerResponse.Error(timestamp, timestamp + 7L, null)
+                                    .withScheduledStartTime(timestamp)
+                                    .withLatency(7L);
+                        default -> new UserEvent.Exit(timestamp);
+                    });
+        }
+
+        var listener = new BinaryOutputEventListener(outputFile);
+        listener.onStart();
+        listener.onEvent(events.subList(0, 1000));
+        listener.onEvent(events.subList(1000, events.size()));
+        listener.onStop();
+
+        List<Event> read = new ArrayList<>();
+        listener.samplesReader().forEach(read::add);
+        assertThat(read).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    void walkEventsWithCursorAcrossMappedWindows() {
+        var outputFile = tempDir.resolve("output.bin");
+        var listener = new BinaryOutputEventListener(outputFile);
+        listener.onStart();
+        var events = new ArrayList<Event>();
+        for (int i = 0; i < BinaryOutputFormat.BLOCK_ROWS * 3; i++) {
+            events.add(
+                    i % 2 == 0
+                            ? new UserEvent.Enter(i)
+                            : new SamplerResponse.Error(i, i + 10L, null)
+                                    .withScheduledStartTime(i - 5L)
+                                    .withLatency(15L));
+        }
+        listener.onEvent(events);
+        listener.onStop();
+
+        // a window much smaller than a block forces a remap for every block
+        try (var cursor = new BinaryOutputEventReader(outputFile, 1024).cursor()) {
+            for (int i = 0; i < events.size(); i++) {
+                assertThat(cursor.next()).isTrue();
+                assertThat(cursor.timestamp()).isEqualTo(i);
+                if (i % 2 == 0) {
+                    assertThat(cursor.kind()).isEqualTo(EventCursor.Kind.USER_ENTER);
+                } else {
+                    assertThat(cursor.kind()).isEqualTo(EventCursor.Kind.RESPONSE);
+                    assertThat(cursor.status()).isEqualTo(Sample.Status.KO);
+                    assertThat(cursor.scheduledStartTime()).isEqualTo(i - 5L);
+                    assertThat(cursor.stopTime()).isEqualTo(i + 10L);
+                    assertThat(cursor.latency()).isEqualTo(15L);
+                }
+            }
+            assertThat(cursor.next()).isFalse();
+        }
+    }
+
+    @Test
+    void splitIntoChunksOnBlockBoundaries() {
+        var outputFile = tempDir.resolve("output.bin");
+        var events = new ArrayList<Event>();
+        for (int i = 0; i < BinaryOutputFormat.BLOCK_ROWS * 5 + 3; i++) {
+            events.add(new UserEvent.Enter(i));
+        }
+        var listener = new BinaryOutputEventListener(outputFile);
+        listener.onStart();
+        listener.onEvent(events);
+        listener.onStop();
+
+        var reader = new BinaryOutputEventReader(outputFile);
+        var chunks = reader.chunks(3);
+        assertThat(chunks).hasSize(3);
+        List<Event> read = new ArrayList<>();
+        chunks.forEach(chunk -> chunk.forEach(read::add));
+        assertThat(read).containsExactlyElementsOf(events);
+
+        // more chunks requested than there are blocks
+        assertThat(reader.chunks(100)).hasSize(6);
+        assertThat(reader.chunks(1)).containsExactly(reader);
+    }
+
+    @Test
+    void readBackStagesWithLongestLabels() {
+        var outputFile = tempDir.resolve("output.bin");
+        var label = "stage%s".formatted("é".repeat((StageEvent.MAX_LABEL_BYTES - 6) / 2));
+        var events = new ArrayList<Event>();
+        // a whole block of the widest rows, followed by a response
+        for (int i = 0; i < BinaryOutputFormat.BLOCK_ROWS; i++) {
+            events.add(new StageEvent(Long.MAX_VALUE / 2 * (i % 2), label + i % 10));
+        }
+        events.add(new SamplerResponse.Response<>(10L, 20L, null).withLatency(10L));
+
+        var listener = new BinaryOutputEventListener(outputFile);
+        listener.onStart();
+        listener.onEvent(events);
+        listener.onStop();
+
+        List<Event> read = new ArrayList<>();
+        listener.samplesReader().forEach(read::add);
+        assertThat(read).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    void skipMeasurementErrors() {
+        var outputFile = tempDir.resolve("output.bin");
+        var enter = new UserEvent.Enter(1);
+
+        var listener = new BinaryOutputEventListener(outputFile);
+        listener.onStart();
+        listener.onEvent(List.of(enter, new MeasurementError(2, new RuntimeException())));
+        listener.onStop();
+
+        assertThat(listener.samplesReader()).containsExactly(enter);
+    }
+
+    @Test
+    void rejectNonBinaryOutput() throws Exception {
+        var outputFile = tempDir.resolve("output.csv");
+        Files.writeString(outputFile, "USER,1,ENTER\n");
+
+        assertThatThrownBy(() -> new BinaryOutputEventReader(outputFile).iterator())
+                .isInstanceOf(UncheckedIOException.class);
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.cli;
+
+import io.roadrunner.core.ArrivalTiming;
+import java.util.Locale;
+import picocli.CommandLine;
+
+final class ArrivalTimingConverter implements CommandLine.ITypeConverter<ArrivalTiming> {
+    @Override
+    public ArrivalTiming convert(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "park" -> ArrivalTiming.PARK;
+            case "spin-then-park" -> ArrivalTiming.SPIN_THEN_PARK;
+            default ->
+                throw new IllegalArgumentException(
+                        "unknown arrival timing '%s', expected one of: park, spin-then-park".formatted(value));
+        };
+    }
+}
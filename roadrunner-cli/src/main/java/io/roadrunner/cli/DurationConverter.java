@@ -21,6 +21,9 @@ import picocli.CommandLine.ITypeConverter;
 final class DurationConverter implements ITypeConverter<Duration> {
     @Override
     public Duration convert(String value) throws Exception {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
         if (value.endsWith("h")) {
             return Duration.ofHours(Long.parseLong(value.substring(0, value.length() - 1)));
         }
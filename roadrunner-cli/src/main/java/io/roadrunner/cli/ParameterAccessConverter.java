@@ -0,0 +1,37 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.cli;
+
+import io.roadrunner.core.ParameterAccess;
+import java.util.Locale;
+import picocli.CommandLine;
+
+final class ParameterAccessConverter implements CommandLine.ITypeConverter<ParameterAccess> {
+    @Override
+    public ParameterAccess convert(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "round-robin" -> ParameterAccess.ROUND_ROBIN;
+            case "partitioned" -> ParameterAccess.PARTITIONED;
+            case "sequential-once" -> ParameterAccess.SEQUENTIAL_ONCE;
+            case "random" -> ParameterAccess.RANDOM;
+            case "streaming" -> ParameterAccess.STREAMING;
+            default ->
+                throw new IllegalArgumentException(
+                        "unknown parameter access '%s', expected one of: round-robin, partitioned, sequential-once, random, streaming"
+                                .formatted(value));
+        };
+    }
+}
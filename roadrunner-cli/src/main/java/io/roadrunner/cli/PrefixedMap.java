@@ -39,7 +39,8 @@ record PrefixedMap(String prefix, Map<String, String> parameters) {
             while ((ch = pushbackReader.read()) != -1) {
                 switch (state) {
                     case prefix: {
-                        if (Character.isAlphabetic(ch)) {
+                        // letters, digits, '-' and '_' like keys, so stage labels such as warm-up fit
+                        if (Character.isLetterOrDigit(ch) || ch == '-' || ch == '_') {
                             buffer.append((char) ch);
                         } else if (ch == ':') {
                             if (buffer.isEmpty()) {
@@ -17,12 +17,22 @@ package io.roadrunner.cli;
 
 import io.roadrunner.api.parameters.ParameterSource;
 import io.roadrunner.api.samplers.SamplerProvider;
+import io.roadrunner.core.ArrivalProcess;
+import io.roadrunner.core.ArrivalTiming;
 import io.roadrunner.core.Bootstrap;
+import io.roadrunner.core.JournalWaitStrategy;
+import io.roadrunner.core.LoadProfile;
+import io.roadrunner.core.OutputFormat;
+import io.roadrunner.core.ParameterAccess;
+import io.roadrunner.core.ThinkTime;
+import io.roadrunner.core.ThroughputSearch;
 import io.roadrunner.latency.recording.PauseDetectorKind;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,14 +54,75 @@ class RunCommand {
 
         @ArgGroup(exclusive = false, heading = "Open-world model options:%n")
         OpenWorldArgs openWorld;
+
+        @ArgGroup(exclusive = false, heading = "Load profile options:%n")
+        ProfileArgs profile;
+
+        @ArgGroup(exclusive = false, heading = "Throughput search options:%n")
+        SearchArgs search;
+    }
+
+    static class SearchArgs {
+        @Option(
+                names = "--search-latency",
+                description = "Latency the searched percentile must stay within (e.g. 50ms, 1s)",
+                required = true,
+                converter = DurationConverter.class)
+        Duration latency;
+
+        @Option(
+                names = "--search-rates",
+                description = "Range of arrival rates to search, <from>..<to> users/second",
+                required = true)
+        String rates;
+
+        @Option(
+                names = "--search-percentile",
+                description = "Percentile of corrected latency held to the threshold (default: ${DEFAULT-VALUE}).")
+        double percentile = 99.0;
+
+        @Option(
+                names = "--search-step",
+                description = "How long every probed rate runs (default: 30s).",
+                converter = DurationConverter.class)
+        Duration stepDuration = Duration.ofSeconds(30);
+
+        @Option(
+                names = "--search-precision",
+                description =
+                        "Stop once sustained and broken rates are this close, in users/second (default: ${DEFAULT-VALUE}).")
+        int precision = 10;
+    }
+
+    static class ProfileArgs {
+        @Option(
+                names = "--stage",
+                description =
+                        "Stage of a load profile, repeat for every stage in order: <label>:rate=<n>[..<m>],duration=<d> ramps or holds the arrival rate, <label>:users=<n>,duration=<d> runs concurrent users.",
+                required = true,
+                converter = PrefixedMap.Converter.class)
+        List<PrefixedMap> stages;
     }
 
     static class ClosedWorldArgs {
         @Option(names = "-c", description = "Number of concurrent users", required = true)
         int concurrency;
 
-        @Option(names = "-n", description = "Total number of requests to make", required = true)
-        int numberOfRequests;
+        @Option(names = "-n", description = "Total number of requests to make, unless bounded by -t")
+        Integer numberOfRequests;
+
+        @Option(
+                names = "-t",
+                description = "Time limit of the test (e.g. 30s, 5m, 2h), unless bounded by -n",
+                converter = DurationConverter.class)
+        Duration timeLimit;
+
+        @Option(
+                names = "--think-time",
+                description =
+                        "Pause between a user's iterations: none, constant:time=<d>, exponential:mean=<d>[,seed=n], uniform:min=<d>,max=<d>[,seed=n] or pacing:period=<d> (default: none).",
+                converter = PrefixedMap.Converter.class)
+        PrefixedMap thinkTime = new PrefixedMap("none", Map.of());
     }
 
     static class OpenWorldArgs {
@@ -64,6 +135,26 @@ class RunCommand {
                 required = true,
                 converter = DurationConverter.class)
         Duration duration;
+
+        @Option(
+                names = "--dispatchers",
+                description =
+                        "Number of threads issuing arrivals, each owning its share of them (default: ${DEFAULT-VALUE}).")
+        int dispatchers = 1;
+
+        @Option(
+                names = "--arrival-timing",
+                description =
+                        "How dispatchers wait for the next arrival: park or spin-then-park (accurate at very high rates, burns a core per dispatcher) (default: park).",
+                converter = ArrivalTimingConverter.class)
+        ArrivalTiming arrivalTiming = ArrivalTiming.PARK;
+
+        @Option(
+                names = "--arrivals",
+                description =
+                        "Arrival process: periodic, poisson[:seed=n], uniform:jitter=0..1[,seed=n], burst:on=<d>,off=<d> or replay:file=<path> (default: periodic).",
+                converter = PrefixedMap.Converter.class)
+        PrefixedMap arrivals = new PrefixedMap("periodic", Map.of());
     }
 
     @Option(names = "-s", description = "Loadtests results output directory")
@@ -72,6 +163,13 @@ class RunCommand {
     @Option(names = "-r", description = "Report format type", converter = PrefixedMap.Converter.class)
     PrefixedMap report = new PrefixedMap("console", Map.of());
 
+    @Option(
+            names = "--output-format",
+            description =
+                    "Format of the events journal in the output directory: csv (output.csv) or binary (output.bin, compact and much faster to report on) (default: csv).",
+            converter = OutputFormatConverter.class)
+    OutputFormat outputFormat = OutputFormat.CSV;
+
     @Option(
             names = "--pause-detectors",
             description =
@@ -85,19 +183,72 @@ class RunCommand {
                     "Reports use the per-event CSV histogram even when a pause-corrected latency.hgrm is present.")
     boolean rawLatency;
 
+    @Option(
+            names = "--dispatch-lag-warning",
+            description =
+                    "Reports warn that the load generator is the bottleneck when the 99th percentile of its dispatch lag exceeds this, e.g. 500ms, 1s (default: 1ms).",
+            converter = DurationConverter.class)
+    Duration dispatchLagWarning = Duration.ofMillis(1);
+
+    @Option(
+            names = "--warm-up",
+            description =
+                    "Leading part of a closed- or open-world test whose responses are journaled, but left out of reports (e.g. 30s).",
+            converter = DurationConverter.class)
+    Duration warmUp = Duration.ZERO;
+
     @Option(
             names = "--parameters-source",
             description = "Parameter source in 'type:key=value' format (e.g. csv:file=data.csv)",
             converter = PrefixedMap.Converter.class)
     PrefixedMap parametersSource;
 
+    @Option(
+            names = "--parameters-access",
+            description =
+                    "How users walk through the parameter rows: round-robin, partitioned (each user its own slice), sequential-once (every row once, then stop), random or streaming (every row once, read ahead while the test runs) (default: round-robin).",
+            converter = ParameterAccessConverter.class)
+    ParameterAccess parametersAccess = ParameterAccess.ROUND_ROBIN;
+
+    @Option(names = "--parameters-seed", description = "Seed of random parameter access (default: ${DEFAULT-VALUE}).")
+    long parametersSeed = 1;
+
+    @Option(
+            names = "--parameters-prefetch",
+            description =
+                    "Number of parameter rows streaming access reads ahead of the users (default: ${DEFAULT-VALUE}).")
+    int parametersPrefetch = 8192;
+
+    @Option(
+            names = "--journal-capacity",
+            description =
+                    "Number of preallocated slots in the responses journal ring buffer, a power of two (default: ${DEFAULT-VALUE}). Users stall when it is full.")
+    int journalCapacity = 65536;
+
+    @Option(
+            names = "--journal-wait-strategy",
+            description = "How the journal thread waits for new responses: busy-spin, yield or park (default: park).",
+            converter = JournalWaitStrategyConverter.class)
+    JournalWaitStrategy journalWaitStrategy = JournalWaitStrategy.PARK;
+
     public void run(SamplerProvider samplerProvider) throws Exception {
         if (!pauseDetectors.isEmpty() && loadModel.closedWorld != null) {
             throw new IllegalArgumentException(
                     "--pause-detectors is only supported with the open-world load model (--rate/--duration)");
         }
+        var testDuration = loadModel.closedWorld != null
+                ? loadModel.closedWorld.timeLimit
+                : loadModel.openWorld != null ? loadModel.openWorld.duration : null;
+        if (testDuration != null && warmUp.compareTo(testDuration) >= 0) {
+            throw new IllegalArgumentException(
+                    "--warm-up must be shorter than the test duration: %s, %s".formatted(warmUp, testDuration));
+        }
 
-        var bootstrap = new Bootstrap().withOutputDir(outputDir).withPauseDetectorKinds(pauseDetectors);
+        var bootstrap = new Bootstrap()
+                .withOutputDir(outputDir)
+                .withPauseDetectorKinds(pauseDetectors)
+                .withJournal(journalCapacity, journalWaitStrategy)
+                .withOutputFormat(outputFormat);
 
         if (parametersSource != null) {
             var paramProviders = ParameterSourceProviders.load();
@@ -107,19 +258,49 @@ class RunCommand {
                         .formatted(parametersSource.prefix(), paramProviders.supportedSourceTypes()));
             }
             ParameterSource source = paramProvider.create(parametersSource.parameters());
-            bootstrap.withParameterSource(source);
+            bootstrap
+                    .withParameterSource(source)
+                    .withParameterAccess(parametersAccess, parametersSeed)
+                    .withParameterPrefetch(parametersPrefetch);
         }
 
         if (loadModel.closedWorld != null) {
+            var closedWorld = loadModel.closedWorld;
+            if ((closedWorld.numberOfRequests == null) == (closedWorld.timeLimit == null)) {
+                throw new IllegalArgumentException("closed-world model requires either -n or -t");
+            }
+            if (closedWorld.timeLimit != null) {
+                bootstrap
+                        .withClosedWorldModel(
+                                closedWorld.concurrency, closedWorld.timeLimit, thinkTime(closedWorld.thinkTime))
+                        .withMeasurementProgress(new TimeBasedProgressBar(closedWorld.timeLimit));
+            } else {
+                bootstrap
+                        .withClosedWorldModel(
+                                closedWorld.concurrency, closedWorld.numberOfRequests, thinkTime(closedWorld.thinkTime))
+                        .withMeasurementProgress(new ProgressBar(100, 0, closedWorld.numberOfRequests));
+            }
+        } else if (loadModel.profile != null) {
+            var profile = loadProfile(loadModel.profile.stages);
+            bootstrap.withLoadProfile(profile).withMeasurementProgress(new TimeBasedProgressBar(profile.duration()));
+        } else if (loadModel.search != null) {
+            var search = throughputSearch(loadModel.search);
             bootstrap
-                    .withClosedWorldModel(loadModel.closedWorld.concurrency, loadModel.closedWorld.numberOfRequests)
-                    .withMeasurementProgress(new ProgressBar(100, 0, loadModel.closedWorld.numberOfRequests));
+                    .withThroughputSearch(search)
+                    .withMeasurementProgress(new TimeBasedProgressBar(search.maxDuration()));
         } else {
             bootstrap
-                    .withOpenWorldModel(loadModel.openWorld.rate, loadModel.openWorld.duration)
+                    .withOpenWorldModel(
+                            loadModel.openWorld.rate,
+                            loadModel.openWorld.duration,
+                            loadModel.openWorld.dispatchers,
+                            loadModel.openWorld.arrivalTiming,
+                            arrivalProcess(loadModel.openWorld.arrivals))
                     .withMeasurementProgress(new TimeBasedProgressBar(loadModel.openWorld.duration));
         }
 
+        bootstrap.withWarmUp(warmUp);
+
         try (var roadrunner = bootstrap.build()) {
             LOG.debug("loading report generators");
             var chartGeneratorProviders = ChartGeneratorProviders.load();
@@ -133,10 +314,105 @@ class RunCommand {
             var reportConfig = new HashMap<>(reportConfiguration);
             reportConfig.put("outputDir", bootstrap.outputDir().toString());
             reportConfig.put("rawLatency", Boolean.toString(rawLatency));
+            reportConfig.put("dispatchLagThreshold", dispatchLagWarning.toString());
 
             var chartGenerator = reportGeneratorProvider.create(reportConfig);
             var measurements = roadrunner.execute(samplerProvider);
-            chartGenerator.generateChart(measurements.samplesReader());
+            chartGenerator.generateReport(measurements);
+        }
+    }
+
+    private static ArrivalProcess arrivalProcess(PrefixedMap arrivals) throws Exception {
+        var parameters = arrivals.parameters();
+        var seed = Long.parseLong(parameters.getOrDefault("seed", "1"));
+        return switch (arrivals.prefix()) {
+            case "periodic" -> ArrivalProcess.periodic();
+            case "poisson" -> ArrivalProcess.poisson(seed);
+            case "uniform" -> ArrivalProcess.uniformJitter(Double.parseDouble(required(arrivals, "jitter")), seed);
+            case "burst" -> {
+                var durationConverter = new DurationConverter();
+                yield ArrivalProcess.onOff(
+                        durationConverter.convert(required(arrivals, "on")),
+                        durationConverter.convert(required(arrivals, "off")));
+            }
+            case "replay" -> ArrivalProcess.replay(Path.of(required(arrivals, "file")));
+            default ->
+                throw new IllegalArgumentException(
+                        "unknown arrival process '%s', expected one of: periodic, poisson, uniform, burst, replay"
+                                .formatted(arrivals.prefix()));
+        };
+    }
+
+    private static ThinkTime thinkTime(PrefixedMap thinkTime) throws Exception {
+        var durationConverter = new DurationConverter();
+        var seed = Long.parseLong(thinkTime.parameters().getOrDefault("seed", "1"));
+        return switch (thinkTime.prefix()) {
+            case "none" -> ThinkTime.none();
+            case "constant" -> ThinkTime.constant(durationConverter.convert(required(thinkTime, "time", "think time")));
+            case "exponential" ->
+                ThinkTime.exponential(durationConverter.convert(required(thinkTime, "mean", "think time")), seed);
+            case "uniform" ->
+                ThinkTime.uniform(
+                        durationConverter.convert(required(thinkTime, "min", "think time")),
+                        durationConverter.convert(required(thinkTime, "max", "think time")),
+                        seed);
+            case "pacing" -> ThinkTime.pacing(durationConverter.convert(required(thinkTime, "period", "think time")));
+            default ->
+                throw new IllegalArgumentException(
+                        "unknown think time '%s', expected one of: none, constant, exponential, uniform, pacing"
+                                .formatted(thinkTime.prefix()));
+        };
+    }
+
+    private static LoadProfile loadProfile(List<PrefixedMap> stages) throws Exception {
+        var durationConverter = new DurationConverter();
+        var profile = new ArrayList<LoadProfile.Stage>();
+        for (var stage : stages) {
+            var parameters = stage.parameters();
+            var duration = durationConverter.convert(required(stage, "duration", "stage"));
+            if (parameters.containsKey("rate") == parameters.containsKey("users")) {
+                throw new IllegalArgumentException(
+                        "stage '%s' requires either 'rate' or 'users'".formatted(stage.prefix()));
+            }
+            if (parameters.containsKey("users")) {
+                profile.add(
+                        LoadProfile.Stage.users(stage.prefix(), Integer.parseInt(parameters.get("users")), duration));
+            } else {
+                // either a single rate to hold or a from..to range to ramp
+                var rates = parameters.get("rate").split("\\.\\.", 2);
+                var fromRate = Integer.parseInt(rates[0]);
+                profile.add(
+                        rates.length == 2
+                                ? LoadProfile.Stage.ramp(stage.prefix(), fromRate, Integer.parseInt(rates[1]), duration)
+                                : LoadProfile.Stage.hold(stage.prefix(), fromRate, duration));
+            }
+        }
+        return LoadProfile.of(profile);
+    }
+
+    private static ThroughputSearch throughputSearch(SearchArgs search) {
+        var rates = search.rates.split("\\.\\.", 2);
+        if (rates.length != 2) {
+            throw new IllegalArgumentException("search rates must be a <from>..<to> range: %s".formatted(search.rates));
+        }
+        return new ThroughputSearch(
+                Integer.parseInt(rates[0]),
+                Integer.parseInt(rates[1]),
+                search.stepDuration,
+                search.percentile,
+                search.latency,
+                search.precision);
+    }
+
+    private static String required(PrefixedMap arrivals, String key) {
+        return required(arrivals, key, "arrival process");
+    }
+
+    private static String required(PrefixedMap map, String key, String what) {
+        var value = map.parameters().get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("%s '%s' requires '%s'".formatted(what, map.prefix(), key));
         }
+        return value;
     }
 }
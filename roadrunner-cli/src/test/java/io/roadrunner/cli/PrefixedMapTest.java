@@ -47,7 +47,8 @@ class PrefixedMapTest {
                         "csv",
                         Map.of("file", "data.csv", "separator", ";", "skip", "1")),
                 Arguments.of(
-                        "csv:skip-rows=1,skip_header=true", "csv", Map.of("skip-rows", "1", "skip_header", "true")));
+                        "csv:skip-rows=1,skip_header=true", "csv", Map.of("skip-rows", "1", "skip_header", "true")),
+                Arguments.of("warm-up:users=10,duration=30s", "warm-up", Map.of("users", "10", "duration", "30s")));
     }
 
     @ParameterizedTest
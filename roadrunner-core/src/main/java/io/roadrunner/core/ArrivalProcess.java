@@ -0,0 +1,98 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core;
+
+import io.roadrunner.core.internal.ArrivalProcesses;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * When users of the open-world model arrive. Arrivals are split across dispatchers, every dispatcher
+ * draws its own {@link Arrivals} and issues them on its own thread.
+ */
+public interface ArrivalProcess {
+
+    /**
+     * Returns the arrivals issued by dispatcher {@code dispatcher} (counted from zero) of
+     * {@code dispatchers}, such that all dispatchers together arrive at {@code usersArrivalRate}
+     * users per second on average.
+     */
+    Arrivals arrivals(int usersArrivalRate, int dispatcher, int dispatchers);
+
+    /**
+     * A single dispatcher's arrivals. Not thread-safe, called on the dispatcher thread only, and
+     * must not allocate.
+     */
+    interface Arrivals {
+        /** Returned by {@link #next()} once there are no more arrivals. */
+        long NONE = Long.MAX_VALUE;
+
+        /**
+         * Returns the offset of the next arrival from the start of the test, in nanoseconds, never
+         * less than the previous one, or {@link #NONE}.
+         */
+        long next();
+    }
+
+    /**
+     * Arrivals evenly spaced at exactly {@code 1 / usersArrivalRate}.
+     */
+    static ArrivalProcess periodic() {
+        return ArrivalProcesses.periodic();
+    }
+
+    /**
+     * Arrivals of a Poisson process: exponentially distributed gaps, drawn from a random generator
+     * seeded with {@code seed}.
+     */
+    static ArrivalProcess poisson(long seed) {
+        return ArrivalProcesses.poisson(seed);
+    }
+
+    /**
+     * Periodic arrivals, each displaced uniformly at random by up to {@code jitter / 2} of the
+     * interval either way; {@code jitter} is between 0 (periodic) and 1.
+     */
+    static ArrivalProcess uniformJitter(double jitter, long seed) {
+        return ArrivalProcesses.uniformJitter(jitter, seed);
+    }
+
+    /**
+     * Bursts: arrivals come only during {@code on} periods, separated by {@code off} periods, fast
+     * enough to keep {@code usersArrivalRate} on average.
+     */
+    static ArrivalProcess onOff(Duration on, Duration off) {
+        return ArrivalProcesses.onOff(on, off);
+    }
+
+    /**
+     * Arrivals at a rate going linearly from {@code fromRate} to {@code toRate} users per second
+     * over {@code duration}, ignoring the arrival rate; periodic when both are the same.
+     */
+    static ArrivalProcess linearRamp(int fromRate, int toRate, Duration duration) {
+        return ArrivalProcesses.linearRamp(fromRate, toRate, duration);
+    }
+
+    /**
+     * Replays recorded arrivals at their recorded pace, ignoring the arrival rate. The file holds
+     * one timestamp in milliseconds per line (fractions allowed, blank lines and lines starting
+     * with {@code #} skipped); arrivals are offset from the earliest of them.
+     */
+    static ArrivalProcess replay(Path timestamps) throws IOException {
+        return ArrivalProcesses.replay(timestamps);
+    }
+}
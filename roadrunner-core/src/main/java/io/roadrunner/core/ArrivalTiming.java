@@ -0,0 +1,29 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core;
+
+/**
+ * How open-world dispatchers wait for the scheduled start time of the next arrival.
+ */
+public enum ArrivalTiming {
+    /** Parks until the start time: cheapest on CPU, arrivals are late by the timer slack (tens of µs). */
+    PARK,
+    /**
+     * Parks until shortly before the start time and spins on {@link Thread#onSpinWait()} for the
+     * rest: accurate to a few µs, burns a core per dispatcher while spinning.
+     */
+    SPIN_THEN_PARK
+}
@@ -21,7 +21,10 @@ import io.roadrunner.api.parameters.ParameterSource;
 import io.roadrunner.core.internal.ClosedWorldStrategy;
 import io.roadrunner.core.internal.DefaultRoadrunner;
 import io.roadrunner.core.internal.ExecutionStrategy;
+import io.roadrunner.core.internal.LoadProfileStrategy;
 import io.roadrunner.core.internal.OpenWorldStrategy;
+import io.roadrunner.core.internal.ThroughputSearchStrategy;
+import io.roadrunner.core.internal.WarmUpStrategy;
 import io.roadrunner.latency.recording.PauseDetectorKind;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -42,13 +45,39 @@ public class Bootstrap {
     private Path outputDir;
     private ParameterSource parameterSource = ParameterSource.onlyEmptyParameters();
     private EnumSet<PauseDetectorKind> pauseDetectors = EnumSet.noneOf(PauseDetectorKind.class);
+    private int journalCapacity = DefaultRoadrunner.DEFAULT_JOURNAL_CAPACITY;
+    private JournalWaitStrategy journalWaitStrategy = JournalWaitStrategy.PARK;
+    private OutputFormat outputFormat = OutputFormat.CSV;
+    private Duration warmUp = Duration.ZERO;
+    private ParameterAccess parameterAccess = ParameterAccess.ROUND_ROBIN;
+    private long parameterSeed = 1;
+    private int parameterPrefetch = DefaultRoadrunner.DEFAULT_PARAMETER_PREFETCH;
 
     /**
      * Configure the closed-world load model: N concurrent users each loop until the total
      * request count is reached.
      */
     public Bootstrap withClosedWorldModel(int concurrentUsers, long requests) {
-        this.strategy = ClosedWorldStrategy.of(concurrentUsers, requests);
+        return withClosedWorldModel(concurrentUsers, requests, ThinkTime.none());
+    }
+
+    /**
+     * Configure the closed-world load model with users pausing or pacing between iterations as
+     * {@code thinkTime} says; corrected latency is then measured from the scheduled starts.
+     */
+    public Bootstrap withClosedWorldModel(int concurrentUsers, long requests, ThinkTime thinkTime) {
+        this.strategy = ClosedWorldStrategy.of(
+                concurrentUsers, requests, Objects.requireNonNull(thinkTime, "think time cannot be null"));
+        return this;
+    }
+
+    /**
+     * Configure the closed-world load model bounded by time: N concurrent users each loop, pausing or
+     * pacing as {@code thinkTime} says, until {@code duration} elapses.
+     */
+    public Bootstrap withClosedWorldModel(int concurrentUsers, Duration duration, ThinkTime thinkTime) {
+        this.strategy = ClosedWorldStrategy.forDuration(
+                concurrentUsers, duration, Objects.requireNonNull(thinkTime, "think time cannot be null"));
         return this;
     }
 
@@ -57,7 +86,54 @@ public class Bootstrap {
      * duration, independent of whether previous requests have completed.
      */
     public Bootstrap withOpenWorldModel(int usersArrivalRate, Duration duration) {
-        this.strategy = OpenWorldStrategy.of(usersArrivalRate, duration);
+        return withOpenWorldModel(usersArrivalRate, duration, 1, ArrivalTiming.PARK, ArrivalProcess.periodic());
+    }
+
+    /**
+     * Configure the open-world load model with arrivals issued by {@code dispatchers} threads, each
+     * owning its share of the arrivals drawn from {@code process}, and waiting for them as
+     * {@code timing} says. More dispatchers and spinning keep very high rates accurate.
+     */
+    public Bootstrap withOpenWorldModel(
+            int usersArrivalRate, Duration duration, int dispatchers, ArrivalTiming timing, ArrivalProcess process) {
+        this.strategy = OpenWorldStrategy.of(
+                usersArrivalRate,
+                duration,
+                dispatchers,
+                Objects.requireNonNull(timing, "arrival timing cannot be null"),
+                Objects.requireNonNull(process, "arrival process cannot be null"));
+        return this;
+    }
+
+    /**
+     * Configure a multi-stage load profile: ramps and holds of the arrival rate, steps of
+     * concurrent users, run one after another and labelled in the journal.
+     */
+    public Bootstrap withLoadProfile(LoadProfile profile) {
+        this.strategy = LoadProfileStrategy.of(Objects.requireNonNull(profile, "load profile cannot be null"));
+        return this;
+    }
+
+    /**
+     * Configure a search for the maximum sustainable throughput: open-world steps at increasing
+     * arrival rates, bisected down to the highest rate whose latency percentile holds the threshold.
+     */
+    public Bootstrap withThroughputSearch(ThroughputSearch search) {
+        this.strategy = ThroughputSearchStrategy.of(Objects.requireNonNull(search, "throughput search cannot be null"));
+        return this;
+    }
+
+    /**
+     * Label the first {@code warmUp} of a closed- or open-world run as warm-up: its responses are
+     * journaled, but left out of the summary, reports and latency snapshot. {@link Duration#ZERO}
+     * (the default) measures the run from the start.
+     */
+    public Bootstrap withWarmUp(Duration warmUp) {
+        Objects.requireNonNull(warmUp, "warm-up cannot be null");
+        if (warmUp.isNegative()) {
+            throw new IllegalArgumentException("warm-up cannot be negative: %s".formatted(warmUp));
+        }
+        this.warmUp = warmUp;
         return this;
     }
 
@@ -76,11 +152,52 @@ public class Bootstrap {
         return this;
     }
 
+    /**
+     * Configure how users walk through the parameter source's rows; {@code seed} seeds
+     * {@link ParameterAccess#RANDOM} access. Round robin by default.
+     */
+    public Bootstrap withParameterAccess(ParameterAccess access, long seed) {
+        this.parameterAccess = Objects.requireNonNull(access, "parameter access cannot be null");
+        this.parameterSeed = seed;
+        return this;
+    }
+
+    /**
+     * Configure how many rows {@link ParameterAccess#STREAMING} access reads ahead of the users.
+     */
+    public Bootstrap withParameterPrefetch(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("parameter prefetch must be positive: %d".formatted(rows));
+        }
+        this.parameterPrefetch = rows;
+        return this;
+    }
+
     public Bootstrap withPauseDetectorKinds(EnumSet<PauseDetectorKind> pauseDetectorKinds) {
         this.pauseDetectors = Objects.requireNonNull(pauseDetectorKinds, "pause detectors kinds cannot be null");
         return this;
     }
 
+    /**
+     * Configure the responses journal: the number of preallocated slots in its ring buffer (a power
+     * of two, every slot holds a chunk of a single user's events) and how the journal thread waits
+     * when there is nothing to write.
+     */
+    public Bootstrap withJournal(int capacity, JournalWaitStrategy waitStrategy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(
+                    "journal capacity must be a power of two greater than one: %d".formatted(capacity));
+        }
+        this.journalCapacity = capacity;
+        this.journalWaitStrategy = Objects.requireNonNull(waitStrategy, "journal wait strategy cannot be null");
+        return this;
+    }
+
+    public Bootstrap withOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = Objects.requireNonNull(outputFormat, "output format cannot be null");
+        return this;
+    }
+
     public Path outputDir() {
         return outputDir;
     }
@@ -93,6 +210,25 @@ public class Bootstrap {
         if (strategy == null) {
             throw new IllegalStateException("Load strategy must be configured");
         }
-        return new DefaultRoadrunner(strategy, measurementProgress, outputDir, parameterSource, pauseDetectors);
+        var loadStrategy = strategy;
+        if (!warmUp.isZero()) {
+            if (strategy instanceof LoadProfileStrategy || strategy instanceof ThroughputSearchStrategy) {
+                throw new IllegalStateException("Warm-up applies to closed- and open-world models only, "
+                        + "label a stage of the load profile as warm-up instead");
+            }
+            loadStrategy = WarmUpStrategy.of(strategy, warmUp);
+        }
+        return new DefaultRoadrunner(
+                loadStrategy,
+                measurementProgress,
+                outputDir,
+                parameterSource,
+                pauseDetectors,
+                journalCapacity,
+                journalWaitStrategy,
+                outputFormat,
+                parameterAccess,
+                parameterSeed,
+                parameterPrefetch);
     }
 }
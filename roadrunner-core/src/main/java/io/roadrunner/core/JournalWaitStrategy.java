@@ -0,0 +1,28 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core;
+
+/**
+ * How the responses journal thread waits when its ring buffer is empty.
+ */
+public enum JournalWaitStrategy {
+    /** Spins on {@link Thread#onSpinWait()}: lowest hand-off latency, burns a whole core. */
+    BUSY_SPIN,
+    /** Calls {@link Thread#yield()}: low latency, gives the core away when other threads need it. */
+    YIELD,
+    /** Parks for a short while: cheapest on CPU, adds up to the park time to hand-off latency. */
+    PARK
+}
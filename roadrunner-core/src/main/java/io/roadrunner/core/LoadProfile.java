@@ -0,0 +1,113 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core;
+
+import io.roadrunner.api.events.StageEvent;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A sequence of load stages run one after another, e.g. a ramp of the arrival rate followed by a
+ * hold, or steps of concurrent users, to find where a service's throughput curve bends within a
+ * single run. Every stage is labelled in the journal and waits for its users to leave before the
+ * next one starts, so each request belongs to exactly one stage and reports break latencies down
+ * per stage.
+ */
+public final class LoadProfile {
+
+    /**
+     * A single stage of a profile. Labels are at most {@link StageEvent#MAX_LABEL_BYTES} long.
+     */
+    public sealed interface Stage permits RateStage, UsersStage {
+
+        String label();
+
+        Duration duration();
+
+        /**
+         * Open-world stage: the arrival rate goes linearly from {@code fromRate} to {@code toRate}
+         * users per second over {@code duration}.
+         */
+        static Stage ramp(String label, int fromRate, int toRate, Duration duration) {
+            return new RateStage(label, fromRate, toRate, duration);
+        }
+
+        /**
+         * Open-world stage: users arrive at a steady {@code rate} per second for {@code duration}.
+         */
+        static Stage hold(String label, int rate, Duration duration) {
+            return new RateStage(label, rate, rate, duration);
+        }
+
+        /**
+         * Closed-world stage: {@code users} concurrent users loop for {@code duration}.
+         */
+        static Stage users(String label, int users, Duration duration) {
+            return new UsersStage(label, users, duration);
+        }
+    }
+
+    public record RateStage(String label, int fromRate, int toRate, Duration duration) implements Stage {
+        public RateStage {
+            StageEvent.checkLabel(label);
+            if (fromRate < 0 || toRate < 0 || (fromRate == 0 && toRate == 0)) {
+                throw new IllegalArgumentException(
+                        "rates cannot be negative nor both zero: %d, %d".formatted(fromRate, toRate));
+            }
+            checkDuration(duration);
+        }
+    }
+
+    public record UsersStage(String label, int users, Duration duration) implements Stage {
+        public UsersStage {
+            StageEvent.checkLabel(label);
+            if (users <= 0) {
+                throw new IllegalArgumentException("users must be positive: %d".formatted(users));
+            }
+            checkDuration(duration);
+        }
+    }
+
+    private final List<Stage> stages;
+
+    private LoadProfile(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    public static LoadProfile of(List<? extends Stage> stages) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("load profile needs at least one stage");
+        }
+        return new LoadProfile(List.copyOf(stages));
+    }
+
+    public List<Stage> stages() {
+        return stages;
+    }
+
+    /**
+     * Returns the planned duration of all stages together.
+     */
+    public Duration duration() {
+        return stages.stream().map(Stage::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    private static void checkDuration(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("stage duration must be positive: %s".formatted(duration));
+        }
+    }
+}
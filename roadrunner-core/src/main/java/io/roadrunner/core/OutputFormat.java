@@ -0,0 +1,36 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core;
+
+/**
+ * Format of the events journal written into the output directory.
+ */
+public enum OutputFormat {
+    /** Human-readable {@code output.csv}, one event per line. */
+    CSV("output.csv"),
+    /** Compact, block-structured columnar {@code output.bin}, much faster to write and to read back. */
+    BINARY("output.bin");
+
+    private final String fileName;
+
+    OutputFormat(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+}
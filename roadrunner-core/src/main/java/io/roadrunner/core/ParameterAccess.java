@@ -0,0 +1,38 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core;
+
+/**
+ * How users walk through the rows of the parameter source. Every user (closed world) or dispatcher
+ * (open world) owns a cursor of its own, so drawing a row is contention-free, except for
+ * {@link #SEQUENTIAL_ONCE} claiming a block of rows now and then and {@link #STREAMING} taking a
+ * block of rows from the read-ahead buffer.
+ */
+public enum ParameterAccess {
+    /** Every cursor cycles through all rows, starting at its own offset. */
+    ROUND_ROBIN,
+    /** Every cursor cycles through its own disjoint slice of the rows. */
+    PARTITIONED,
+    /** Every row is used exactly once, in blocks of consecutive rows; users stop once all are used. */
+    SEQUENTIAL_ONCE,
+    /** Every cursor draws rows at random, from a generator seeded with the run's seed and its index. */
+    RANDOM,
+    /**
+     * Every row is used exactly once, read ahead from the source while the test runs instead of
+     * loaded up front; users stop once the source runs out.
+     */
+    STREAMING
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core;
+
+import io.roadrunner.core.internal.ThinkTimes;
+import java.time.Duration;
+
+/**
+ * When a closed-world user starts its next iteration: after pausing to think once the previous
+ * response arrived, or on a fixed pacing schedule. The scheduled start is what corrected latency is
+ * measured from, so a user held up by a slow response is charged for the time it should have spent
+ * waiting, as in the open world.
+ */
+public interface ThinkTime {
+
+    /**
+     * Returns the schedule of user {@code user} (counted from zero).
+     */
+    Schedule schedule(int user);
+
+    /**
+     * A single user's schedule. Not thread-safe, called on the user's thread only.
+     */
+    interface Schedule {
+        /**
+         * Returns when the next iteration should start, in {@link System#nanoTime()} terms, given
+         * when the previous one was scheduled to start and when it stopped.
+         */
+        long nextStart(long scheduledStart, long stopped);
+    }
+
+    /**
+     * No think time: every iteration starts as soon as the previous one stopped, and is measured
+     * from the moment it actually starts.
+     */
+    static ThinkTime none() {
+        return ThinkTimes.none();
+    }
+
+    /**
+     * Pauses for exactly {@code thinkTime} after every response.
+     */
+    static ThinkTime constant(Duration thinkTime) {
+        return ThinkTimes.constant(thinkTime);
+    }
+
+    /**
+     * Pauses for exponentially distributed think times averaging {@code mean}, drawn from a random
+     * generator seeded with {@code seed}.
+     */
+    static ThinkTime exponential(Duration mean, long seed) {
+        return ThinkTimes.exponential(mean, seed);
+    }
+
+    /**
+     * Pauses for think times uniformly distributed between {@code min} and {@code max}, drawn from a
+     * random generator seeded with {@code seed}.
+     */
+    static ThinkTime uniform(Duration min, Duration max, long seed) {
+        return ThinkTimes.uniform(min, max, seed);
+    }
+
+    /**
+     * Starts an iteration every {@code period}, however long the previous one took. A user falling
+     * behind starts at once and keeps the schedule, so its lateness shows up in corrected latency.
+     */
+    static ThinkTime pacing(Duration period) {
+        return ThinkTimes.pacing(period);
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core;
+
+import java.time.Duration;
+
+/**
+ * Searches for the maximum sustainable throughput: the highest open-world arrival rate at which the
+ * {@code percentile} of corrected latency stays within {@code latencyThreshold}.
+ * <p>
+ * Every step holds one arrival rate for {@code stepDuration} and is labelled {@code rate-<n>} in the
+ * journal. The rate doubles from {@code fromRate} (capped at {@code toRate}) until a step breaks the
+ * threshold, then the search bisects between the last sustained and the first broken rate until
+ * they are at most {@code precision} users per second apart. The highest sustained rate closes the
+ * journal as the {@code max-sustained-rate-<n>} stage.
+ */
+public record ThroughputSearch(
+        int fromRate, int toRate, Duration stepDuration, double percentile, Duration latencyThreshold, int precision) {
+
+    public ThroughputSearch {
+        if (fromRate <= 0 || toRate < fromRate) {
+            throw new IllegalArgumentException(
+                    "rates must be positive and ordered: %d, %d".formatted(fromRate, toRate));
+        }
+        if (stepDuration.isNegative() || stepDuration.isZero()) {
+            throw new IllegalArgumentException("step duration must be positive: %s".formatted(stepDuration));
+        }
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be within (0, 100]: %s".formatted(percentile));
+        }
+        if (latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+            throw new IllegalArgumentException("latency threshold must be positive: %s".formatted(latencyThreshold));
+        }
+        if (precision <= 0) {
+            throw new IllegalArgumentException("precision must be positive: %d".formatted(precision));
+        }
+    }
+
+    /**
+     * Returns the longest the search can take: every doubling step up to {@code toRate}, followed by
+     * every bisection step down to {@code precision}.
+     */
+    public Duration maxDuration() {
+        var steps = 1;
+        for (long rate = fromRate; rate < toRate; rate *= 2) {
+            steps++;
+        }
+        for (long range = Math.max(1, toRate / 2); range > precision; range /= 2) {
+            steps++;
+        }
+        return stepDuration.multipliedBy(steps);
+    }
+}
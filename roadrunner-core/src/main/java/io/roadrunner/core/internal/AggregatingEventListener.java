@@ -0,0 +1,362 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.EventBatch;
+import io.roadrunner.api.events.EventListener;
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.measurments.EventCursor;
+import io.roadrunner.api.measurments.EventReader;
+import io.roadrunner.api.measurments.MeasurementsSummary;
+import io.roadrunner.api.measurments.Sample;
+import io.roadrunner.api.measurments.StageSummary;
+import io.roadrunner.shaded.hdrhistogram.Histogram;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the run's {@link MeasurementsSummary} (latency histogram, counts, first and last
+ * timestamps, per-second buckets, transfer metrics, per-stage latencies) while events pass through to the output
+ * listener. Responses of the {@link StageEvent#WARM_UP warm-up} stage count towards that stage only.
+ * Called from the journal thread only; read the summary once the journal is closed.
+ */
+final class AggregatingEventListener implements EventListener {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final int INITIAL_SECONDS = 256;
+
+    private final EventListener delegate;
+    private final Histogram histogram = new Histogram(3);
+    private final Histogram timeToFirstByte = new Histogram(3);
+    private final Histogram timeToLastByte = new Histogram(3);
+    private final Histogram timeToRequestSent = new Histogram(3);
+    private final Histogram serverTime = new Histogram(3);
+    private final Histogram transferTime = new Histogram(3);
+    private long bytesReceived = SamplerResponse.NOT_MEASURED;
+    private long totalRequests;
+    private long errorRequests;
+    private long firstStartTime = Long.MAX_VALUE;
+    private long lastStopTime;
+    private long bucketsBase = Long.MIN_VALUE;
+    private long[] requestsPerSecond = new long[INITIAL_SECONDS];
+    private long[] errorsPerSecond = new long[INITIAL_SECONDS];
+    private int seconds;
+    // ordered by start time
+    private final List<StageAggregates> stages = new ArrayList<>();
+
+    AggregatingEventListener(EventListener delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onStart() {
+        delegate.onStart();
+    }
+
+    @Override
+    public void onEvent(Collection<? extends Event> batch) {
+        delegate.onEvent(batch);
+        for (var event : batch) {
+            if (event instanceof StageEvent stageEvent) {
+                startStage(stageEvent.label(), stageEvent.timestamp());
+            } else if (event instanceof SamplerResponse<?> response
+                    && record(
+                            response.scheduledStartTime(),
+                            response.stopTime(),
+                            response.latency(),
+                            response instanceof SamplerResponse.Error)) {
+                recordTransfer(
+                        response.timestamp(),
+                        response.stopTime(),
+                        response.bytesReceived(),
+                        response.timeToRequestSent(),
+                        response.timeToFirstByte());
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(EventBatch batch) {
+        delegate.onEvent(batch);
+        try (var cursor = batch.cursor()) {
+            while (cursor.next()) {
+                if (cursor.kind() == EventCursor.Kind.RESPONSE
+                        && record(
+                                cursor.scheduledStartTime(),
+                                cursor.stopTime(),
+                                cursor.latency(),
+                                cursor.status() == Sample.Status.KO)) {
+                    recordTransfer(
+                            cursor.timestamp(),
+                            cursor.stopTime(),
+                            cursor.bytesReceived(),
+                            cursor.timeToRequestSent(),
+                            cursor.timeToFirstByte());
+                } else if (cursor.kind() == EventCursor.Kind.STAGE) {
+                    startStage(cursor.label(), cursor.timestamp());
+                }
+            }
+        }
+    }
+
+    private void startStage(String label, long timestamp) {
+        // stages are journaled in order, except for one started ahead of its time, like the end of warm-up
+        var index = stages.size();
+        while (index > 0 && stages.get(index - 1).startTime > timestamp) {
+            index--;
+        }
+        stages.add(index, new StageAggregates(label, timestamp));
+    }
+
+    /**
+     * Returns the latest stage started at or before {@code scheduledStartTime}, {@code null} when
+     * none.
+     */
+    private StageAggregates stageOf(long scheduledStartTime) {
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            if (stages.get(i).startTime <= scheduledStartTime) {
+                return stages.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the response, returns {@code false} when it belongs to the warm-up and counts towards
+     * its stage only.
+     */
+    private boolean record(long scheduledStartTime, long stopTime, long latency, boolean error) {
+        var stage = stageOf(scheduledStartTime);
+        if (stage != null) {
+            stage.record(stopTime, latency, error);
+            if (stage.label.equals(StageEvent.WARM_UP)) {
+                return false;
+            }
+        }
+        totalRequests++;
+        if (error) {
+            errorRequests++;
+        }
+        histogram.recordValue(latency);
+        firstStartTime = Math.min(firstStartTime, scheduledStartTime);
+        lastStopTime = Math.max(lastStopTime, stopTime);
+
+        if (bucketsBase == Long.MIN_VALUE) {
+            bucketsBase = scheduledStartTime;
+        }
+        // events are merged by timestamp within a batch only, an early straggler lands in the first second
+        var second = (int) Math.max(0, (stopTime - bucketsBase) / SECOND);
+        if (second >= requestsPerSecond.length) {
+            var length = Math.max(second + 1, requestsPerSecond.length * 2);
+            requestsPerSecond = Arrays.copyOf(requestsPerSecond, length);
+            errorsPerSecond = Arrays.copyOf(errorsPerSecond, length);
+        }
+        requestsPerSecond[second]++;
+        if (error) {
+            errorsPerSecond[second]++;
+        }
+        seconds = Math.max(seconds, second + 1);
+        return true;
+    }
+
+    private void recordTransfer(long timestamp, long stopTime, long bytes, long requestSent, long firstByte) {
+        if (bytes != SamplerResponse.NOT_MEASURED) {
+            bytesReceived = Math.max(bytesReceived, 0) + bytes;
+        }
+        if (requestSent != SamplerResponse.NOT_MEASURED) {
+            timeToRequestSent.recordValue(requestSent);
+        }
+        if (firstByte != SamplerResponse.NOT_MEASURED) {
+            var lastByte = stopTime - timestamp;
+            timeToFirstByte.recordValue(firstByte);
+            timeToLastByte.recordValue(lastByte);
+            transferTime.recordValue(Math.max(0, lastByte - firstByte));
+            if (requestSent != SamplerResponse.NOT_MEASURED) {
+                serverTime.recordValue(Math.max(0, firstByte - requestSent));
+            }
+        }
+    }
+
+    @Override
+    public void onStop() {
+        delegate.onStop();
+    }
+
+    @Override
+    public EventReader samplesReader() {
+        return delegate.samplesReader();
+    }
+
+    MeasurementsSummary summary() {
+        return new HistogramSummary(
+                histogram,
+                totalRequests,
+                errorRequests,
+                firstStartTime,
+                lastStopTime,
+                Arrays.copyOf(requestsPerSecond, seconds),
+                Arrays.copyOf(errorsPerSecond, seconds),
+                bytesReceived,
+                timeToFirstByte,
+                timeToLastByte,
+                timeToRequestSent,
+                serverTime,
+                transferTime,
+                List.copyOf(stages));
+    }
+
+    private static final class StageAggregates implements StageSummary {
+        private final String label;
+        private final long startTime;
+        private final Histogram histogram = new Histogram(3);
+        private long totalRequests;
+        private long errorRequests;
+        private long lastStopTime;
+
+        StageAggregates(String label, long startTime) {
+            this.label = label;
+            this.startTime = startTime;
+        }
+
+        void record(long stopTime, long latency, boolean error) {
+            totalRequests++;
+            if (error) {
+                errorRequests++;
+            }
+            histogram.recordValue(latency);
+            lastStopTime = Math.max(lastStopTime, stopTime);
+        }
+
+        @Override
+        public String label() {
+            return label;
+        }
+
+        @Override
+        public long startTime() {
+            return startTime;
+        }
+
+        @Override
+        public long totalRequests() {
+            return totalRequests;
+        }
+
+        @Override
+        public long errorRequests() {
+            return errorRequests;
+        }
+
+        @Override
+        public long lastStopTime() {
+            return lastStopTime;
+        }
+
+        @Override
+        public long maxLatency() {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public long latencyAtPercentile(double percentile) {
+            return histogram.getValueAtPercentile(percentile);
+        }
+    }
+
+    private record HistogramSummary(
+            Histogram histogram,
+            long totalRequests,
+            long errorRequests,
+            long firstStartTime,
+            long lastStopTime,
+            long[] requestsPerSecond,
+            long[] errorsPerSecond,
+            long bytesReceived,
+            Histogram timeToFirstByte,
+            Histogram timeToLastByte,
+            Histogram timeToRequestSent,
+            Histogram serverTime,
+            Histogram transferTime,
+            List<StageSummary> stages)
+            implements MeasurementsSummary {
+
+        @Override
+        public long minLatency() {
+            return histogram.getMinValue();
+        }
+
+        @Override
+        public long maxLatency() {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public double meanLatency() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long latencyAtPercentile(double percentile) {
+            return histogram.getValueAtPercentile(percentile);
+        }
+
+        @Override
+        public long timeToFirstByteAtPercentile(double percentile) {
+            return measuredAtPercentile(timeToFirstByte, percentile);
+        }
+
+        @Override
+        public long timeToLastByteAtPercentile(double percentile) {
+            return measuredAtPercentile(timeToLastByte, percentile);
+        }
+
+        @Override
+        public long timeToRequestSentAtPercentile(double percentile) {
+            return measuredAtPercentile(timeToRequestSent, percentile);
+        }
+
+        @Override
+        public long serverTimeAtPercentile(double percentile) {
+            return measuredAtPercentile(serverTime, percentile);
+        }
+
+        @Override
+        public long transferTimeAtPercentile(double percentile) {
+            return measuredAtPercentile(transferTime, percentile);
+        }
+
+        private static long measuredAtPercentile(Histogram histogram, double percentile) {
+            return histogram.getTotalCount() == 0
+                    ? SamplerResponse.NOT_MEASURED
+                    : histogram.getValueAtPercentile(percentile);
+        }
+
+        @Override
+        public long[] requestsPerSecond() {
+            return requestsPerSecond.clone();
+        }
+
+        @Override
+        public long[] errorsPerSecond() {
+            return errorsPerSecond.clone();
+        }
+    }
+}
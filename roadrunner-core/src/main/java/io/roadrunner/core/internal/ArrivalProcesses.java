@@ -0,0 +1,180 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.core.ArrivalProcess;
+import io.roadrunner.core.ArrivalProcess.Arrivals;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Built-in {@link ArrivalProcess}es. Random ones draw from a {@link SplittableRandom} per dispatcher,
+ * derived from the seed and the dispatcher's index, so a run is reproducible for a given seed and
+ * number of dispatchers, and drawing an arrival allocates nothing.
+ */
+public final class ArrivalProcesses {
+
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    private ArrivalProcesses() {}
+
+    public static ArrivalProcess periodic() {
+        return (rate, dispatcher, dispatchers) -> new Arrivals() {
+            // dispatcher d owns arrivals d + 1, d + 1 + dispatchers, ...
+            private long n = dispatcher + 1 - dispatchers;
+
+            @Override
+            public long next() {
+                n += dispatchers;
+                return arrivalTime(n, rate);
+            }
+        };
+    }
+
+    public static ArrivalProcess poisson(long seed) {
+        return (rate, dispatcher, dispatchers) -> {
+            // superposed Poisson processes are a Poisson process with the rates summed up
+            var meanGapNanos = (double) SECOND_NANOS * dispatchers / rate;
+            var random = SeededRandoms.random(seed, dispatcher);
+            return new Arrivals() {
+                private double time;
+
+                @Override
+                public long next() {
+                    time += SeededRandoms.nextExponential(random) * meanGapNanos;
+                    return (long) time;
+                }
+            };
+        };
+    }
+
+    public static ArrivalProcess uniformJitter(double jitter, long seed) {
+        if (!(jitter >= 0 && jitter <= 1)) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1: %s".formatted(jitter));
+        }
+        return (rate, dispatcher, dispatchers) -> {
+            var amplitudeNanos = jitter * SECOND_NANOS / rate;
+            var random = SeededRandoms.random(seed, dispatcher);
+            var periodic = periodic().arrivals(rate, dispatcher, dispatchers);
+            return new Arrivals() {
+                // displacements of at most half an interval either way can't reorder arrivals
+                private long previous;
+
+                @Override
+                public long next() {
+                    var arrival = periodic.next() + (long) ((random.nextDouble() - 0.5) * amplitudeNanos);
+                    previous = Math.max(previous, arrival);
+                    return previous;
+                }
+            };
+        };
+    }
+
+    public static ArrivalProcess onOff(Duration on, Duration off) {
+        if (on.isNegative() || on.isZero()) {
+            throw new IllegalArgumentException("on period must be positive: %s".formatted(on));
+        }
+        if (off.isNegative()) {
+            throw new IllegalArgumentException("off period cannot be negative: %s".formatted(off));
+        }
+        var onNanos = on.toNanos();
+        var cycleNanos = onNanos + off.toNanos();
+        return (rate, dispatcher, dispatchers) -> {
+            var periodic = periodic().arrivals(rate, dispatcher, dispatchers);
+            // periodic arrivals squeezed into the on periods: time runs faster while on
+            var speedUp = (double) cycleNanos / onNanos;
+            return () -> {
+                var onTime = periodic.next() / speedUp;
+                var cycles = (long) (onTime / onNanos);
+                return cycles * cycleNanos + (long) (onTime - (double) cycles * onNanos);
+            };
+        };
+    }
+
+    public static ArrivalProcess linearRamp(int fromRate, int toRate, Duration duration) {
+        if (fromRate < 0 || toRate < 0 || (fromRate == 0 && toRate == 0)) {
+            throw new IllegalArgumentException(
+                    "rates cannot be negative nor both zero: %d, %d".formatted(fromRate, toRate));
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive: %s".formatted(duration));
+        }
+        if (fromRate == toRate) {
+            return (rate, dispatcher, dispatchers) -> periodic().arrivals(fromRate, dispatcher, dispatchers);
+        }
+        // n(t) = from * t + slope * t^2 / 2 arrivals by t seconds, solved for t
+        var slope = (double) (toRate - fromRate) / (duration.toNanos() / (double) SECOND_NANOS);
+        return (rate, dispatcher, dispatchers) -> new Arrivals() {
+            private long n = dispatcher + 1 - dispatchers;
+
+            @Override
+            public long next() {
+                n += dispatchers;
+                var discriminant = (double) fromRate * fromRate + 2 * slope * n;
+                if (discriminant < 0) {
+                    // a ramp down never gets this far
+                    return NONE;
+                }
+                // the rationalized root doesn't cancel out when the slope is small
+                return (long) (2 * n / (fromRate + Math.sqrt(discriminant)) * SECOND_NANOS);
+            }
+        };
+    }
+
+    public static ArrivalProcess replay(Path timestamps) throws IOException {
+        long[] offsets;
+        try (var lines = Files.lines(timestamps)) {
+            offsets = lines.map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .mapToLong(line -> new BigDecimal(line).movePointRight(6).longValue())
+                    .sorted()
+                    .toArray();
+        } catch (NumberFormatException e) {
+            throw new IOException("invalid timestamp in %s".formatted(timestamps), e);
+        }
+        if (offsets.length > 0) {
+            var first = offsets[0];
+            Arrays.setAll(offsets, i -> offsets[i] - first);
+        }
+        return (rate, dispatcher, dispatchers) -> new Arrivals() {
+            private int next = dispatcher;
+
+            @Override
+            public long next() {
+                if (next >= offsets.length) {
+                    return NONE;
+                }
+                var offset = offsets[next];
+                next += dispatchers;
+                return offset;
+            }
+        };
+    }
+
+    /**
+     * Offset of the {@code n}-th periodic arrival, exact for any rate: the whole seconds and the
+     * remainder are scaled separately, so neither a truncated interval accumulates drift nor the
+     * product overflows.
+     */
+    static long arrivalTime(long n, int usersArrivalRate) {
+        return (n / usersArrivalRate) * SECOND_NANOS + (n % usersArrivalRate) * SECOND_NANOS / usersArrivalRate;
+    }
+}
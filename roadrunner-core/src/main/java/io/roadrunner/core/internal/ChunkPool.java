@@ -0,0 +1,61 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free pool of {@link EventChunk}s. Users acquire chunks, the journal thread releases them
+ * once merged. Slots are probed from a random index so that concurrent users don't all fight
+ * over the same one; when the pool is empty a new chunk is allocated, when it is full a released
+ * chunk is left to the garbage collector.
+ */
+final class ChunkPool {
+
+    private static final int PROBES = 16;
+
+    private final AtomicReferenceArray<EventChunk> slots;
+    private final int chunkCapacity;
+
+    ChunkPool(int size, int chunkCapacity) {
+        this.slots = new AtomicReferenceArray<>(size);
+        this.chunkCapacity = chunkCapacity;
+    }
+
+    EventChunk acquire() {
+        var length = slots.length();
+        var index = ThreadLocalRandom.current().nextInt(length);
+        for (int i = 0; i < PROBES; i++, index = (index + 1) % length) {
+            var chunk = slots.get(index);
+            if (chunk != null && slots.compareAndSet(index, chunk, null)) {
+                return chunk;
+            }
+        }
+        return new EventChunk(chunkCapacity);
+    }
+
+    void release(EventChunk chunk) {
+        chunk.clear();
+        var length = slots.length();
+        var index = ThreadLocalRandom.current().nextInt(length);
+        for (int i = 0; i < PROBES; i++, index = (index + 1) % length) {
+            if (slots.get(index) == null && slots.compareAndSet(index, null, chunk)) {
+                return;
+            }
+        }
+    }
+}
@@ -15,34 +15,69 @@
  */
 package io.roadrunner.core.internal;
 
-import io.roadrunner.api.events.SamplerResponse;
-import io.roadrunner.api.events.UserEvent;
 import io.roadrunner.api.latency.LatencyRecorder;
 import io.roadrunner.api.samplers.Sampler;
 import io.roadrunner.api.samplers.SamplerProvider;
+import io.roadrunner.core.ThinkTime;
+import java.time.Duration;
+import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 public final class ClosedWorldStrategy implements ExecutionStrategy {
 
     public static ExecutionStrategy of(int concurrentUsers, long requests) {
+        return of(concurrentUsers, requests, ThinkTime.none());
+    }
+
+    /**
+     * Users pause or pace between iterations as {@code thinkTime} says, until {@code requests} are
+     * made.
+     */
+    public static ExecutionStrategy of(int concurrentUsers, long requests, ThinkTime thinkTime) {
         if (concurrentUsers <= 0) {
             throw new IllegalArgumentException("concurrentUsers must be positive: %d".formatted(concurrentUsers));
         }
         if (requests <= 0) {
             throw new IllegalArgumentException("requests must be positive: %d".formatted(requests));
         }
-        return new ClosedWorldStrategy(concurrentUsers, requests);
+        return new ClosedWorldStrategy(concurrentUsers, requests, null, thinkTime);
+    }
+
+    /**
+     * Users keep looping until {@code duration} elapses, however many requests that takes.
+     */
+    public static ExecutionStrategy forDuration(int concurrentUsers, Duration duration) {
+        return forDuration(concurrentUsers, duration, ThinkTime.none());
+    }
+
+    /**
+     * Users pause or pace between iterations as {@code thinkTime} says, until {@code duration}
+     * elapses.
+     */
+    public static ExecutionStrategy forDuration(int concurrentUsers, Duration duration, ThinkTime thinkTime) {
+        if (concurrentUsers <= 0) {
+            throw new IllegalArgumentException("concurrentUsers must be positive: %d".formatted(concurrentUsers));
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive: %s".formatted(duration));
+        }
+        return new ClosedWorldStrategy(concurrentUsers, RequestBudget.UNBOUNDED, duration, thinkTime);
     }
 
     private final int concurrentUsers;
     private final long requests;
+    // null when bounded by the number of requests only
+    private final Duration duration;
+    private final ThinkTime thinkTime;
 
-    private ClosedWorldStrategy(int concurrentUsers, long requests) {
+    private ClosedWorldStrategy(int concurrentUsers, long requests, Duration duration, ThinkTime thinkTime) {
         this.concurrentUsers = concurrentUsers;
         this.requests = requests;
+        this.duration = duration;
+        this.thinkTime = Objects.requireNonNull(thinkTime, "think time cannot be null");
     }
 
     @Override
@@ -50,16 +85,26 @@ public final class ClosedWorldStrategy implements ExecutionStrategy {
             SamplerProvider samplerProvider,
             ParameterCarousel parameterFeed,
             QueueingSamplerResponsesJournal journal,
-            LatencyRecorder recorder)
+            LatencyRecorder recorder,
+            DispatchLagRecorder dispatchLag)
             throws InterruptedException {
         var delayedSupplier = new DelayedSupplier<>(samplerProvider::newSampler, () -> 20L);
         try (var usersExecutor = Executors.newThreadPerTaskExecutor(
                 Thread.ofVirtual().name("roadrunner-users-").factory())) {
             var latch = new CountDownLatch(concurrentUsers);
-            var measurementControl = new MeasurementControl(requests, journal, latch);
+            var deadline = duration == null ? Long.MAX_VALUE : System.nanoTime() + duration.toNanos();
+            var measurementControl =
+                    new MeasurementControl(new RequestBudget(requests, concurrentUsers), deadline, latch);
             for (int i = 0; i < concurrentUsers; i++) {
-                usersExecutor.submit(
-                        new RoadrunnerUser(measurementControl, delayedSupplier.get(), parameterFeed, recorder));
+                usersExecutor.submit(new RoadrunnerUser(
+                        measurementControl,
+                        measurementControl.lease(),
+                        journal.newWriter(samplerProvider.bodyRetention()),
+                        delayedSupplier.get(),
+                        parameterFeed.cursor(i, concurrentUsers),
+                        recorder,
+                        // without think time every iteration is measured from its actual start
+                        ThinkTimes.isNone(thinkTime) ? null : thinkTime.schedule(i)));
             }
             latch.await();
             usersExecutor.shutdown();
@@ -69,30 +114,55 @@ public final class ClosedWorldStrategy implements ExecutionStrategy {
 
     private static class RoadrunnerUser implements Runnable {
         private final MeasurementControl measurementControl;
+        private final RequestBudget.Lease requests;
+        private final JournalWriter journal;
         private final Sampler sampler;
-        private final ParameterCarousel parameters;
+        private final ParameterCarousel.Cursor parameters;
         private final LatencyRecorder recorder;
+        private final ThinkTime.Schedule schedule;
 
         private RoadrunnerUser(
                 MeasurementControl measurementControl,
+                RequestBudget.Lease requests,
+                JournalWriter journal,
                 Sampler sampler,
-                ParameterCarousel parameters,
-                LatencyRecorder recorder) {
+                ParameterCarousel.Cursor parameters,
+                LatencyRecorder recorder,
+                ThinkTime.Schedule schedule) {
             this.measurementControl = measurementControl;
+            this.requests = requests;
+            this.journal = journal;
             this.sampler = sampler;
             this.parameters = parameters;
             this.recorder = recorder;
+            this.schedule = schedule;
         }
 
         @Override
         public void run() {
-            measurementControl.userEnters();
+            journal.userEnters();
             try {
-                while (measurementControl.isRunning()) {
+                long nextStartTime = System.nanoTime();
+                while (measurementControl.isRunning() && requests.tryAcquire()) {
+                    var row = parameters.next();
+                    if (row == null) {
+                        // every row was used once
+                        break;
+                    }
+                    // when the next request should start
+                    long scheduledStartTime;
+                    if (schedule == null) {
+                        scheduledStartTime = System.nanoTime();
+                    } else {
+                        // don't hold events back while thinking
+                        journal.idleUntil(nextStartTime);
+                        if (!measurementControl.awaitStart(nextStartTime)) {
+                            break;
+                        }
+                        scheduledStartTime = nextStartTime;
+                    }
                     try {
-                        // when the next request should start
-                        long scheduledStartTime = System.nanoTime();
-                        var response = sampler.execute(parameters.next());
+                        var response = sampler.execute(row);
                         // calculate delay from the intended start time
                         var inQueueTime = response.timestamp() - scheduledStartTime;
                         // calculate the service time (actual execution time)
@@ -101,11 +171,17 @@ public final class ClosedWorldStrategy implements ExecutionStrategy {
                         // create a corrected response latency that accounts for coordinated omission
                         // by adding the delay to the latency
                         var correctedLatency = serviceTime + inQueueTime;
-                        measurementControl.request(response.withScheduledStartTime(scheduledStartTime)
+                        journal.response(response.withScheduledStartTime(scheduledStartTime)
                                 .withLatency(correctedLatency));
                         recorder.record(correctedLatency);
+                        if (schedule != null) {
+                            nextStartTime = schedule.nextStart(scheduledStartTime, response.stopTime());
+                        }
                     } catch (Exception e) {
-                        measurementControl.error(e);
+                        journal.error(e);
+                        if (schedule != null) {
+                            nextStartTime = schedule.nextStart(scheduledStartTime, System.nanoTime());
+                        }
                         if (e instanceof InterruptedException || e.getCause() instanceof InterruptedException) {
                             Thread.currentThread().interrupt();
                             break;
@@ -113,6 +189,7 @@ public final class ClosedWorldStrategy implements ExecutionStrategy {
                     }
                 }
             } finally {
+                journal.userExits();
                 measurementControl.userExits();
             }
         }
@@ -120,36 +197,48 @@ public final class ClosedWorldStrategy implements ExecutionStrategy {
 
     private static class MeasurementControl {
 
-        private final AtomicLong counter;
-        private final QueueingSamplerResponsesJournal responsesJournal;
+        private final RequestBudget budget;
+        private final long deadline;
         private final CountDownLatch latch;
 
-        MeasurementControl(long requests, QueueingSamplerResponsesJournal responsesJournal, CountDownLatch latch) {
-            this.counter = new AtomicLong(requests);
-            this.responsesJournal = responsesJournal;
+        MeasurementControl(RequestBudget budget, long deadline, CountDownLatch latch) {
+            this.budget = budget;
+            this.deadline = deadline;
             this.latch = latch;
         }
 
-        boolean isRunning() {
-            return counter.get() > 0;
+        RequestBudget.Lease lease() {
+            return budget.lease();
         }
 
-        public void userEnters() {
-            responsesJournal.userEnters(UserEvent.enter());
+        /**
+         * Returns {@code false} once the deadline passed; the request budget is checked by every
+         * user's own lease.
+         */
+        boolean isRunning() {
+            return deadline == Long.MAX_VALUE || System.nanoTime() - deadline < 0;
         }
 
-        public void request(SamplerResponse<?> response) {
-            counter.decrementAndGet();
-            responsesJournal.response(response);
+        /**
+         * Parks until {@code startTime}, returns {@code false} when the test ends (or the user is
+         * interrupted) before then.
+         */
+        boolean awaitStart(long startTime) {
+            if (deadline != Long.MAX_VALUE && startTime - deadline >= 0) {
+                return false;
+            }
+            long remaining;
+            while ((remaining = startTime - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            }
+            return isRunning();
         }
 
         public void userExits() {
-            responsesJournal.userExits(UserEvent.exit());
             latch.countDown();
         }
-
-        public void error(Exception e) {
-            responsesJournal.error(e);
-        }
     }
 }
@@ -0,0 +1,257 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.EventBatch;
+import io.roadrunner.api.events.MeasurementError;
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.events.UserEvent;
+import io.roadrunner.api.measurments.EventCursor;
+import io.roadrunner.api.measurments.Sample;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Journal thread's reusable, columnar {@link EventBatch}. Chunks drained from the ring buffer are
+ * k-way merged into it by timestamp; chunks are already in order, ties keep the drain order.
+ */
+final class ColumnarEventBatch implements EventBatch {
+
+    private EventCursor.Kind[] kinds;
+    private long[] timestamps;
+    private long[] scheduledStartTimes;
+    private long[] stopTimes;
+    private long[] latencies;
+    private Sample.Status[] statuses;
+    private long[] bytesReceived;
+    private long[] timesToRequestSent;
+    private long[] timesToFirstByte;
+    private Object[] attachments;
+    private int size;
+
+    // merge state, indexes of chunks ordered as a binary min-heap and read positions
+    private int[] heap = new int[0];
+    private int[] positions = new int[0];
+
+    ColumnarEventBatch(int capacity) {
+        allocate(capacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public EventCursor cursor() {
+        return new Cursor();
+    }
+
+    void merge(List<EventChunk> chunks) {
+        var total = 0;
+        for (var chunk : chunks) {
+            total += chunk.size;
+        }
+        if (total > kinds.length) {
+            allocate(Math.max(total, kinds.length * 2));
+        }
+        size = 0;
+        if (chunks.size() == 1) {
+            var chunk = chunks.getFirst();
+            for (int row = 0; row < chunk.size; row++) {
+                copy(chunk, row);
+            }
+            return;
+        }
+
+        var count = chunks.size();
+        if (heap.length < count) {
+            heap = new int[count];
+            positions = new int[count];
+        }
+        var heapSize = 0;
+        for (int c = 0; c < count; c++) {
+            positions[c] = 0;
+            if (chunks.get(c).size > 0) {
+                heap[heapSize++] = c;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(chunks, i, heapSize);
+        }
+        while (heapSize > 0) {
+            var c = heap[0];
+            var chunk = chunks.get(c);
+            copy(chunk, positions[c]++);
+            if (positions[c] == chunk.size) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(chunks, 0, heapSize);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(attachments, 0, size, null);
+        size = 0;
+    }
+
+    private void copy(EventChunk chunk, int row) {
+        kinds[size] = chunk.kinds[row];
+        timestamps[size] = chunk.timestamps[row];
+        scheduledStartTimes[size] = chunk.scheduledStartTimes[row];
+        stopTimes[size] = chunk.stopTimes[row];
+        latencies[size] = chunk.latencies[row];
+        statuses[size] = chunk.statuses[row];
+        bytesReceived[size] = chunk.bytesReceived[row];
+        timesToRequestSent[size] = chunk.timesToRequestSent[row];
+        timesToFirstByte[size] = chunk.timesToFirstByte[row];
+        attachments[size] = chunk.attachments[row];
+        size++;
+    }
+
+    private void siftDown(List<EventChunk> chunks, int i, int heapSize) {
+        while (true) {
+            var smallest = i;
+            var left = 2 * i + 1;
+            var right = left + 1;
+            if (left < heapSize && before(chunks, heap[left], heap[smallest])) {
+                smallest = left;
+            }
+            if (right < heapSize && before(chunks, heap[right], heap[smallest])) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            var swap = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = swap;
+            i = smallest;
+        }
+    }
+
+    private boolean before(List<EventChunk> chunks, int a, int b) {
+        var ta = chunks.get(a).timestamps[positions[a]];
+        var tb = chunks.get(b).timestamps[positions[b]];
+        return ta < tb || (ta == tb && a < b);
+    }
+
+    private void allocate(int capacity) {
+        kinds = new EventCursor.Kind[capacity];
+        timestamps = new long[capacity];
+        scheduledStartTimes = new long[capacity];
+        stopTimes = new long[capacity];
+        latencies = new long[capacity];
+        statuses = new Sample.Status[capacity];
+        bytesReceived = new long[capacity];
+        timesToRequestSent = new long[capacity];
+        timesToFirstByte = new long[capacity];
+        attachments = new Object[capacity];
+    }
+
+    private final class Cursor implements EventCursor {
+        private int row = -1;
+
+        @Override
+        public boolean next() {
+            if (row + 1 < size) {
+                row++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Kind kind() {
+            return kinds[row];
+        }
+
+        @Override
+        public long timestamp() {
+            return timestamps[row];
+        }
+
+        @Override
+        public long scheduledStartTime() {
+            return scheduledStartTimes[row];
+        }
+
+        @Override
+        public long stopTime() {
+            return stopTimes[row];
+        }
+
+        @Override
+        public long latency() {
+            return latencies[row];
+        }
+
+        @Override
+        public Sample.Status status() {
+            return statuses[row];
+        }
+
+        @Override
+        public long bytesReceived() {
+            return bytesReceived[row];
+        }
+
+        @Override
+        public long timeToRequestSent() {
+            return timesToRequestSent[row];
+        }
+
+        @Override
+        public long timeToFirstByte() {
+            return timesToFirstByte[row];
+        }
+
+        @Override
+        public String label() {
+            return kinds[row] == Kind.STAGE ? (String) attachments[row] : null;
+        }
+
+        @Override
+        public Event event() {
+            var timestamp = timestamps[row];
+            return switch (kinds[row]) {
+                case USER_ENTER -> new UserEvent.Enter(timestamp);
+                case USER_EXIT -> new UserEvent.Exit(timestamp);
+                case RESPONSE ->
+                    statuses[row] == Sample.Status.OK
+                            ? new SamplerResponse.Response<>(timestamp, stopTimes[row], attachments[row])
+                                    .withLatency(latencies[row])
+                                    .withScheduledStartTime(scheduledStartTimes[row])
+                                    .withBytesReceived(bytesReceived[row])
+                                    .withTimeToRequestSent(timesToRequestSent[row])
+                                    .withTimeToFirstByte(timesToFirstByte[row])
+                            : new SamplerResponse.Error(timestamp, stopTimes[row], (String) attachments[row])
+                                    .withLatency(latencies[row])
+                                    .withScheduledStartTime(scheduledStartTimes[row])
+                                    .withBytesReceived(bytesReceived[row])
+                                    .withTimeToRequestSent(timesToRequestSent[row])
+                                    .withTimeToFirstByte(timesToFirstByte[row]);
+                case ERROR -> new MeasurementError(timestamp, (Exception) attachments[row]);
+                case STAGE -> new StageEvent(timestamp, (String) attachments[row]);
+            };
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -17,20 +17,29 @@ package io.roadrunner.core.internal;
 
 import io.roadrunner.api.measurments.EventReader;
 import io.roadrunner.api.measurments.Measurements;
+import io.roadrunner.api.measurments.MeasurementsSummary;
+import java.util.Optional;
 
 final class DefaultMeasurements implements Measurements {
     private final EventReader eventReader;
+    private final MeasurementsSummary summary;
 
-    static Measurements from(EventReader eventReader) {
-        return new DefaultMeasurements(eventReader);
+    static Measurements from(EventReader eventReader, MeasurementsSummary summary) {
+        return new DefaultMeasurements(eventReader, summary);
     }
 
-    private DefaultMeasurements(EventReader eventReader) {
+    private DefaultMeasurements(EventReader eventReader, MeasurementsSummary summary) {
         this.eventReader = eventReader;
+        this.summary = summary;
     }
 
     @Override
     public EventReader samplesReader() {
         return eventReader;
     }
+
+    @Override
+    public Optional<MeasurementsSummary> summary() {
+        return Optional.of(summary);
+    }
 }
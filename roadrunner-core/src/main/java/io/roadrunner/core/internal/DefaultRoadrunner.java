@@ -17,15 +17,21 @@ package io.roadrunner.core.internal;
 
 import io.roadrunner.api.Roadrunner;
 import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.EventBatch;
 import io.roadrunner.api.events.EventListener;
 import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.measurments.EventCursor;
 import io.roadrunner.api.measurments.EventReader;
 import io.roadrunner.api.measurments.MeasurementProgress;
 import io.roadrunner.api.measurments.Measurements;
 import io.roadrunner.api.parameters.ParameterSource;
 import io.roadrunner.api.samplers.SamplerProvider;
+import io.roadrunner.core.JournalWaitStrategy;
+import io.roadrunner.core.OutputFormat;
+import io.roadrunner.core.ParameterAccess;
 import io.roadrunner.latency.recording.LatencyRecorders;
 import io.roadrunner.latency.recording.PauseDetectorKind;
+import io.roadrunner.output.binary.BinaryOutputEventListener;
 import io.roadrunner.output.csv.CsvOutputEventListener;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -39,41 +45,73 @@ public class DefaultRoadrunner implements Roadrunner {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRoadrunner.class);
 
+    public static final int DEFAULT_JOURNAL_CAPACITY = QueueingSamplerResponsesJournal.DEFAULT_CAPACITY;
+    public static final int DEFAULT_PARAMETER_PREFETCH = 8192;
+
     private final ExecutionStrategy strategy;
     private final MeasurementProgress measurementProgress;
     private final Path outputDir;
     private final ParameterSource parameterSource;
     private final EnumSet<PauseDetectorKind> pauseDetectorKinds;
+    private final int journalCapacity;
+    private final JournalWaitStrategy journalWaitStrategy;
+    private final OutputFormat outputFormat;
+    private final ParameterAccess parameterAccess;
+    private final long parameterSeed;
+    private final int parameterPrefetch;
 
     public DefaultRoadrunner(
             ExecutionStrategy strategy,
             MeasurementProgress measurementProgress,
             Path outputDir,
             ParameterSource parameterSource,
-            EnumSet<PauseDetectorKind> pauseDetectorKinds) {
+            EnumSet<PauseDetectorKind> pauseDetectorKinds,
+            int journalCapacity,
+            JournalWaitStrategy journalWaitStrategy,
+            OutputFormat outputFormat,
+            ParameterAccess parameterAccess,
+            long parameterSeed,
+            int parameterPrefetch) {
         this.strategy = strategy;
         this.measurementProgress = measurementProgress;
         this.outputDir = outputDir;
         this.parameterSource = parameterSource;
         this.pauseDetectorKinds = pauseDetectorKinds;
+        this.journalCapacity = journalCapacity;
+        this.journalWaitStrategy = journalWaitStrategy;
+        this.outputFormat = outputFormat;
+        this.parameterAccess = parameterAccess;
+        this.parameterSeed = parameterSeed;
+        this.parameterPrefetch = parameterPrefetch;
     }
 
     @Override
     public Measurements execute(SamplerProvider samplerSupplier) {
         LOG.info("Roadrunner started");
-        var csvOutputFile = outputDir.resolve("output.csv");
-        LOG.info("Writing responses to {}", csvOutputFile);
+        var outputFile = outputDir.resolve(outputFormat.fileName());
+        LOG.info("Writing responses to {}", outputFile);
 
+        EventListener outputListener =
+                switch (outputFormat) {
+                    case CSV -> new CsvOutputEventListener(outputFile);
+                    case BINARY -> new BinaryOutputEventListener(outputFile);
+                };
+        // aggregates are maintained on the fly, so reports don't have to read the output back
+        var aggregatingListener = new AggregatingEventListener(outputListener);
         var progressTrackingResponseListener =
-                new ProgressTrackingResponseListener(new CsvOutputEventListener(csvOutputFile), measurementProgress);
-        try (var responsesJournal = new QueueingSamplerResponsesJournal(progressTrackingResponseListener);
+                new ProgressTrackingResponseListener(aggregatingListener, measurementProgress);
+        EventReader eventReader;
+        var dispatchLag = new DispatchLagRecorder();
+        try (var responsesJournal = new QueueingSamplerResponsesJournal(
+                        progressTrackingResponseListener, journalCapacity, journalWaitStrategy);
                 var gcProfiler = new GCProfiler();
-                var latencyRecorder = LatencyRecorders.create(pauseDetectorKinds)) {
-            var parameterFeed = ParameterCarousel.from(parameterSource);
+                var latencyRecorder = LatencyRecorders.create(pauseDetectorKinds);
+                var parameterFeed = ParameterCarousel.from(
+                        parameterSource, parameterAccess, parameterSeed, parameterPrefetch, dispatchLag)) {
             gcProfiler.start();
             responsesJournal.start();
             try {
-                strategy.execute(samplerSupplier, parameterFeed, responsesJournal, latencyRecorder);
+                strategy.execute(samplerSupplier, parameterFeed, responsesJournal, latencyRecorder, dispatchLag);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new RuntimeException(e);
@@ -83,11 +121,18 @@ public class DefaultRoadrunner implements Roadrunner {
                 } catch (IOException e) {
                     LOG.error("failed to write latency snapshot to {}", outputDir, e);
                 }
+                try {
+                    dispatchLag.writeSnapshot(outputDir);
+                } catch (IOException e) {
+                    LOG.error("failed to write dispatch lag snapshot to {}", outputDir, e);
+                }
             }
-            return DefaultMeasurements.from(responsesJournal.measurementsReader());
+            eventReader = responsesJournal.measurementsReader();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
+        // the journal is closed at this point, every event went through the aggregator
+        return DefaultMeasurements.from(eventReader, aggregatingListener.summary());
     }
 
     @Override
@@ -117,6 +162,20 @@ public class DefaultRoadrunner implements Roadrunner {
             measurementProgress.update(currentProcessed);
         }
 
+        @Override
+        public void onEvent(EventBatch batch) {
+            delegate.onEvent(batch);
+            var responses = 0L;
+            try (var cursor = batch.cursor()) {
+                while (cursor.next()) {
+                    if (cursor.kind() == EventCursor.Kind.RESPONSE) {
+                        responses++;
+                    }
+                }
+            }
+            measurementProgress.update(processedRequests.addAndGet(responses));
+        }
+
         @Override
         public void onStop() {
             delegate.onStop();
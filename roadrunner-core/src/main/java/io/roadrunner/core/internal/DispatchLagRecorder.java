@@ -0,0 +1,107 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.shaded.hdrhistogram.Histogram;
+import io.roadrunner.shaded.hdrhistogram.HistogramLogWriter;
+import io.roadrunner.shaded.hdrhistogram.Recorder;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records how late the load generator itself issues users: from the scheduled start time until the
+ * user is submitted, and from the submission until the user's thread starts running. Corrected
+ * latency silently absorbs both, so they are kept apart to tell a slow system under test from a
+ * slow generator.
+ * <p>
+ * Streamed parameter rows that weren't read ahead in time hold users back, too, so how long users
+ * waited for them is kept here as well.
+ * <p>
+ * Written to {@code dispatch-lag.hgrm} next to {@code latency.hgrm}, one interval histogram per
+ * kind of lag, tagged {@value #SUBMISSION_TAG}, {@value #THREAD_START_TAG} and
+ * {@value #PARAMETER_WAIT_TAG}.
+ */
+final class DispatchLagRecorder {
+
+    static final String FILE_NAME = "dispatch-lag.hgrm";
+    static final String SUBMISSION_TAG = "submission";
+    static final String THREAD_START_TAG = "thread-start";
+    static final String PARAMETER_WAIT_TAG = "parameter-wait";
+
+    // merged from the dispatchers' own histograms once they are done
+    private final Histogram submission = new Histogram(3);
+    // recorded concurrently by users' threads
+    private final Recorder threadStart = new Recorder(3);
+    // recorded concurrently by users waiting for streamed parameter rows
+    private final Recorder parameterWait = new Recorder(3);
+
+    /**
+     * Adds a dispatcher's histogram of submission lags, in nanoseconds.
+     */
+    synchronized void addSubmissionLag(Histogram lag) {
+        submission.add(lag);
+    }
+
+    /**
+     * Records how long a submitted user waited for its thread. Thread-safe and wait-free.
+     */
+    void recordThreadStart(long submittedAt, long startedAt) {
+        threadStart.recordValue(Math.max(0, startedAt - submittedAt));
+    }
+
+    /**
+     * Records how long a user waited for the next streamed parameter row. Thread-safe and
+     * wait-free.
+     */
+    void recordParameterWait(long waitedNanos) {
+        parameterWait.recordValue(Math.max(0, waitedNanos));
+    }
+
+    /**
+     * Writes {@value #FILE_NAME} into {@code outputDir}, unless nothing was recorded (the load model
+     * has no schedule to lag behind and no user waited for parameter rows); then the file of an
+     * earlier run into the same directory is removed, so reports don't mistake it for this run's.
+     */
+    synchronized void writeSnapshot(Path outputDir) throws IOException {
+        var threadStartLag = threadStart.getIntervalHistogram();
+        var parameterWaits = parameterWait.getIntervalHistogram();
+        if (submission.getTotalCount() == 0
+                && threadStartLag.getTotalCount() == 0
+                && parameterWaits.getTotalCount() == 0) {
+            Files.deleteIfExists(outputDir.resolve(FILE_NAME));
+            return;
+        }
+        Files.createDirectories(outputDir);
+        try (var out = new PrintStream(Files.newOutputStream(outputDir.resolve(FILE_NAME)))) {
+            var writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(System.currentTimeMillis());
+            writer.outputLegend();
+            var submissionLag = submission.copy();
+            submissionLag.setTag(SUBMISSION_TAG);
+            writer.outputIntervalHistogram(submissionLag);
+            threadStartLag.setTag(THREAD_START_TAG);
+            writer.outputIntervalHistogram(threadStartLag);
+            // only streamed parameters are waited for, and then hopefully never
+            if (parameterWaits.getTotalCount() > 0) {
+                parameterWaits.setTag(PARAMETER_WAIT_TAG);
+                writer.outputIntervalHistogram(parameterWaits);
+            }
+        }
+    }
+}
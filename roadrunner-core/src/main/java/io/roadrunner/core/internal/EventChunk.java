@@ -0,0 +1,98 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.measurments.EventCursor.Kind;
+import io.roadrunner.api.measurments.Sample;
+import io.roadrunner.api.samplers.BodyRetention;
+import java.util.Arrays;
+
+/**
+ * Events of a single user in columnar form, in the order they were written. Chunks are pooled:
+ * a user fills one, the journal thread merges it into a batch and hands it back to the
+ * {@link ChunkPool}, so journaling doesn't allocate an event object per request.
+ */
+final class EventChunk {
+
+    final Kind[] kinds;
+    final long[] timestamps;
+    final long[] scheduledStartTimes;
+    final long[] stopTimes;
+    final long[] latencies;
+    final Sample.Status[] statuses;
+    final long[] bytesReceived;
+    final long[] timesToRequestSent;
+    final long[] timesToFirstByte;
+    // response body, error message, exception or stage label, depending on the kind
+    final Object[] attachments;
+    int size;
+
+    EventChunk(int capacity) {
+        kinds = new Kind[capacity];
+        timestamps = new long[capacity];
+        scheduledStartTimes = new long[capacity];
+        stopTimes = new long[capacity];
+        latencies = new long[capacity];
+        statuses = new Sample.Status[capacity];
+        bytesReceived = new long[capacity];
+        timesToRequestSent = new long[capacity];
+        timesToFirstByte = new long[capacity];
+        attachments = new Object[capacity];
+    }
+
+    int capacity() {
+        return kinds.length;
+    }
+
+    boolean isFull() {
+        return size == kinds.length;
+    }
+
+    void add(Kind kind, long timestamp, Object attachment) {
+        kinds[size] = kind;
+        timestamps[size] = timestamp;
+        attachments[size] = attachment;
+        size++;
+    }
+
+    void add(SamplerResponse<?> response, BodyRetention bodyRetention) {
+        scheduledStartTimes[size] = response.scheduledStartTime();
+        stopTimes[size] = response.stopTime();
+        latencies[size] = response.latency();
+        bytesReceived[size] = response.bytesReceived();
+        timesToRequestSent[size] = response.timeToRequestSent();
+        timesToFirstByte[size] = response.timeToFirstByte();
+        Object attachment;
+        switch (response) {
+            case SamplerResponse.Response<?> r -> {
+                statuses[size] = Sample.Status.OK;
+                attachment = bodyRetention.retain(r.body());
+            }
+            case SamplerResponse.Error e -> {
+                statuses[size] = Sample.Status.KO;
+                attachment = e.message();
+            }
+        }
+        add(Kind.RESPONSE, response.timestamp(), attachment);
+    }
+
+    void clear() {
+        // let go of bodies and exceptions before the chunk goes back to the pool
+        Arrays.fill(attachments, 0, size, null);
+        size = 0;
+    }
+}
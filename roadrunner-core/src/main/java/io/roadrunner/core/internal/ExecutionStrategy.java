@@ -24,11 +24,14 @@ public interface ExecutionStrategy {
      * Implementations are responsible for spawning virtual threads,
      * recording UserEvent.Enter/Exit, submitting Sampler.execute() calls,
      * computing corrected latency, and blocking until the test is complete.
+     * Load models that schedule users record how late they issue them into
+     * {@code dispatchLag}.
      */
     void execute(
             SamplerProvider samplerProvider,
             ParameterCarousel parameterFeed,
             QueueingSamplerResponsesJournal journal,
-            LatencyRecorder recorder)
+            LatencyRecorder recorder,
+            DispatchLagRecorder dispatchLag)
             throws InterruptedException;
 }
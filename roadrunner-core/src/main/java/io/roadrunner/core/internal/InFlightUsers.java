@@ -0,0 +1,80 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import java.util.concurrent.Phaser;
+
+/**
+ * Tracks users in flight and lets the arrival loop wait until every one of them has left.
+ * <p>
+ * A single {@link Phaser} supports at most 65535 registered parties, so users are spread over a
+ * tree of tiered phasers: users register with leaf phasers, leaves with group phasers and groups
+ * with the root. A child phaser registers with its parent while it has parties and deregisters
+ * once its last party leaves, so the root advances exactly when all users are gone. Every phaser
+ * gets at most {@link #MAX_PARTIES} registrations over its whole life, which keeps each of them
+ * under the limit no matter how many users are in flight.
+ * <p>
+ * The arrival loop holds a party of the leaf users enter, so that leaf never runs out of parties
+ * while users register with it: registering with a child phaser whose last party is just leaving
+ * waits for the root to advance, which it doesn't until the arrival loop is done.
+ */
+final class InFlightUsers {
+
+    // comfortably below the Phaser limit of 65535 parties
+    static final int MAX_PARTIES = 1 << 15;
+
+    // the arrival loop is the root's own party, and the current leaf's, until it calls awaitAllLeft
+    private final Phaser root = new Phaser(1);
+    private Phaser group;
+    private int groupLeaves;
+    private Phaser leaf;
+    private int leafUsers;
+
+    /**
+     * Registers an arriving user, who must {@link Phaser#arriveAndDeregister()} on the returned
+     * phaser when leaving. Arrival thread only.
+     */
+    Phaser enter() {
+        if (leaf == null || leafUsers == MAX_PARTIES) {
+            if (group == null || groupLeaves == MAX_PARTIES) {
+                group = new Phaser(root);
+                groupLeaves = 0;
+            }
+            var previous = leaf;
+            leaf = new Phaser(group, 1);
+            groupLeaves++;
+            leafUsers = 0;
+            if (previous != null) {
+                previous.arriveAndDeregister();
+            }
+        }
+        leaf.register();
+        leafUsers++;
+        return leaf;
+    }
+
+    /**
+     * Waits until every registered user has left. Arrival thread only, after the last
+     * {@link #enter()}.
+     */
+    void awaitAllLeft() {
+        if (leaf != null) {
+            leaf.arriveAndDeregister();
+        }
+        int phase = root.arriveAndDeregister();
+        root.awaitAdvance(phase);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.measurments.EventCursor.Kind;
+import io.roadrunner.api.samplers.BodyRetention;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User-local front of the {@link QueueingSamplerResponsesJournal}. Events are written as primitives
+ * into a pooled {@link EventChunk} and handed over to the journal thread in one go, so the shared
+ * ring buffer is touched once per chunk rather than once per event, and no event objects are
+ * allocated on the way.
+ * <p>
+ * A chunk is handed over when it is full, when it spans more than {@link #MAX_CHUNK_SPAN_NANOS}
+ * of event time (so slow users don't hold back progress reporting), when the user is about to
+ * wait past that span and when the user exits. Only the user's thread can touch its chunk, so
+ * expiry is checked on those occasions alone: an event reaches the journal thread at most
+ * {@link #MAX_CHUNK_SPAN_NANOS} plus the duration of one request after it was written.
+ * Not thread-safe, every user owns its writer.
+ */
+final class JournalWriter {
+
+    static final int CHUNK_SIZE = 64;
+    // a single open-world arrival enters, responds and exits
+    static final int SHORT_LIVED_CHUNK_SIZE = 4;
+    static final long MAX_CHUNK_SPAN_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final QueueingSamplerResponsesJournal journal;
+    private final BodyRetention bodyRetention;
+    private final int chunkSize;
+    private EventChunk chunk;
+
+    JournalWriter(QueueingSamplerResponsesJournal journal, BodyRetention bodyRetention, int chunkSize) {
+        this.journal = journal;
+        this.bodyRetention = bodyRetention;
+        this.chunkSize = chunkSize;
+    }
+
+    void userEnters() {
+        current().add(Kind.USER_ENTER, System.nanoTime(), null);
+        written();
+    }
+
+    void response(SamplerResponse<?> response) {
+        current().add(response, bodyRetention);
+        written();
+    }
+
+    void error(Exception e) {
+        current().add(Kind.ERROR, System.nanoTime(), e);
+        written();
+    }
+
+    /**
+     * Marks the start of a load profile stage, handed over right away.
+     */
+    void stage(String label) {
+        stage(label, System.nanoTime());
+    }
+
+    /**
+     * Marks the start of a stage at {@code timestamp}, possibly in the future, handed over right
+     * away.
+     */
+    void stage(String label, long timestamp) {
+        current().add(Kind.STAGE, timestamp, label);
+        flush();
+    }
+
+    /**
+     * Called before the user waits until {@code time}: hands buffered events over when they would
+     * otherwise be held past their span.
+     */
+    void idleUntil(long time) {
+        if (chunk != null && chunk.size > 0 && time - chunk.timestamps[0] >= MAX_CHUNK_SPAN_NANOS) {
+            flush();
+        }
+    }
+
+    void userExits() {
+        current().add(Kind.USER_EXIT, System.nanoTime(), null);
+        flush();
+    }
+
+    /**
+     * Hands buffered events over to the journal thread.
+     */
+    void flush() {
+        if (chunk != null && chunk.size > 0) {
+            journal.publish(chunk);
+            // the chunk now belongs to the journal thread, next event starts a fresh one
+            chunk = null;
+        }
+    }
+
+    private EventChunk current() {
+        if (chunk == null) {
+            chunk = journal.acquireChunk(chunkSize);
+        }
+        return chunk;
+    }
+
+    private void written() {
+        if (chunk.isFull() || chunk.timestamps[chunk.size - 1] - chunk.timestamps[0] >= MAX_CHUNK_SPAN_NANOS) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.latency.LatencyRecorder;
+import io.roadrunner.api.samplers.BodyRetention;
+import io.roadrunner.api.samplers.SamplerProvider;
+import io.roadrunner.core.ArrivalProcess;
+import io.roadrunner.core.ArrivalTiming;
+import io.roadrunner.core.LoadProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the stages of a {@link LoadProfile} one after another: rate stages with the open-world
+ * model, users stages with the closed-world one. Every stage starts with a stage event in the
+ * journal, and ends only once its users have left.
+ */
+public final class LoadProfileStrategy implements ExecutionStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadProfileStrategy.class);
+
+    private final LoadProfile profile;
+
+    public static LoadProfileStrategy of(LoadProfile profile) {
+        return new LoadProfileStrategy(profile);
+    }
+
+    private LoadProfileStrategy(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public void execute(
+            SamplerProvider samplerProvider,
+            ParameterCarousel parameterFeed,
+            QueueingSamplerResponsesJournal journal,
+            LatencyRecorder recorder,
+            DispatchLagRecorder dispatchLag)
+            throws InterruptedException {
+        for (var stage : profile.stages()) {
+            LOG.info("Roadrunner stage '{}' started: {}", stage.label(), stage);
+            journal.newShortLivedWriter(BodyRetention.NONE).stage(stage.label());
+            strategy(stage).execute(samplerProvider, parameterFeed, journal, recorder, dispatchLag);
+            parameterFeed.nextStage();
+        }
+    }
+
+    private static ExecutionStrategy strategy(LoadProfile.Stage stage) {
+        return switch (stage) {
+            case LoadProfile.RateStage rate ->
+                OpenWorldStrategy.of(
+                        Math.max(rate.fromRate(), rate.toRate()),
+                        rate.duration(),
+                        1,
+                        ArrivalTiming.PARK,
+                        ArrivalProcess.linearRamp(rate.fromRate(), rate.toRate(), rate.duration()));
+            case LoadProfile.UsersStage users -> ClosedWorldStrategy.forDuration(users.users(), users.duration());
+        };
+    }
+}
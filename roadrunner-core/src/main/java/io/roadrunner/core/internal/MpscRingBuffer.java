@@ -0,0 +1,114 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, preallocated multi-producer/single-consumer ring buffer (Vyukov-style sequenced slots).
+ * <p>
+ * Every slot carries a sequence number: a producer claims a slot by CAS-ing the shared tail, writes
+ * the element and publishes it with a release store of the slot's sequence; the consumer reads the
+ * element once the sequence says it is published and hands the slot back by advancing the sequence
+ * one lap ahead. No locks, no per-element allocation, and the only contended word is the tail.
+ * <p>
+ * {@link #offer(Object)} never blocks — it returns {@code false} when the buffer is full and leaves
+ * back-off to the caller. {@link #drainTo(Collection, int)} must only be called from the single
+ * consumer thread.
+ */
+final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // consumer-owned, never touched by producers
+    private long head;
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException(
+                    "capacity must be a power of two greater than one: %d".formatted(capacity));
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Publishes the element, or returns {@code false} when all slots are taken. Thread-safe.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the slot still holds an element from the previous lap, consumer hasn't caught up
+                return false;
+            } else {
+                // another producer claimed this position in the meantime
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code limit} published elements into {@code sink}, in publication order, and
+     * returns how many were moved. Consumer thread only.
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(Collection<? super E> sink, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            sink.add((E) elements[index]);
+            elements[index] = null;
+            sequences.lazySet(index, head + capacity);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns {@code true} when no published element is waiting. Consumer thread only.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+}
@@ -15,38 +15,87 @@
  */
 package io.roadrunner.core.internal;
 
-import io.roadrunner.api.events.UserEvent;
+import io.roadrunner.api.events.SamplerResponse;
 import io.roadrunner.api.latency.LatencyRecorder;
+import io.roadrunner.api.parameters.SamplerParameters;
+import io.roadrunner.api.samplers.AsyncSampler;
+import io.roadrunner.api.samplers.AsyncSamplerProvider;
 import io.roadrunner.api.samplers.Sampler;
 import io.roadrunner.api.samplers.SamplerProvider;
+import io.roadrunner.core.ArrivalProcess;
+import io.roadrunner.core.ArrivalTiming;
+import io.roadrunner.shaded.hdrhistogram.Histogram;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Open-world model: users arrive at a fixed rate regardless of how fast earlier ones are served.
+ * Arrivals follow an {@link ArrivalProcess}, periodic unless configured otherwise.
+ * Every arrival runs on its own virtual thread, unless the sampler provider is an
+ * {@link AsyncSamplerProvider}; then the arrival loop only starts the request and the response is
+ * journaled from its completion, so requests in flight don't hold a thread each.
+ * <p>
+ * The arrivals can be split across several dispatcher threads, each issuing its own share of
+ * them, so a single thread's dispatch cost doesn't cap the achievable rate. When a dispatcher
+ * fails the others stop, and the failure is rethrown once all of them have.
+ */
 public final class OpenWorldStrategy implements ExecutionStrategy {
 
     private static final Logger LOG = LoggerFactory.getLogger(OpenWorldStrategy.class);
 
+    // how long before an arrival a spinning dispatcher stops parking, covers typical timer slack
+    private static final long SPIN_WINDOW_NANOS = 100_000L;
+
     private final int usersArrivalRate;
     private final Duration testDuration;
+    private final int dispatchers;
+    private final ArrivalTiming arrivalTiming;
+    private final ArrivalProcess arrivalProcess;
 
     public static OpenWorldStrategy of(int usersArrivalRate, Duration testDuration) {
+        return of(usersArrivalRate, testDuration, 1, ArrivalTiming.PARK, ArrivalProcess.periodic());
+    }
+
+    public static OpenWorldStrategy of(
+            int usersArrivalRate,
+            Duration testDuration,
+            int dispatchers,
+            ArrivalTiming arrivalTiming,
+            ArrivalProcess arrivalProcess) {
         if (usersArrivalRate <= 0) {
             throw new IllegalArgumentException("usersArrivalRate must be positive: %d".formatted(usersArrivalRate));
         }
         if (testDuration.isNegative() || testDuration.isZero()) {
             throw new IllegalArgumentException("testDuration must be positive: %s".formatted(testDuration));
         }
-        return new OpenWorldStrategy(usersArrivalRate, testDuration);
+        if (dispatchers <= 0) {
+            throw new IllegalArgumentException("dispatchers must be positive: %d".formatted(dispatchers));
+        }
+        return new OpenWorldStrategy(usersArrivalRate, testDuration, dispatchers, arrivalTiming, arrivalProcess);
     }
 
-    private OpenWorldStrategy(int usersArrivalRate, Duration testDuration) {
+    private OpenWorldStrategy(
+            int usersArrivalRate,
+            Duration testDuration,
+            int dispatchers,
+            ArrivalTiming arrivalTiming,
+            ArrivalProcess arrivalProcess) {
         this.usersArrivalRate = usersArrivalRate;
         this.testDuration = testDuration;
+        this.dispatchers = dispatchers;
+        this.arrivalTiming = arrivalTiming;
+        this.arrivalProcess = arrivalProcess;
     }
 
     @Override
@@ -54,103 +103,345 @@ public final class OpenWorldStrategy implements ExecutionStrategy {
             SamplerProvider samplerSupplier,
             ParameterCarousel parameterFeed,
             QueueingSamplerResponsesJournal journal,
-            LatencyRecorder recorder)
+            LatencyRecorder recorder,
+            DispatchLagRecorder dispatchLag)
             throws InterruptedException {
-        long intervalNanos = 1_000_000_000L / usersArrivalRate;
-        if (intervalNanos <= 0) {
-            throw new IllegalArgumentException("usersArrivalRate is too high, request interval is zero");
-        }
-        long durationNanos = testDuration.toNanos();
-
-        LOG.info("Roadrunner open-world started: {} users/sec, duration {}", usersArrivalRate, testDuration);
+        LOG.info(
+                "Roadrunner open-world started: {} users/sec, duration {}, {} dispatcher(s), {} arrival timing",
+                usersArrivalRate,
+                testDuration,
+                dispatchers,
+                arrivalTiming);
 
         var requestsExecutor = Executors.newThreadPerTaskExecutor(
                 Thread.ofVirtual().name("roadrunner-users-").factory());
+        // one thread-safe sampler serves all asynchronous arrivals
+        var asyncSampler =
+                samplerSupplier instanceof AsyncSamplerProvider asyncProvider ? asyncProvider.newAsyncSampler() : null;
 
-        // Phaser tracks in-flight users; registered parties = concurrent users in the system.
-        // Phaser supports at most 65535 simultaneous parties, which bounds max concurrency, not
-        // total request count.
-        var phaser = new Phaser(1);
-
+        var dispatcherThreads = new Thread[dispatchers - 1];
+        var failure = new DispatchFailure(dispatcherThreads);
+        var slices = new ArrivalSlice[dispatchers];
         var startNanos = System.nanoTime();
-        var deadlineNanos = startNanos + durationNanos;
-        // Track the next arrival as an absolute nanos value to avoid drift accumulation
-        var nextScheduledStartTime = startNanos;
-
+        for (int i = 0; i < dispatchers; i++) {
+            slices[i] = new ArrivalSlice(
+                    i,
+                    arrivalProcess.arrivals(usersArrivalRate, i, dispatchers),
+                    startNanos,
+                    samplerSupplier,
+                    asyncSampler,
+                    parameterFeed.cursor(i, dispatchers),
+                    journal,
+                    recorder,
+                    dispatchLag,
+                    failure);
+        }
         try {
-            while (true) {
-                nextScheduledStartTime += intervalNanos;
-                if (nextScheduledStartTime >= deadlineNanos) {
-                    break;
-                }
-                var now = System.nanoTime();
-                var waitNanos = nextScheduledStartTime - now;
-                while (waitNanos > 0) {
-                    LockSupport.parkNanos(waitNanos);
-                    // handle possible spurious wake-ups
-                    waitNanos = nextScheduledStartTime - System.nanoTime();
-                }
-                var scheduledStartTime = nextScheduledStartTime;
-                phaser.register();
-                requestsExecutor.submit(new RoadrunnerUser(
-                        journal, samplerSupplier.newSampler(), scheduledStartTime, phaser, parameterFeed, recorder));
+            // the calling thread dispatches the first slice, platform threads the rest
+            for (int i = 1; i < dispatchers; i++) {
+                var slice = slices[i];
+                dispatcherThreads[i - 1] = Thread.ofPlatform()
+                        .name("roadrunner-dispatcher-" + i)
+                        .start(() -> slice.dispatch(requestsExecutor));
             }
+            slices[0].dispatch(requestsExecutor);
         } finally {
-            // Deregister the main party; when the last in-flight user also deregisters, the phaser
-            // terminates and awaitAdvance returns, giving us a precise "all users have left"
-            // barrier without an arbitrary timeout.
-            int phase = phaser.arriveAndDeregister();
-            phaser.awaitAdvance(phase);
+            for (var dispatcherThread : dispatcherThreads) {
+                if (dispatcherThread != null) {
+                    dispatcherThread.join();
+                }
+            }
             requestsExecutor.shutdown();
             requestsExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            if (asyncSampler != null) {
+                closeQuietly(asyncSampler);
+            }
         }
 
+        for (var slice : slices) {
+            slice.logDispatchLag();
+            dispatchLag.addSubmissionLag(slice.submissionLag);
+        }
+        failure.rethrow();
         LOG.info("Roadrunner open-world stopped");
     }
 
-    private static class RoadrunnerUser implements Runnable {
+    /**
+     * The first failure of any dispatcher. Recording it stops the other dispatchers: each checks it
+     * before every arrival, and those waiting for their next arrival are woken up.
+     */
+    private static final class DispatchFailure {
+        private final AtomicReference<Throwable> first = new AtomicReference<>();
+        private final Thread caller = Thread.currentThread();
+        private final Thread[] dispatcherThreads;
+
+        DispatchFailure(Thread[] dispatcherThreads) {
+            this.dispatcherThreads = dispatcherThreads;
+        }
+
+        boolean isSet() {
+            return first.get() != null;
+        }
+
+        void record(Throwable failure) {
+            if (!first.compareAndSet(null, failure)) {
+                first.get().addSuppressed(failure);
+                return;
+            }
+            LOG.error(
+                    "arrivals dispatcher {} failed, stopping the others",
+                    Thread.currentThread().getName(),
+                    failure);
+            for (var dispatcherThread : dispatcherThreads) {
+                if (dispatcherThread != null && dispatcherThread != Thread.currentThread()) {
+                    dispatcherThread.interrupt();
+                }
+            }
+            // the calling thread dispatches too, but its interrupt status isn't ours to set
+            LockSupport.unpark(caller);
+        }
+
+        void rethrow() {
+            switch (first.get()) {
+                case null -> {}
+                case RuntimeException e -> throw e;
+                case Error e -> throw e;
+                case Throwable e -> throw new IllegalStateException("arrivals dispatcher failed", e);
+            }
+        }
+    }
+
+    /**
+     * The arrivals owned by one dispatcher. Each slice tracks its own users in flight and its own
+     * submission lag, and draws parameters from its own cursor, so dispatchers share nothing but the
+     * journal and the thread start lag.
+     */
+    private final class ArrivalSlice {
+        private final int index;
+        private final ArrivalProcess.Arrivals arrivals;
+        private final long startNanos;
+        private final SamplerProvider samplerSupplier;
+        private final AsyncSampler asyncSampler;
+        private final ParameterCarousel.Cursor parameters;
         private final QueueingSamplerResponsesJournal journal;
+        private final LatencyRecorder recorder;
+        private final DispatchLagRecorder dispatchLag;
+        private final DispatchFailure failure;
+        // tiered phasers track in-flight users, with no practical bound on concurrency
+        private final InFlightUsers inFlightUsers = new InFlightUsers();
+        // how late arrivals were submitted, in nanoseconds
+        private final Histogram submissionLag = new Histogram(3);
+
+        ArrivalSlice(
+                int index,
+                ArrivalProcess.Arrivals arrivals,
+                long startNanos,
+                SamplerProvider samplerSupplier,
+                AsyncSampler asyncSampler,
+                ParameterCarousel.Cursor parameters,
+                QueueingSamplerResponsesJournal journal,
+                LatencyRecorder recorder,
+                DispatchLagRecorder dispatchLag,
+                DispatchFailure failure) {
+            this.index = index;
+            this.arrivals = arrivals;
+            this.startNanos = startNanos;
+            this.samplerSupplier = samplerSupplier;
+            this.asyncSampler = asyncSampler;
+            this.parameters = parameters;
+            this.journal = journal;
+            this.recorder = recorder;
+            this.dispatchLag = dispatchLag;
+            this.failure = failure;
+        }
+
+        void dispatch(ExecutorService requestsExecutor) {
+            try {
+                dispatchArrivals(requestsExecutor);
+            } catch (Throwable e) {
+                failure.record(e);
+            } finally {
+                // a precise "all users have left" barrier without an arbitrary timeout
+                inFlightUsers.awaitAllLeft();
+            }
+        }
+
+        private void dispatchArrivals(ExecutorService requestsExecutor) {
+            var durationNanos = testDuration.toNanos();
+            while (!failure.isSet()) {
+                var offset = arrivals.next();
+                if (offset >= durationNanos) {
+                    break;
+                }
+                var row = parameters.next();
+                if (row == null) {
+                    // every row was used once
+                    break;
+                }
+                var scheduledStartTime = startNanos + offset;
+                if (!awaitArrival(scheduledStartTime)) {
+                    break;
+                }
+                var writer = journal.newShortLivedWriter(samplerSupplier.bodyRetention());
+                var sampler = asyncSampler == null ? samplerSupplier.newSampler() : null;
+                var phaser = inFlightUsers.enter();
+                var submittedAt = System.nanoTime();
+                submissionLag.recordValue(Math.max(0, submittedAt - scheduledStartTime));
+                try {
+                    if (asyncSampler != null) {
+                        new AsyncRoadrunnerUser(writer, scheduledStartTime, phaser, recorder).start(asyncSampler, row);
+                    } else {
+                        requestsExecutor.submit(new RoadrunnerUser(
+                                writer, sampler, scheduledStartTime, submittedAt, phaser, row, recorder, dispatchLag));
+                    }
+                } catch (RuntimeException e) {
+                    // the user never ran, it mustn't hold back the in-flight barrier
+                    phaser.arriveAndDeregister();
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Waits for the arrival, returns {@code false} when another dispatcher failed or this one
+         * was interrupted in the meantime.
+         */
+        private boolean awaitArrival(long scheduledStartTime) {
+            var parkUntil = arrivalTiming == ArrivalTiming.SPIN_THEN_PARK
+                    ? scheduledStartTime - SPIN_WINDOW_NANOS
+                    : scheduledStartTime;
+            var waitNanos = parkUntil - System.nanoTime();
+            while (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+                if (failure.isSet() || Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                // handle possible spurious wake-ups
+                waitNanos = parkUntil - System.nanoTime();
+            }
+            while (System.nanoTime() < scheduledStartTime) {
+                Thread.onSpinWait();
+            }
+            return !failure.isSet();
+        }
+
+        void logDispatchLag() {
+            LOG.info(
+                    "Dispatcher {}: {} arrivals, submission lag p50 {} µs, p99 {} µs, max {} µs",
+                    index,
+                    submissionLag.getTotalCount(),
+                    submissionLag.getValueAtPercentile(50) / 1_000,
+                    submissionLag.getValueAtPercentile(99) / 1_000,
+                    submissionLag.getMaxValue() / 1_000);
+        }
+    }
+
+    private static class RoadrunnerUser implements Runnable {
+        private final JournalWriter journal;
         private final Sampler sampler;
         private final long scheduledStartTime;
+        private final long submittedAt;
         private final Phaser phaser;
-        private final ParameterCarousel parameters;
+        private final SamplerParameters parameters;
         private final LatencyRecorder recorder;
+        private final DispatchLagRecorder dispatchLag;
 
         public RoadrunnerUser(
-                QueueingSamplerResponsesJournal journal,
+                JournalWriter journal,
                 Sampler sampler,
                 long scheduledStartTime,
+                long submittedAt,
                 Phaser phaser,
-                ParameterCarousel parameters,
-                LatencyRecorder recorder) {
+                SamplerParameters parameters,
+                LatencyRecorder recorder,
+                DispatchLagRecorder dispatchLag) {
             this.journal = journal;
             this.sampler = sampler;
             this.scheduledStartTime = scheduledStartTime;
+            this.submittedAt = submittedAt;
             this.phaser = phaser;
             this.parameters = parameters;
             this.recorder = recorder;
+            this.dispatchLag = dispatchLag;
         }
 
         @Override
         public void run() {
+            dispatchLag.recordThreadStart(submittedAt, System.nanoTime());
             try {
-                journal.userEnters(UserEvent.enter());
-                var response = sampler.execute(parameters.next());
-                var inQueueTime = response.timestamp() - scheduledStartTime;
-                var serviceTime = response.stopTime() - response.timestamp();
-                var correctedLatency = serviceTime + inQueueTime;
-                journal.response(
-                        response.withScheduledStartTime(scheduledStartTime).withLatency(correctedLatency));
-                recorder.record(correctedLatency);
+                journal.userEnters();
+                var response = sampler.execute(parameters);
+                record(journal, response, scheduledStartTime, recorder);
             } catch (Exception e) {
                 journal.error(e);
                 if (e instanceof InterruptedException || e.getCause() instanceof InterruptedException) {
                     Thread.currentThread().interrupt();
                 }
             } finally {
-                journal.userExits(UserEvent.exit());
+                journal.userExits();
+                phaser.arriveAndDeregister();
+            }
+        }
+    }
+
+    /**
+     * Arrival served by an {@link AsyncSampler}: enters on the arrival thread and is journaled and
+     * leaves from whichever thread completes the response.
+     */
+    private static final class AsyncRoadrunnerUser implements BiConsumer<SamplerResponse<?>, Throwable> {
+        private final JournalWriter journal;
+        private final long scheduledStartTime;
+        private final Phaser phaser;
+        private final LatencyRecorder recorder;
+
+        AsyncRoadrunnerUser(JournalWriter journal, long scheduledStartTime, Phaser phaser, LatencyRecorder recorder) {
+            this.journal = journal;
+            this.scheduledStartTime = scheduledStartTime;
+            this.phaser = phaser;
+            this.recorder = recorder;
+        }
+
+        void start(AsyncSampler sampler, SamplerParameters parameters) {
+            journal.userEnters();
+            CompletionStage<SamplerResponse<?>> response;
+            try {
+                response = sampler.executeAsync(parameters);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedStage(e);
+            }
+            response.whenComplete(this);
+        }
+
+        @Override
+        public void accept(SamplerResponse<?> response, Throwable failure) {
+            try {
+                if (failure == null) {
+                    record(journal, response, scheduledStartTime, recorder);
+                } else {
+                    var cause = AsyncSampler.causeOf(failure);
+                    journal.error(cause instanceof Exception e ? e : new ExecutionException(cause));
+                }
+            } finally {
+                journal.userExits();
                 phaser.arriveAndDeregister();
             }
         }
     }
+
+    private static void record(
+            JournalWriter journal, SamplerResponse<?> response, long scheduledStartTime, LatencyRecorder recorder) {
+        var inQueueTime = response.timestamp() - scheduledStartTime;
+        var serviceTime = response.stopTime() - response.timestamp();
+        var correctedLatency = serviceTime + inQueueTime;
+        journal.response(response.withScheduledStartTime(scheduledStartTime).withLatency(correctedLatency));
+        recorder.record(correctedLatency);
+    }
+
+    private static void closeQuietly(AsyncSampler sampler) {
+        try {
+            sampler.close();
+        } catch (Exception e) {
+            LOG.warn("cannot close async sampler", e);
+        }
+    }
 }
@@ -17,61 +17,263 @@ package io.roadrunner.core.internal;
 
 import io.roadrunner.api.parameters.ParameterFeed;
 import io.roadrunner.api.parameters.ParameterSource;
+import io.roadrunner.api.parameters.ParameterTable;
 import io.roadrunner.api.parameters.SamplerParameters;
-import java.util.concurrent.atomic.AtomicLong;
+import io.roadrunner.core.ParameterAccess;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Engine-internal parameter dispatcher. Holds the preloaded parameter rows in a flat array and
- * cycles through them round-robin via a shared atomic counter — sampler threads grab the next row
- * as it rotates past. Calls to {@link #next()} are thread-safe, allocation-free, and lock-free
- * (not contention-free under high concurrency — see issue #138).
+ * Engine-internal parameter dispatcher. Holds the preloaded parameter rows in a flat array, or the
+ * {@link ParameterTable} the source returned, and hands them out through {@link Cursor}s, one per
+ * user or dispatcher, walking the rows as the {@link ParameterAccess} says. Cursors keep their
+ * position to themselves, so drawing a row is allocation-free and, apart from
+ * {@link ParameterAccess#SEQUENTIAL_ONCE} claiming a block of rows now and then, touches no shared
+ * state.
  * <p>
  * Not part of the public {@link ParameterFeed} SPI on purpose: implementors of
  * {@link ParameterSource} return a finite, single-threaded {@code ParameterFeed} from
  * {@link ParameterSource#load()}; this class is the engine's own data structure for re-publishing
  * those rows to many virtual threads.
  */
-final class ParameterCarousel {
+final class ParameterCarousel implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(ParameterCarousel.class);
 
+    static final int SEQUENTIAL_BLOCK = 64;
+
     /**
      * Drains the user-supplied {@link ParameterSource} once, copies its rows into a flat array,
-     * and closes both the feed and the source. The resulting {@code ParameterCarousel} is the
-     * only object the execution loop interacts with for the rest of the run.
+     * and closes both the feed and the source. A {@link ParameterTable} isn't copied, the carousel
+     * views its rows in place and closes it, and the source, in {@link #close()}. With
+     * {@link ParameterAccess#STREAMING} access, the feed is read ahead into a buffer of
+     * {@code prefetch} rows while the run goes on, see {@link ParameterPrefetcher}. The resulting
+     * {@code ParameterCarousel} is the only object the execution loop interacts with for the rest
+     * of the run.
      */
-    static ParameterCarousel from(ParameterSource parameterSource) throws Exception {
-        LOG.info("Pre-loading parameters from {} source", parameterSource);
+    static ParameterCarousel from(
+            ParameterSource parameterSource,
+            ParameterAccess access,
+            long seed,
+            int prefetch,
+            DispatchLagRecorder dispatchLag)
+            throws Exception {
+        LOG.info(
+                access == ParameterAccess.STREAMING
+                        ? "Streaming parameters from {} source"
+                        : "Pre-loading parameters from {} source",
+                parameterSource);
+        ParameterFeed loaded;
+        try {
+            loaded = parameterSource.load();
+        } catch (Exception e) {
+            try {
+                parameterSource.close();
+            } catch (Exception suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        if (access == ParameterAccess.STREAMING) {
+            try {
+                return new ParameterCarousel(ParameterPrefetcher.start(parameterSource, loaded, prefetch, dispatchLag));
+            } catch (InterruptedException e) {
+                try (parameterSource;
+                        loaded) {
+                    throw e;
+                }
+            }
+        }
+        if (loaded instanceof ParameterTable table) {
+            if (table.size() == 0) {
+                try (parameterSource;
+                        table) {
+                    throw new IllegalStateException(
+                            "ParameterSource %s produced zero rows — at least one parameter row is required"
+                                    .formatted(parameterSource));
+                }
+            }
+            LOG.info("Viewing {} parameter rows of {} in place", table.size(), table);
+            return new ParameterCarousel(table.size(), table::row, access, seed, () -> {
+                try (parameterSource) {
+                    table.close();
+                }
+            });
+        }
         try (parameterSource;
-                ParameterFeed feed = parameterSource.load()) {
+                ParameterFeed feed = loaded) {
             var rows = StreamSupport.stream(feed.spliterator(), false).toArray(SamplerParameters[]::new);
             if (rows.length == 0) {
                 throw new IllegalStateException(
                         "ParameterSource %s produced zero rows — at least one parameter row is required (check that the source file is not header-only or empty)"
                                 .formatted(parameterSource));
             }
-            return new ParameterCarousel(rows);
+            return new ParameterCarousel(rows, access, seed);
         }
     }
 
-    private final SamplerParameters[] rows;
-    private final AtomicLong counter = new AtomicLong(0);
+    private final int size;
+    private final IntFunction<SamplerParameters> rows;
+    private final ParameterAccess access;
+    private final long seed;
+    private final AutoCloseable resources;
+    private final ParameterPrefetcher prefetcher;
+    // next row not claimed by a sequential cursor yet, carried over from one load model stage to the next
+    private final AtomicInteger sequential = new AtomicInteger();
+    // round-robin cursors of the current stage, and how far their predecessors walked, so the next
+    // stage carries on from there; random cursors of every stage draw from a seed of their own
+    private final List<CyclingCursor> roundRobin = new ArrayList<>();
+    private long rotation;
+    private int stage;
+    private long stageSeed;
 
     ParameterCarousel(SamplerParameters[] rows) {
-        if (rows.length == 0) {
+        this(rows, ParameterAccess.ROUND_ROBIN, 1);
+    }
+
+    ParameterCarousel(SamplerParameters[] rows, ParameterAccess access, long seed) {
+        this(rows.length, row -> rows[row], access, seed, () -> {});
+    }
+
+    ParameterCarousel(
+            int size, IntFunction<SamplerParameters> rows, ParameterAccess access, long seed, AutoCloseable resources) {
+        if (size == 0) {
             throw new IllegalArgumentException("rows must be non-empty");
         }
+        if (access == ParameterAccess.STREAMING) {
+            throw new IllegalArgumentException("streaming access reads the rows ahead from a feed");
+        }
+        this.size = size;
         this.rows = rows;
+        this.access = access;
+        this.seed = seed;
+        this.stageSeed = seed;
+        this.resources = resources;
+        this.prefetcher = null;
+    }
+
+    private ParameterCarousel(ParameterPrefetcher prefetcher) {
+        this.size = 0;
+        this.rows = null;
+        this.access = ParameterAccess.STREAMING;
+        this.seed = 0;
+        this.resources = prefetcher;
+        this.prefetcher = prefetcher;
     }
 
     /**
-     * Returns the next parameter row in the round-robin cycle. Thread-safe.
+     * Returns the cursor of user (or dispatcher) {@code index} of {@code count}. Called by the load
+     * model's thread only.
      */
-    SamplerParameters next() {
-        long idx = counter.getAndIncrement();
-        return rows[Math.floorMod(idx, rows.length)];
+    Cursor cursor(int index, int count) {
+        return switch (access) {
+            case ROUND_ROBIN -> {
+                // spread the starting rows, so users don't send the same rows at the same time
+                var start = (int) ((rotation + (long) size * index / count) % size);
+                var cursor = new CyclingCursor(0, size, start);
+                roundRobin.add(cursor);
+                yield cursor;
+            }
+            case PARTITIONED -> {
+                var from = (int) ((long) size * index / count);
+                var to = (int) ((long) size * (index + 1) / count);
+                // with more users than rows, users share a single row
+                yield from == to ? new CyclingCursor(from % size, from % size + 1, 0) : new CyclingCursor(from, to, 0);
+            }
+            case SEQUENTIAL_ONCE -> new SequentialCursor();
+            case RANDOM -> new RandomCursor(SeededRandoms.random(stageSeed, index));
+            case STREAMING -> prefetcher.cursor(count);
+        };
+    }
+
+    /**
+     * Ends a stage of a multi-stage load model, once all its users are done. Cursors of the next
+     * stage carry on where this stage's cursors stopped instead of replaying the same rows: round
+     * robin from the rows its cursors reached on average, random from a seed derived for the stage.
+     */
+    void nextStage() {
+        if (!roundRobin.isEmpty()) {
+            long drawn = 0;
+            for (var cursor : roundRobin) {
+                drawn += cursor.drawn;
+            }
+            rotation = (rotation + drawn / roundRobin.size()) % size;
+            roundRobin.clear();
+        }
+        stageSeed = SeededRandoms.random(seed, ++stage).nextLong();
+    }
+
+    @Override
+    public void close() throws Exception {
+        resources.close();
+    }
+
+    /**
+     * A single user's walk through the rows. Not thread-safe, used by its user only.
+     */
+    interface Cursor {
+        /**
+         * Returns the next row, {@code null} once there are none left.
+         */
+        SamplerParameters next();
+    }
+
+    private final class CyclingCursor implements Cursor {
+        private final int from;
+        private final int to;
+        private int next;
+        private long drawn;
+
+        private CyclingCursor(int from, int to, int offset) {
+            this.from = from;
+            this.to = to;
+            this.next = from + offset;
+        }
+
+        @Override
+        public SamplerParameters next() {
+            var row = rows.apply(next);
+            next = next + 1 == to ? from : next + 1;
+            drawn++;
+            return row;
+        }
+    }
+
+    private final class SequentialCursor implements Cursor {
+        private int next;
+        private int end;
+
+        @Override
+        public SamplerParameters next() {
+            if (next == end) {
+                var claimed = sequential.getAndAccumulate(
+                        SEQUENTIAL_BLOCK, (position, block) -> Math.min(size, position + block));
+                if (claimed >= size) {
+                    return null;
+                }
+                next = claimed;
+                end = Math.min(size, claimed + SEQUENTIAL_BLOCK);
+            }
+            return rows.apply(next++);
+        }
+    }
+
+    private final class RandomCursor implements Cursor {
+        private final SplittableRandom random;
+
+        private RandomCursor(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public SamplerParameters next() {
+            return rows.apply(random.nextInt(size));
+        }
     }
 }
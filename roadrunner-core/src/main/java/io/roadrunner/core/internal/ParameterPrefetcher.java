@@ -0,0 +1,212 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.parameters.ParameterFeed;
+import io.roadrunner.api.parameters.ParameterSource;
+import io.roadrunner.api.parameters.SamplerParameters;
+import io.roadrunner.core.ParameterAccess;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads parameter rows ahead of the users, on a thread of its own, into a bounded buffer, for
+ * {@link ParameterAccess#STREAMING} access: only the buffer is ever held in memory, so the source
+ * may hold more rows than fit the heap, and the run starts as soon as the buffer is full.
+ * <p>
+ * Cursors take rows from the buffer in small blocks, so they touch the buffer's lock once per
+ * block rather than once per row. A cursor that finds the buffer empty waits for the source; the
+ * wait is recorded in {@link DispatchLagRecorder}, tagged {@value DispatchLagRecorder#PARAMETER_WAIT_TAG},
+ * and summed up in the log, so a source that can't keep up shows up in the report instead of as
+ * unexplained latency. A waiting cursor gives up once the prefetcher is closed or its reader is
+ * gone, so users never outlive the source.
+ */
+final class ParameterPrefetcher implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParameterPrefetcher.class);
+
+    // marks the end of the feed, put back by every cursor that takes it so that the others see it too
+    private static final SamplerParameters END = SamplerParameters.of(new LinkedHashMap<>());
+    // how often a cursor waiting for rows checks that they can still come
+    private static final long READER_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Starts reading {@code feed} ahead, and returns once {@code capacity} rows are buffered or the
+     * feed ran out before.
+     */
+    static ParameterPrefetcher start(
+            ParameterSource source, ParameterFeed feed, int capacity, DispatchLagRecorder dispatchLag)
+            throws InterruptedException {
+        var prefetcher = new ParameterPrefetcher(source, feed, capacity, dispatchLag);
+        prefetcher.reader.start();
+        try {
+            prefetcher.primed.await();
+        } catch (InterruptedException e) {
+            prefetcher.reader.interrupt();
+            throw e;
+        }
+        if (prefetcher.buffer.peek() == END) {
+            try {
+                prefetcher.close();
+            } catch (Exception e) {
+                LOG.warn("failed to close parameter source {}", source, e);
+            }
+            throw new IllegalStateException(
+                    "ParameterSource %s produced zero rows — at least one parameter row is required".formatted(source));
+        }
+        return prefetcher;
+    }
+
+    private final ParameterSource source;
+    private final ParameterFeed feed;
+    private final int capacity;
+    private final ArrayBlockingQueue<SamplerParameters> buffer;
+    private final DispatchLagRecorder dispatchLag;
+    private final CountDownLatch primed = new CountDownLatch(1);
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitedNanos = new LongAdder();
+    private final Thread reader;
+    private volatile boolean closed;
+
+    private ParameterPrefetcher(
+            ParameterSource source, ParameterFeed feed, int capacity, DispatchLagRecorder dispatchLag) {
+        this.source = source;
+        this.feed = feed;
+        this.capacity = capacity;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.dispatchLag = dispatchLag;
+        this.reader =
+                Thread.ofPlatform().daemon(true).name("parameters-prefetch").unstarted(this::read);
+    }
+
+    private void read() {
+        try {
+            try {
+                for (var row : feed) {
+                    buffer.put(row);
+                    if (buffer.remainingCapacity() == 0) {
+                        primed.countDown();
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (closed) {
+                    // interrupted in the middle of reading the source, e.g. a ClosedByInterruptException
+                    return;
+                }
+                LOG.error(
+                        "failed to read parameter rows from {}, users stop once the buffered rows are used", source, e);
+            }
+            buffer.put(END);
+        } catch (InterruptedException e) {
+            // closed before the feed ran out
+        } finally {
+            primed.countDown();
+        }
+    }
+
+    /**
+     * Returns a cursor of one of {@code count} users (or dispatchers).
+     */
+    ParameterCarousel.Cursor cursor(int count) {
+        // small enough blocks that users holding on to theirs don't starve the others
+        return new StreamingCursor((int) Math.clamp(capacity / (4L * count), 1, ParameterCarousel.SEQUENTIAL_BLOCK));
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        reader.interrupt();
+        reader.join();
+        var waited = waits.sum();
+        if (waited > 0) {
+            LOG.warn(
+                    "{} times users waited for parameter rows, {} ms in total: {} can't keep up, raise the prefetch or speed the source up",
+                    waited,
+                    TimeUnit.NANOSECONDS.toMillis(waitedNanos.sum()),
+                    source);
+        }
+        try (source) {
+            feed.close();
+        }
+    }
+
+    private final class StreamingCursor implements ParameterCarousel.Cursor {
+        private final int blockSize;
+        private final ArrayList<SamplerParameters> block;
+        private int next;
+        private boolean ended;
+
+        private StreamingCursor(int blockSize) {
+            this.blockSize = blockSize;
+            this.block = new ArrayList<>(blockSize);
+        }
+
+        @Override
+        public SamplerParameters next() {
+            if (next == block.size() && (ended || !refill())) {
+                return null;
+            }
+            return block.get(next++);
+        }
+
+        private boolean refill() {
+            block.clear();
+            next = 0;
+            if (buffer.drainTo(block, blockSize) == 0) {
+                var waitStart = System.nanoTime();
+                try {
+                    block.add(awaitRow());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    ended = true;
+                    return false;
+                }
+                if (block.getLast() != END) {
+                    var waited = System.nanoTime() - waitStart;
+                    waits.increment();
+                    waitedNanos.add(waited);
+                    dispatchLag.recordParameterWait(waited);
+                }
+            }
+            if (block.getLast() == END) {
+                block.removeLast();
+                buffer.offer(END);
+                ended = true;
+            }
+            return !block.isEmpty();
+        }
+
+        private SamplerParameters awaitRow() throws InterruptedException {
+            while (true) {
+                var row = buffer.poll(READER_CHECK_NANOS, TimeUnit.NANOSECONDS);
+                if (row != null) {
+                    return row;
+                }
+                if (closed || !reader.isAlive()) {
+                    // no more rows are coming, whatever the reader buffered is all there is
+                    row = buffer.poll();
+                    return row == null ? END : row;
+                }
+            }
+        }
+    }
+}
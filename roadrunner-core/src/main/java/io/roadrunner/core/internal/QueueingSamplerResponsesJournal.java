@@ -17,78 +17,185 @@ package io.roadrunner.core.internal;
 
 import io.roadrunner.api.events.*;
 import io.roadrunner.api.measurments.EventReader;
+import io.roadrunner.api.samplers.BodyRetention;
+import io.roadrunner.core.JournalWaitStrategy;
 import java.util.ArrayList;
-import java.util.concurrent.BlockingQueue;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Hands events from user threads over to a single journal thread, which batches them into the
+ * {@link EventListener}. Every user writes through its own {@link JournalWriter}, which publishes
+ * pooled, columnar chunks of events into a bounded {@link MpscRingBuffer}; the journal thread
+ * merges the chunks it drains by event timestamp into a reusable {@link ColumnarEventBatch},
+ * passes it on and returns the chunks to the pool. When the buffer is full users back off until
+ * the journal thread frees a slot, and every such stall is counted and reported when the journal
+ * closes.
+ * <p>
+ * Events are ordered by timestamp within a batch only. Users hand chunks over on their own
+ * schedule (see {@link JournalWriter}), so an event may reach the listener after a later batch
+ * with newer events; listeners that need global order must allow for a chunk being up to
+ * {@link JournalWriter#MAX_CHUNK_SPAN_NANOS} plus one request late.
+ * <p>
+ * When the listener fails the journal thread records the failure and stops; users waiting for a
+ * free slot then fail instead of waiting forever, and so does {@link #close()}.
+ */
 final class QueueingSamplerResponsesJournal implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(QueueingSamplerResponsesJournal.class);
 
+    static final int DEFAULT_CAPACITY = 65536;
+
+    // max number of chunks merged into a single listener batch
     private static final int BATCH_SIZE = 1000;
+    private static final int CHUNK_POOL_SIZE = 1024;
+    private static final int SHORT_LIVED_CHUNK_POOL_SIZE = 4096;
+    private static final long PARK_NANOS = 100_000L;
+    private static final int PRODUCER_SPINS = 100;
 
-    private final BlockingQueue<Event> responses = new LinkedBlockingQueue<>();
+    private final MpscRingBuffer<EventChunk> chunks;
+    private final ChunkPool chunkPool = new ChunkPool(CHUNK_POOL_SIZE, JournalWriter.CHUNK_SIZE);
+    private final ChunkPool shortLivedChunkPool =
+            new ChunkPool(SHORT_LIVED_CHUNK_POOL_SIZE, JournalWriter.SHORT_LIVED_CHUNK_SIZE);
     private final EventListener listener;
+    private final JournalWaitStrategy waitStrategy;
     private final ExecutorService executorService;
+    private final LongAdder producerStalls = new LongAdder();
+    private final LongAdder producerStallNanos = new LongAdder();
     private volatile boolean isRunning;
+    // set while the journal thread consumes chunks, cleared when it stops for whatever reason
+    private volatile boolean isConsuming;
+    private volatile Throwable failure;
 
     QueueingSamplerResponsesJournal(EventListener listener) {
+        this(listener, DEFAULT_CAPACITY, JournalWaitStrategy.PARK);
+    }
+
+    QueueingSamplerResponsesJournal(EventListener listener, int capacity, JournalWaitStrategy waitStrategy) {
+        this.chunks = new MpscRingBuffer<>(capacity);
         this.listener = listener;
+        this.waitStrategy = waitStrategy;
         this.executorService = Executors.newSingleThreadExecutor(
                 Thread.ofPlatform().name("responses-journal-").factory());
     }
 
     void start() {
-        LOG.debug("starting responses journaling");
+        LOG.debug("starting responses journaling, capacity {}, wait strategy {}", chunks.capacity(), waitStrategy);
         isRunning = true;
+        isConsuming = true;
         executorService.submit(() -> {
-            listener.onStart();
-            var batch = new ArrayList<Event>(BATCH_SIZE + 1);
-            while (isRunning) {
-                try {
-                    var response = responses.poll(1, TimeUnit.MILLISECONDS);
-                    if (response != null) {
-                        batch.add(response);
-                        responses.drainTo(batch, BATCH_SIZE);
-                        try {
-                            listener.onEvent(batch);
-                        } finally {
-                            batch.clear();
-                        }
-                    }
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
+            try {
+                consume();
+            } catch (Throwable e) {
+                failure = e;
+                LOG.error("responses journal failed, no more events are journaled", e);
+            } finally {
+                isConsuming = false;
             }
-            // Drain any events that arrived after the last poll before stopping
-            responses.drainTo(batch);
-            if (!batch.isEmpty()) {
-                listener.onEvent(batch);
-                batch.clear();
-            }
-            listener.onStop();
         });
     }
 
-    public void userEnters(UserEvent.Enter event) {
-        responses.offer(event);
+    private void consume() {
+        listener.onStart();
+        var drained = new ArrayList<EventChunk>(BATCH_SIZE);
+        var batch = new ColumnarEventBatch(BATCH_SIZE * JournalWriter.CHUNK_SIZE);
+        while (isRunning) {
+            if (!writeBatch(drained, batch)) {
+                idle();
+            }
+        }
+        // Drain any events that arrived after the last poll before stopping
+        while (writeBatch(drained, batch)) {}
+        listener.onStop();
+    }
+
+    private boolean writeBatch(List<EventChunk> drained, ColumnarEventBatch batch) {
+        if (chunks.drainTo(drained, BATCH_SIZE) == 0) {
+            return false;
+        }
+        try {
+            batch.merge(drained);
+            for (var chunk : drained) {
+                poolOf(chunk.capacity()).release(chunk);
+            }
+            listener.onEvent(batch);
+        } finally {
+            drained.clear();
+            batch.clear();
+        }
+        return true;
     }
 
-    public void response(SamplerResponse<?> response) {
-        responses.offer(response);
+    private void idle() {
+        switch (waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELD -> Thread.yield();
+            case PARK -> LockSupport.parkNanos(PARK_NANOS);
+        }
     }
 
-    public void error(Exception e) {
-        responses.offer(new MeasurementError(System.nanoTime(), e));
+    /**
+     * Returns a new writer for a single user; writers are not thread-safe.
+     */
+    JournalWriter newWriter(BodyRetention bodyRetention) {
+        return new JournalWriter(this, bodyRetention, JournalWriter.CHUNK_SIZE);
     }
 
-    public void userExits(UserEvent.Exit event) {
-        responses.offer(event);
+    /**
+     * Returns a new writer for a user that writes a handful of events before it exits, like a
+     * single open-world arrival or a stage marker, so it doesn't tie up a chunk sized for a whole
+     * closed-world user; writers are not thread-safe.
+     */
+    JournalWriter newShortLivedWriter(BodyRetention bodyRetention) {
+        return new JournalWriter(this, bodyRetention, JournalWriter.SHORT_LIVED_CHUNK_SIZE);
+    }
+
+    EventChunk acquireChunk(int size) {
+        return poolOf(size).acquire();
+    }
+
+    private ChunkPool poolOf(int chunkSize) {
+        return chunkSize == JournalWriter.SHORT_LIVED_CHUNK_SIZE ? shortLivedChunkPool : chunkPool;
+    }
+
+    void publish(EventChunk chunk) {
+        if (chunks.offer(chunk)) {
+            return;
+        }
+        // Buffer is full: the journal thread can't keep up. Spin briefly, then yield the carrier
+        // so that other users (and the journal thread) get a chance to run.
+        var stalledAt = System.nanoTime();
+        var attempts = 0;
+        while (!chunks.offer(chunk)) {
+            if (!isConsuming) {
+                // nobody is going to free a slot anymore
+                throw new IllegalStateException("responses journal is not running", failure);
+            }
+            if (++attempts < PRODUCER_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        producerStalls.increment();
+        producerStallNanos.add(System.nanoTime() - stalledAt);
+    }
+
+    long producerStalls() {
+        return producerStalls.sum();
+    }
+
+    /**
+     * Returns the failure that stopped the journal thread, or {@code null}.
+     */
+    Throwable failure() {
+        return failure;
     }
 
     @Override
@@ -105,6 +212,17 @@ final class QueueingSamplerResponsesJournal implements AutoCloseable {
             Thread.currentThread().interrupt();
             executorService.shutdownNow();
         }
+        var stalls = producerStalls.sum();
+        if (stalls > 0) {
+            LOG.warn(
+                    "users stalled {} times on a full responses journal (capacity {}), {} ms in total; measured latencies include this back-pressure, consider a larger journal capacity",
+                    stalls,
+                    chunks.capacity(),
+                    TimeUnit.NANOSECONDS.toMillis(producerStallNanos.sum()));
+        }
+        if (failure != null) {
+            throw new IllegalStateException("responses journal failed", failure);
+        }
     }
 
     public EventReader measurementsReader() {
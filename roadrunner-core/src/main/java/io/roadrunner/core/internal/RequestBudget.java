@@ -0,0 +1,112 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The total number of requests closed-world users may make, handed out in leases so users don't
+ * contend on a shared counter for every request.
+ * <p>
+ * Every user draws from its own {@link Lease}, which claims a block of requests from the shared
+ * pool only once the previous block is used up. Blocks shrink as the pool drains, to a single
+ * request towards the end, so users finish together, and since every claimed request is made
+ * exactly the requested total is made.
+ */
+final class RequestBudget {
+
+    /** Requests of a budget that is never used up, e.g. for runs bounded by time. */
+    static final long UNBOUNDED = Long.MAX_VALUE;
+
+    static final int MAX_BLOCK = 1024;
+
+    private final AtomicLong remaining;
+    private final int users;
+
+    /**
+     * Creates a budget of {@code requests} shared by {@code users} users.
+     */
+    RequestBudget(long requests, int users) {
+        if (requests <= 0) {
+            throw new IllegalArgumentException("requests must be positive: %d".formatted(requests));
+        }
+        if (users <= 0) {
+            throw new IllegalArgumentException("users must be positive: %d".formatted(users));
+        }
+        this.remaining = new AtomicLong(requests);
+        this.users = users;
+    }
+
+    /**
+     * Returns a new lease on this budget, for a single user.
+     */
+    Lease lease() {
+        return new Lease();
+    }
+
+    /**
+     * Returns how many requests are left in the shared pool, not counting ones claimed by leases.
+     */
+    long remaining() {
+        return remaining.get();
+    }
+
+    /**
+     * Claims up to a block of requests from the pool, returns how many were claimed, zero once the
+     * pool is empty.
+     */
+    private long claim() {
+        long available;
+        long block;
+        do {
+            available = remaining.get();
+            if (available == UNBOUNDED) {
+                return UNBOUNDED;
+            }
+            if (available == 0) {
+                return 0;
+            }
+            // a quarter of every user's fair share of what is left
+            block = Math.clamp(available / (4L * users), 1, MAX_BLOCK);
+        } while (!remaining.compareAndSet(available, available - block));
+        return block;
+    }
+
+    /**
+     * A single user's share of the budget. Not thread-safe, used by its user only.
+     */
+    final class Lease {
+        private long available;
+
+        private Lease() {}
+
+        /**
+         * Takes one request of the budget, returns {@code false} once the budget is used up.
+         */
+        boolean tryAcquire() {
+            if (available == 0) {
+                available = claim();
+                if (available == 0) {
+                    return false;
+                }
+            }
+            if (available != UNBOUNDED) {
+                available--;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible random streams shared by the arrival processes, think times and parameter cursors.
+ * Each dispatcher, user or cursor gets its own stream, derived from the run's seed and its index.
+ */
+final class SeededRandoms {
+
+    // golden-ratio increments spread the streams' seeds apart
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    private SeededRandoms() {}
+
+    static SplittableRandom random(long seed, int index) {
+        return new SplittableRandom(seed + index * SEED_INCREMENT);
+    }
+
+    /**
+     * Draws from the exponential distribution with a mean of one.
+     */
+    static double nextExponential(SplittableRandom random) {
+        // inverse transform sampling, 1 - u keeps the logarithm finite
+        return -Math.log(1.0 - random.nextDouble());
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.core.ThinkTime;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Built-in {@link ThinkTime}s. Random ones draw from a {@link SplittableRandom} per user, derived
+ * from the seed and the user's index, so a run is reproducible for a given seed.
+ */
+public final class ThinkTimes {
+
+    private static final ThinkTime NONE = user -> (scheduledStart, stopped) -> stopped;
+
+    private ThinkTimes() {}
+
+    public static ThinkTime none() {
+        return NONE;
+    }
+
+    static boolean isNone(ThinkTime thinkTime) {
+        return thinkTime == NONE;
+    }
+
+    public static ThinkTime constant(Duration thinkTime) {
+        var thinkNanos = checkNotNegative(thinkTime, "think time");
+        return user -> (scheduledStart, stopped) -> stopped + thinkNanos;
+    }
+
+    public static ThinkTime exponential(Duration mean, long seed) {
+        var meanNanos = checkNotNegative(mean, "mean think time");
+        return user -> {
+            var random = SeededRandoms.random(seed, user);
+            return (scheduledStart, stopped) -> stopped + (long) (SeededRandoms.nextExponential(random) * meanNanos);
+        };
+    }
+
+    public static ThinkTime uniform(Duration min, Duration max, long seed) {
+        var minNanos = checkNotNegative(min, "minimum think time");
+        var maxNanos = checkNotNegative(max, "maximum think time");
+        if (maxNanos < minNanos) {
+            throw new IllegalArgumentException(
+                    "maximum think time cannot be less than minimum: %s, %s".formatted(max, min));
+        }
+        return user -> {
+            var random = SeededRandoms.random(seed, user);
+            return (scheduledStart, stopped) ->
+                    stopped + minNanos + (long) (random.nextDouble() * (maxNanos - minNanos));
+        };
+    }
+
+    public static ThinkTime pacing(Duration period) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("pacing period must be positive: %s".formatted(period));
+        }
+        var periodNanos = period.toNanos();
+        return user -> (scheduledStart, stopped) -> scheduledStart + periodNanos;
+    }
+
+    private static long checkNotNegative(Duration duration, String what) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("%s cannot be negative: %s".formatted(what, duration));
+        }
+        return duration.toNanos();
+    }
+}
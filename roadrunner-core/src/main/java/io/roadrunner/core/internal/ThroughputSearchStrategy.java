@@ -0,0 +1,180 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.latency.LatencyRecorder;
+import io.roadrunner.api.samplers.BodyRetention;
+import io.roadrunner.api.samplers.SamplerProvider;
+import io.roadrunner.core.ArrivalProcess;
+import io.roadrunner.core.ArrivalTiming;
+import io.roadrunner.core.ThroughputSearch;
+import io.roadrunner.shaded.hdrhistogram.Recorder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a {@link ThroughputSearch}: one open-world step per probed rate, each judged on the corrected
+ * latencies recorded while it ran. Steps drain before the next one starts, so a step's histogram
+ * holds its own requests only, and the latency curve ends up in the journal as stages, followed by
+ * the {@link StageEvent#MAX_SUSTAINED_RATE maximum sustainable throughput}.
+ */
+public final class ThroughputSearchStrategy implements ExecutionStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThroughputSearchStrategy.class);
+
+    /**
+     * One probed rate: how many requests completed and the latency at the searched percentile, in
+     * nanoseconds.
+     */
+    record Step(int rate, long requests, long latency, boolean sustained) {}
+
+    /**
+     * Runs the step probing a single rate.
+     */
+    @FunctionalInterface
+    interface StepRunner {
+        Step run(int rate) throws InterruptedException;
+    }
+
+    private final ThroughputSearch search;
+    private final List<Step> steps = new ArrayList<>();
+
+    public static ThroughputSearchStrategy of(ThroughputSearch search) {
+        return new ThroughputSearchStrategy(search);
+    }
+
+    private ThroughputSearchStrategy(ThroughputSearch search) {
+        this.search = search;
+    }
+
+    @Override
+    public void execute(
+            SamplerProvider samplerProvider,
+            ParameterCarousel parameterFeed,
+            QueueingSamplerResponsesJournal journal,
+            LatencyRecorder recorder,
+            DispatchLagRecorder dispatchLag)
+            throws InterruptedException {
+        var maxSustainedRate =
+                search(rate -> step(rate, samplerProvider, parameterFeed, journal, recorder, dispatchLag));
+        journal.newShortLivedWriter(BodyRetention.NONE).stage(StageEvent.MAX_SUSTAINED_RATE + maxSustainedRate);
+        logCurve(maxSustainedRate);
+    }
+
+    /**
+     * Doubles the rate from the lower end until a step breaks the threshold, then bisects between the
+     * last sustained and the first broken rate, returns the highest rate that held the threshold,
+     * zero when even the first did not.
+     */
+    int search(StepRunner runner) throws InterruptedException {
+        // sustained is the highest rate that held the threshold, broken the lowest one that did not
+        int sustained = 0;
+        int broken = 0;
+        int rate = search.fromRate();
+        while (true) {
+            var step = runner.run(rate);
+            steps.add(step);
+            if (step.sustained()) {
+                sustained = rate;
+            } else {
+                broken = rate;
+            }
+            if (broken == 0) {
+                if (rate == search.toRate()) {
+                    break;
+                }
+                rate = (int) Math.min((long) rate * 2, search.toRate());
+            } else {
+                if (broken - sustained <= search.precision()) {
+                    break;
+                }
+                rate = sustained + (broken - sustained) / 2;
+            }
+        }
+        return sustained;
+    }
+
+    private Step step(
+            int rate,
+            SamplerProvider samplerProvider,
+            ParameterCarousel parameterFeed,
+            QueueingSamplerResponsesJournal journal,
+            LatencyRecorder recorder,
+            DispatchLagRecorder dispatchLag)
+            throws InterruptedException {
+        var label = "rate-" + rate;
+        LOG.info("Roadrunner throughput search step '{}' started", label);
+        journal.newShortLivedWriter(BodyRetention.NONE).stage(label);
+        var stepRecorder = new StepLatencyRecorder(recorder);
+        OpenWorldStrategy.of(rate, search.stepDuration(), 1, ArrivalTiming.PARK, ArrivalProcess.periodic())
+                .execute(samplerProvider, parameterFeed, journal, stepRecorder, dispatchLag);
+        parameterFeed.nextStage();
+        var histogram = stepRecorder.latencies.getIntervalHistogram();
+        var latency = histogram.getValueAtPercentile(search.percentile());
+        // a step where nothing completed did not sustain anything
+        var sustained = histogram.getTotalCount() > 0
+                && latency <= search.latencyThreshold().toNanos();
+        return new Step(rate, histogram.getTotalCount(), latency, sustained);
+    }
+
+    private void logCurve(int maxSustainedRate) {
+        for (var step : steps) {
+            LOG.info(
+                    "Roadrunner throughput search: {} users/s, {} requests, {}th percentile {} ms, {}",
+                    step.rate(),
+                    step.requests(),
+                    search.percentile(),
+                    "%.3f".formatted(step.latency() / 1_000_000.0),
+                    step.sustained() ? "sustained" : "broken");
+        }
+        LOG.info(
+                "Roadrunner maximum sustainable throughput: {} users/s with {}th percentile within {}",
+                maxSustainedRate,
+                search.percentile(),
+                search.latencyThreshold());
+    }
+
+    /**
+     * Passes corrected latencies on to the run's recorder while keeping a step's own histogram.
+     */
+    private static final class StepLatencyRecorder implements LatencyRecorder {
+
+        private final LatencyRecorder delegate;
+        private final Recorder latencies = new Recorder(3);
+
+        private StepLatencyRecorder(LatencyRecorder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void record(long correctedLatencyNanos) {
+            latencies.recordValue(correctedLatencyNanos);
+            delegate.record(correctedLatencyNanos);
+        }
+
+        @Override
+        public void writeSnapshot(Path outputDir) {
+            // the run's recorder writes the snapshot
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.latency.LatencyRecorder;
+import io.roadrunner.api.samplers.BodyRetention;
+import io.roadrunner.api.samplers.SamplerProvider;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Runs a load model with its first {@code warmUp} labelled as the {@link StageEvent#WARM_UP warm-up}
+ * stage: its responses are journaled, but left out of the summary, reports and latency snapshot, so
+ * JIT compilation of the load generator and the system under test doesn't pollute the tail. Both
+ * stage events are journaled up front, the end of the warm-up with its future timestamp.
+ */
+public final class WarmUpStrategy implements ExecutionStrategy {
+
+    private final ExecutionStrategy strategy;
+    private final Duration warmUp;
+
+    public static ExecutionStrategy of(ExecutionStrategy strategy, Duration warmUp) {
+        if (warmUp.isNegative() || warmUp.isZero()) {
+            throw new IllegalArgumentException("warm-up must be positive: %s".formatted(warmUp));
+        }
+        return new WarmUpStrategy(strategy, warmUp);
+    }
+
+    private WarmUpStrategy(ExecutionStrategy strategy, Duration warmUp) {
+        this.strategy = strategy;
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    public void execute(
+            SamplerProvider samplerProvider,
+            ParameterCarousel parameterFeed,
+            QueueingSamplerResponsesJournal journal,
+            LatencyRecorder recorder,
+            DispatchLagRecorder dispatchLag)
+            throws InterruptedException {
+        var start = System.nanoTime();
+        var measurementStart = start + warmUp.toNanos();
+        var writer = journal.newShortLivedWriter(BodyRetention.NONE);
+        writer.stage(StageEvent.WARM_UP, start);
+        writer.stage(StageEvent.MEASUREMENT, measurementStart);
+        strategy.execute(
+                samplerProvider,
+                parameterFeed,
+                journal,
+                new MeasuredLatencyRecorder(recorder, measurementStart),
+                dispatchLag);
+    }
+
+    /**
+     * Passes on corrected latencies of requests scheduled after the warm-up.
+     */
+    private static final class MeasuredLatencyRecorder implements LatencyRecorder {
+
+        private final LatencyRecorder delegate;
+        private final long measurementStart;
+
+        private MeasuredLatencyRecorder(LatencyRecorder delegate, long measurementStart) {
+            this.delegate = delegate;
+            this.measurementStart = measurementStart;
+        }
+
+        @Override
+        public void record(long correctedLatencyNanos) {
+            // recorded right after the response stopped, so this is (just after) its scheduled start
+            if (System.nanoTime() - correctedLatencyNanos - measurementStart >= 0) {
+                delegate.record(correctedLatencyNanos);
+            }
+        }
+
+        @Override
+        public void writeSnapshot(Path outputDir) {
+            // the run's recorder writes the snapshot
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -17,6 +17,7 @@ module io.roadrunner.core {
     requires io.roadrunner.samplers.spi;
     requires io.roadrunner.hdrhistogram;
     requires io.roadrunner.output.csv;
+    requires io.roadrunner.output.binary;
     requires io.roadrunner.api;
     requires io.roadrunner.latency.recording;
     requires org.slf4j;
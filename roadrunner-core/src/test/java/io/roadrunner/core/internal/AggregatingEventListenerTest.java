@@ -0,0 +1,165 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.events.UserEvent;
+import io.roadrunner.api.measurments.StageSummary;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AggregatingEventListenerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void aggregateResponsesWhilePassingThemOn() {
+        var delegate = new CollectingEventListener();
+        var listener = new AggregatingEventListener(delegate);
+        var events = List.<Event>of(
+                new UserEvent.Enter(0),
+                SamplerResponse.response(10, 100, null)
+                        .withScheduledStartTime(0)
+                        .withLatency(100),
+                SamplerResponse.error(SECOND, SECOND + 300, "failed")
+                        .withScheduledStartTime(SECOND - 100)
+                        .withLatency(400),
+                SamplerResponse.response(2 * SECOND, 3 * SECOND + 200, null)
+                        .withScheduledStartTime(2 * SECOND)
+                        .withLatency(SECOND + 200),
+                new UserEvent.Exit(3 * SECOND + 300));
+
+        listener.onStart();
+        listener.onEvent(events);
+        listener.onStop();
+
+        assertThat(delegate.events).containsExactlyElementsOf(events);
+        var summary = listener.summary();
+        assertThat(summary.totalRequests()).isEqualTo(3);
+        assertThat(summary.errorRequests()).isEqualTo(1);
+        assertThat(summary.firstStartTime()).isZero();
+        assertThat(summary.lastStopTime()).isEqualTo(3 * SECOND + 200);
+        assertThat(summary.minLatency()).isEqualTo(100);
+        assertThat(summary.latencyAtPercentile(50)).isBetween(399L, 401L);
+        assertThat(summary.requestsPerSecond()).containsExactly(1, 1, 0, 1);
+        assertThat(summary.errorsPerSecond()).containsExactly(0, 1, 0, 0);
+    }
+
+    @Test
+    void breakLatenciesDownPerStage() {
+        var listener = new AggregatingEventListener(new CollectingEventListener());
+        listener.onStart();
+        listener.onEvent(List.of(
+                // responses before the first stage count towards the run only
+                SamplerResponse.response(0, 10, null).withLatency(10),
+                new StageEvent(100, "ramp"),
+                SamplerResponse.response(110, 150, null)
+                        .withScheduledStartTime(110)
+                        .withLatency(40),
+                SamplerResponse.error(120, 200, "failed")
+                        .withScheduledStartTime(120)
+                        .withLatency(80),
+                new StageEvent(SECOND, "hold"),
+                SamplerResponse.response(SECOND + 10, 2 * SECOND, null)
+                        .withScheduledStartTime(SECOND + 10)
+                        .withLatency(SECOND)));
+        listener.onStop();
+
+        var summary = listener.summary();
+        assertThat(summary.totalRequests()).isEqualTo(4);
+        assertThat(summary.stages())
+                .extracting(
+                        StageSummary::label,
+                        StageSummary::startTime,
+                        StageSummary::totalRequests,
+                        StageSummary::errorRequests,
+                        StageSummary::lastStopTime)
+                .containsExactly(tuple("ramp", 100L, 2L, 1L, 200L), tuple("hold", SECOND, 1L, 0L, 2 * SECOND));
+        assertThat(summary.stages().get(0).maxLatency()).isBetween(79L, 81L);
+    }
+
+    @Test
+    void leaveWarmUpOutOfSummary() {
+        var listener = new AggregatingEventListener(new CollectingEventListener());
+        listener.onStart();
+        listener.onEvent(List.of(
+                // the end of the warm-up is journaled up front
+                new StageEvent(0, StageEvent.WARM_UP),
+                new StageEvent(SECOND, StageEvent.MEASUREMENT),
+                SamplerResponse.response(10, 100, null)
+                        .withScheduledStartTime(10)
+                        .withLatency(90),
+                // scheduled during the warm-up, but stopped after it
+                SamplerResponse.response(SECOND - 10, SECOND + 500, null)
+                        .withScheduledStartTime(SECOND - 10)
+                        .withLatency(510),
+                SamplerResponse.response(SECOND, SECOND + 20, null)
+                        .withScheduledStartTime(SECOND)
+                        .withLatency(20)));
+        listener.onStop();
+
+        var summary = listener.summary();
+        assertThat(summary.totalRequests()).isEqualTo(1);
+        assertThat(summary.firstStartTime()).isEqualTo(SECOND);
+        assertThat(summary.maxLatency()).isBetween(19L, 21L);
+        assertThat(summary.stages())
+                .extracting(StageSummary::label, StageSummary::totalRequests)
+                .containsExactly(tuple(StageEvent.WARM_UP, 2L), tuple(StageEvent.MEASUREMENT, 1L));
+    }
+
+    @Test
+    void aggregateTransferMetricsOfMeasuringResponsesOnly() {
+        var listener = new AggregatingEventListener(new CollectingEventListener());
+        var events = List.<Event>of(
+                SamplerResponse.response(0, 1_000, null)
+                        .withBytesReceived(2048)
+                        .withTimeToRequestSent(40)
+                        .withTimeToFirstByte(100),
+                SamplerResponse.response(0, 5_000, null),
+                SamplerResponse.error(0, 3_000, "failed").withBytesReceived(512).withTimeToFirstByte(300));
+
+        listener.onStart();
+        listener.onEvent(events);
+        listener.onStop();
+
+        var summary = listener.summary();
+        assertThat(summary.bytesReceived()).isEqualTo(2560);
+        assertThat(summary.timeToFirstByteAtPercentile(100)).isBetween(299L, 301L);
+        assertThat(summary.timeToLastByteAtPercentile(100)).isBetween(2_990L, 3_010L);
+        assertThat(summary.timeToRequestSentAtPercentile(100)).isEqualTo(40);
+        // only the first response knows when its request was sent
+        assertThat(summary.serverTimeAtPercentile(100)).isEqualTo(60);
+        assertThat(summary.transferTimeAtPercentile(100)).isBetween(2_690L, 2_710L);
+    }
+
+    @Test
+    void summarizeEmptyRun() {
+        var listener = new AggregatingEventListener(new CollectingEventListener());
+        listener.onStart();
+        listener.onStop();
+
+        var summary = listener.summary();
+        assertThat(summary.totalRequests()).isZero();
+        assertThat(summary.requestsPerSecond()).isEmpty();
+        assertThat(summary.bytesReceived()).isEqualTo(SamplerResponse.NOT_MEASURED);
+        assertThat(summary.timeToFirstByteAtPercentile(50)).isEqualTo(SamplerResponse.NOT_MEASURED);
+    }
+}
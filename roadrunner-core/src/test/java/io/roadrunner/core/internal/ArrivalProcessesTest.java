@@ -0,0 +1,122 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import io.roadrunner.core.ArrivalProcess;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArrivalProcessesTest {
+
+    @Test
+    void scheduleArrivalsWithoutTruncatedInterval() {
+        // 1e9 / 3 truncates, yet every third arrival lands exactly on a whole second
+        assertThat(ArrivalProcesses.arrivalTime(1, 3)).isEqualTo(333_333_333L);
+        assertThat(ArrivalProcesses.arrivalTime(3, 3)).isEqualTo(1_000_000_000L);
+        assertThat(ArrivalProcesses.arrivalTime(3_000_000, 3)).isEqualTo(1_000_000_000_000_000L);
+    }
+
+    @Test
+    void interleavePeriodicArrivalsAcrossDispatchers() {
+        var first = ArrivalProcess.periodic().arrivals(1000, 0, 2);
+        var second = ArrivalProcess.periodic().arrivals(1000, 1, 2);
+
+        assertThat(new long[] {first.next(), second.next(), first.next(), second.next()})
+                .containsExactly(1_000_000L, 2_000_000L, 3_000_000L, 4_000_000L);
+    }
+
+    @Test
+    void drawPoissonArrivalsAtTargetRateReproducibly() {
+        var arrivals = ArrivalProcess.poisson(42).arrivals(1000, 0, 1);
+        var again = ArrivalProcess.poisson(42).arrivals(1000, 0, 1);
+
+        long last = 0;
+        for (int i = 0; i < 100_000; i++) {
+            var next = arrivals.next();
+            assertThat(next).isGreaterThanOrEqualTo(last).isEqualTo(again.next());
+            last = next;
+        }
+        // 100k arrivals at 1000/s take 100s, give or take a percent
+        assertThat(last / 1e9).isCloseTo(100, within(1.0));
+    }
+
+    @Test
+    void keepJitteredArrivalsInOrderAroundTheirPeriod() {
+        var arrivals = ArrivalProcess.uniformJitter(1.0, 7).arrivals(1000, 0, 1);
+
+        long last = 0;
+        for (int n = 1; n <= 10_000; n++) {
+            var next = arrivals.next();
+            assertThat(next).isGreaterThanOrEqualTo(last).isBetween(n * 1_000_000L - 500_000, n * 1_000_000L + 500_000);
+            last = next;
+        }
+    }
+
+    @Test
+    void squeezeArrivalsIntoOnPeriods() {
+        // 10/s on average, arriving within 1s bursts every 4s: 40/s while on
+        var arrivals = ArrivalProcess.onOff(Duration.ofSeconds(1), Duration.ofSeconds(3))
+                .arrivals(10, 0, 1);
+
+        var offsets = new long[80];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = arrivals.next();
+        }
+        assertThat(Arrays.stream(offsets)).allMatch(offset -> offset % 4_000_000_000L <= 1_000_000_000L);
+        assertThat(offsets[0]).isEqualTo(25_000_000L);
+        assertThat(offsets[40]).isEqualTo(4_025_000_000L);
+        assertThat(offsets[79]).isEqualTo(8_000_000_000L);
+    }
+
+    @Test
+    void rampArrivalRateLinearly() {
+        // from 0 to 200/s over 10s: 1000 arrivals, the n-th at sqrt(n / 10) seconds
+        var arrivals = ArrivalProcess.linearRamp(0, 200, Duration.ofSeconds(10)).arrivals(200, 0, 1);
+
+        assertThat(arrivals.next()).isCloseTo(316_227_766L, within(1L));
+        for (int n = 2; n < 1000; n++) {
+            arrivals.next();
+        }
+        assertThat(arrivals.next()).isCloseTo(10_000_000_000L, within(1L));
+        // a ramp down ends when the rate reaches zero
+        var down = ArrivalProcess.linearRamp(200, 0, Duration.ofSeconds(10)).arrivals(200, 0, 1);
+        var count = 0;
+        while (down.next() != ArrivalProcess.Arrivals.NONE) {
+            count++;
+        }
+        assertThat(count).isEqualTo(1000);
+    }
+
+    @Test
+    void replayRecordedTimestampsAcrossDispatchers(@TempDir Path dir) throws IOException {
+        var timestamps = Files.writeString(
+                dir.resolve("arrivals.txt"), "# recorded\n1700000000100\n1700000000000.5\n\n1700000000250\n");
+        var process = ArrivalProcess.replay(timestamps);
+        var first = process.arrivals(1, 0, 2);
+        var second = process.arrivals(1, 1, 2);
+
+        assertThat(new long[] {first.next(), second.next(), first.next(), second.next()})
+                .containsExactly(0L, 99_500_000L, 249_500_000L, ArrivalProcess.Arrivals.NONE);
+    }
+}
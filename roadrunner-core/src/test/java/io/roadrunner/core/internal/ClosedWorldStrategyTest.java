@@ -19,25 +19,23 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.collection;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 
-import io.roadrunner.api.events.Event;
-import io.roadrunner.api.events.EventListener;
 import io.roadrunner.api.events.SamplerResponse;
 import io.roadrunner.api.events.UserEvent;
-import io.roadrunner.api.measurments.EventReader;
 import io.roadrunner.api.parameters.SamplerParameters;
+import io.roadrunner.core.ThinkTime;
 import io.roadrunner.latency.recording.LatencyRecorders;
 import io.roadrunner.latency.recording.PauseDetectorKind;
-import java.util.Collection;
+import java.time.Duration;
 import java.util.EnumSet;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import org.junit.jupiter.api.Test;
 
 class ClosedWorldStrategyTest {
 
     @Test
     void fireRequestsAtTargetConcurrency() throws InterruptedException {
-        var listener = new CollectionEventListener();
+        var listener = new CollectingEventListener();
 
         try (var journal = new QueueingSamplerResponsesJournal(listener)) {
             journal.start();
@@ -50,7 +48,8 @@ class ClosedWorldStrategyTest {
                     },
                     new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
                     journal,
-                    LatencyRecorders.create(EnumSet.noneOf(PauseDetectorKind.class)));
+                    LatencyRecorders.create(EnumSet.noneOf(PauseDetectorKind.class)),
+                    new DispatchLagRecorder());
         }
 
         assertThat(listener.events).first(type(UserEvent.Enter.class)).satisfies(e -> assertThat(e.timestamp())
@@ -70,23 +69,68 @@ class ClosedWorldStrategyTest {
                 });
     }
 
-    private static class CollectionEventListener implements EventListener {
-        final List<Event> events = new CopyOnWriteArrayList<>();
-
-        @Override
-        public void onStart() {}
+    @Test
+    void measureLatencyFromPacedSchedule() throws InterruptedException {
+        var listener = new CollectingEventListener();
 
-        @Override
-        public void onEvent(Collection<? extends Event> batch) {
-            events.addAll(batch);
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            // every second iteration takes longer than the period, the user falls behind
+            var iteration = new AtomicInteger();
+            var strategy = ClosedWorldStrategy.of(1, 4, ThinkTime.pacing(Duration.ofMillis(50)));
+            strategy.execute(
+                    () -> (parameters) -> {
+                        var start = System.nanoTime();
+                        LockSupport.parkNanos(iteration.getAndIncrement() == 1 ? 80_000_000 : 1_000_000);
+                        return SamplerResponse.empty(start, System.nanoTime());
+                    },
+                    new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                    journal,
+                    LatencyRecorders.create(EnumSet.noneOf(PauseDetectorKind.class)),
+                    new DispatchLagRecorder());
         }
 
-        @Override
-        public void onStop() {}
+        var responses = listener.events.stream()
+                .filter(SamplerResponse.class::isInstance)
+                .map(SamplerResponse.class::cast)
+                .toList();
+        assertThat(responses)
+                .extracting(r -> r.scheduledStartTime() - responses.getFirst().scheduledStartTime())
+                .containsExactly(0L, 50_000_000L, 100_000_000L, 150_000_000L);
+        // the third iteration starts 30ms late and is charged for it
+        assertThat(responses.get(2).latency()).isGreaterThanOrEqualTo(31_000_000L);
+    }
+
+    @Test
+    void pauseForThinkTimeAfterResponses() throws InterruptedException {
+        var listener = new CollectingEventListener();
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            var strategy = ClosedWorldStrategy.of(1, 3, ThinkTime.constant(Duration.ofMillis(20)));
+            strategy.execute(
+                    () -> (parameters) -> {
+                        var start = System.nanoTime();
+                        return SamplerResponse.empty(start, System.nanoTime());
+                    },
+                    new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                    journal,
+                    LatencyRecorders.create(EnumSet.noneOf(PauseDetectorKind.class)),
+                    new DispatchLagRecorder());
+        }
 
-        @Override
-        public EventReader samplesReader() {
-            return () -> events.stream().iterator();
+        var responses = listener.events.stream()
+                .filter(SamplerResponse.class::isInstance)
+                .map(SamplerResponse.class::cast)
+                .toList();
+        assertThat(responses).hasSize(3);
+        // the next iteration is scheduled exactly one think time after a response
+        for (int i = 1; i < responses.size(); i++) {
+            assertThat(responses.get(i).scheduledStartTime()
+                            - responses.get(i - 1).stopTime())
+                    .isEqualTo(20_000_000L);
+            assertThat(responses.get(i).timestamp())
+                    .isGreaterThanOrEqualTo(responses.get(i).scheduledStartTime());
         }
     }
 }
@@ -0,0 +1,48 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.EventListener;
+import io.roadrunner.api.measurments.EventReader;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Event listener that keeps every event it receives, for assertions in tests.
+ */
+class CollectingEventListener implements EventListener {
+
+    // Using thread-safe collection since events might be added from different threads
+    final List<Event> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onStart() {}
+
+    @Override
+    public void onEvent(Collection<? extends Event> batch) {
+        events.addAll(batch);
+    }
+
+    @Override
+    public void onStop() {}
+
+    @Override
+    public EventReader samplesReader() {
+        return () -> events.stream().iterator();
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.SynchronousQueue;
+import org.junit.jupiter.api.Test;
+
+class InFlightUsersTest {
+
+    @Test
+    void waitForMoreUsersThanPhaserPartiesLimit() throws InterruptedException {
+        var inFlightUsers = new InFlightUsers();
+        var users = new ArrayList<Phaser>();
+        for (int i = 0; i < 100_000; i++) {
+            users.add(inFlightUsers.enter());
+        }
+
+        var waiting = Thread.ofVirtual().start(inFlightUsers::awaitAllLeft);
+        users.subList(0, users.size() - 1).forEach(Phaser::arriveAndDeregister);
+        Thread.sleep(100);
+        assertThat(waiting.isAlive()).isTrue();
+
+        users.getLast().arriveAndDeregister();
+        await().atMost(Duration.ofSeconds(5)).until(() -> !waiting.isAlive());
+    }
+
+    @Test
+    void reuseDrainedPhasers() {
+        var inFlightUsers = new InFlightUsers();
+        // users come and go one at a time, a leaf empties and is registered with its group again
+        for (int i = 0; i < 3 * InFlightUsers.MAX_PARTIES; i++) {
+            inFlightUsers.enter().arriveAndDeregister();
+        }
+        var last = inFlightUsers.enter();
+        var waiting = Thread.ofVirtual().start(inFlightUsers::awaitAllLeft);
+
+        last.arriveAndDeregister();
+        await().atMost(Duration.ofSeconds(5)).until(() -> !waiting.isAlive());
+    }
+
+    @Test
+    void enterWhileTheLastUserLeaves() throws InterruptedException {
+        var leaving = new SynchronousQueue<Phaser>();
+        var leaver = Thread.ofPlatform().daemon().start(() -> {
+            try {
+                while (true) {
+                    leaving.take().arriveAndDeregister();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        var arrivals = Thread.ofPlatform().daemon().start(() -> {
+            var inFlightUsers = new InFlightUsers();
+            try {
+                // the only user leaves while the next one enters its leaf
+                for (int i = 0; i < 100_000; i++) {
+                    leaving.put(inFlightUsers.enter());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlightUsers.awaitAllLeft();
+        });
+
+        arrivals.join(Duration.ofSeconds(30));
+        leaver.interrupt();
+        assertThat(arrivals.isAlive()).isFalse();
+    }
+}
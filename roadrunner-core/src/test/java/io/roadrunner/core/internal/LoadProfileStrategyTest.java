@@ -0,0 +1,71 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.latency.LatencyRecorder;
+import io.roadrunner.api.parameters.SamplerParameters;
+import io.roadrunner.core.LoadProfile;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Test;
+
+class LoadProfileStrategyTest {
+
+    @Test
+    void runStagesInOrderLabellingThemInJournal() throws InterruptedException {
+        var listener = new CollectingEventListener();
+        var profile = LoadProfile.of(List.of(
+                LoadProfile.Stage.ramp("ramp", 0, 150, Duration.ofMillis(300)),
+                LoadProfile.Stage.users("users", 2, Duration.ofMillis(200))));
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            LoadProfileStrategy.of(profile)
+                    .execute(
+                            () -> (parameters) -> {
+                                var start = System.nanoTime();
+                                LockSupport.parkNanos(1_000_000);
+                                return SamplerResponse.empty(start, System.nanoTime());
+                            },
+                            new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                            journal,
+                            LatencyRecorder.noop(),
+                            new DispatchLagRecorder());
+        }
+
+        // 0 to 150/s over 300ms is 22.5 arrivals
+        var stages = listener.events.stream()
+                .filter(StageEvent.class::isInstance)
+                .map(StageEvent.class::cast)
+                .toList();
+        assertThat(stages).extracting(StageEvent::label).containsExactly("ramp", "users");
+        var usersStart = stages.get(1).timestamp();
+        assertThat(listener.events)
+                .filteredOn(SamplerResponse.class::isInstance)
+                .filteredOn(e -> e.timestamp() < usersStart)
+                .hasSize(22)
+                .allMatch(e -> e.timestamp() > stages.get(0).timestamp());
+        assertThat(listener.events)
+                .filteredOn(SamplerResponse.class::isInstance)
+                .filteredOn(e -> e.timestamp() > usersStart)
+                .isNotEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+    @Test
+    void rejectsCapacityWhichIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new MpscRingBuffer<>(100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerFailsWhenFullAndSucceedsAfterDrain() {
+        var buffer = new MpscRingBuffer<Integer>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+
+        var drained = new ArrayList<Integer>();
+        assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.drainTo(drained, Integer.MAX_VALUE)).isEqualTo(4);
+
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void preservesPerProducerOrderUnderContention() throws Exception {
+        var producers = 4;
+        var perProducer = 50_000;
+        var buffer = new MpscRingBuffer<long[]>(1024);
+        var drained = new ArrayList<long[]>(producers * perProducer);
+
+        try (var executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                var producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        var element = new long[] {producer, i};
+                        while (!buffer.offer(element)) {
+                            Thread.yield();
+                        }
+                    }
+                });
+            }
+            while (drained.size() < producers * perProducer) {
+                if (buffer.drainTo(drained, 1000) == 0) {
+                    Thread.yield();
+                }
+            }
+        }
+
+        var lastSeen = new HashMap<Long, Long>();
+        for (var element : drained) {
+            var previous = lastSeen.put(element[0], element[1]);
+            assertThat(element[1]).isEqualTo(previous == null ? 0 : previous + 1);
+        }
+        assertThat(lastSeen.values()).containsOnly((long) perProducer - 1);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
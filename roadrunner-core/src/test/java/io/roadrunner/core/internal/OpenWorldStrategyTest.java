@@ -16,27 +16,38 @@
 package io.roadrunner.core.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.InstanceOfAssertFactories.collection;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 
-import io.roadrunner.api.events.Event;
-import io.roadrunner.api.events.EventListener;
+import io.roadrunner.api.events.MeasurementError;
 import io.roadrunner.api.events.SamplerResponse;
 import io.roadrunner.api.events.UserEvent;
 import io.roadrunner.api.latency.LatencyRecorder;
-import io.roadrunner.api.measurments.EventReader;
 import io.roadrunner.api.parameters.SamplerParameters;
+import io.roadrunner.api.samplers.AsyncSampler;
+import io.roadrunner.api.samplers.AsyncSamplerProvider;
+import io.roadrunner.api.samplers.Sampler;
+import io.roadrunner.core.ArrivalProcess;
+import io.roadrunner.core.ArrivalTiming;
+import io.roadrunner.shaded.hdrhistogram.EncodableHistogram;
+import io.roadrunner.shaded.hdrhistogram.Histogram;
+import io.roadrunner.shaded.hdrhistogram.HistogramLogReader;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class OpenWorldStrategyTest {
 
     @Test
     void fireRequestsAtTargetRate() throws InterruptedException {
-        var listener = new CollectionEventListener();
+        var listener = new CollectingEventListener();
 
         try (var journal = new QueueingSamplerResponsesJournal(listener)) {
             journal.start();
@@ -49,7 +60,8 @@ class OpenWorldStrategyTest {
                     },
                     new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
                     journal,
-                    LatencyRecorder.noop());
+                    LatencyRecorder.noop(),
+                    new DispatchLagRecorder());
         }
 
         assertThat(listener.events).first(type(UserEvent.Enter.class)).satisfies(e -> assertThat(e.timestamp())
@@ -70,23 +82,152 @@ class OpenWorldStrategyTest {
                 });
     }
 
-    private static class CollectionEventListener implements EventListener {
-        final List<Event> events = new CopyOnWriteArrayList<>();
+    @Test
+    void stopAllDispatchersAndRethrowWhenOneFails() {
+        var listener = new CollectingEventListener();
+        var samplers = new AtomicInteger();
+
+        var started = System.nanoTime();
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            // a slow rate keeps the dispatchers parked between arrivals most of the time
+            var strategy =
+                    OpenWorldStrategy.of(2, Duration.ofMinutes(1), 3, ArrivalTiming.PARK, ArrivalProcess.periodic());
+            assertThatThrownBy(() -> strategy.execute(
+                            () -> {
+                                if (samplers.incrementAndGet() > 2) {
+                                    throw new IllegalStateException("no more samplers");
+                                }
+                                return parameters -> SamplerResponse.empty(System.nanoTime(), System.nanoTime());
+                            },
+                            new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                            journal,
+                            LatencyRecorder.noop(),
+                            new DispatchLagRecorder()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("no more samplers");
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(10));
+        // users that were submitted still left
+        assertThat(listener.events).filteredOn(UserEvent.Exit.class::isInstance).hasSize(2);
+    }
+
+    @Test
+    void completeAsyncRequestsWithoutThreadPerArrival() throws InterruptedException {
+        var listener = new CollectingEventListener();
+        var requests = new AtomicInteger();
+        var provider = new AsyncSamplerProvider() {
+            @Override
+            public AsyncSampler newAsyncSampler() {
+                return parameters -> {
+                    var start = System.nanoTime();
+                    if (requests.incrementAndGet() % 2 == 0) {
+                        return CompletableFuture.failedStage(new IllegalStateException("failed"));
+                    }
+                    return CompletableFuture.supplyAsync(
+                            () -> SamplerResponse.empty(start, System.nanoTime()),
+                            CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+                };
+            }
 
-        @Override
-        public void onStart() {}
+            @Override
+            public Sampler newSampler() {
+                throw new AssertionError("synchronous sampler used");
+            }
+        };
 
-        @Override
-        public void onEvent(Collection<? extends Event> batch) {
-            events.addAll(batch);
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            OpenWorldStrategy.of(20, Duration.ofSeconds(1))
+                    .execute(
+                            provider,
+                            new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                            journal,
+                            LatencyRecorder.noop(),
+                            new DispatchLagRecorder());
         }
 
-        @Override
-        public void onStop() {}
+        // every arrival has left by the time execute returns, either with a response or an error
+        var arrivals = requests.get();
+        assertThat(listener.events)
+                .filteredOn(UserEvent.Enter.class::isInstance)
+                .hasSize(arrivals);
+        assertThat(listener.events).filteredOn(UserEvent.Exit.class::isInstance).hasSize(arrivals);
+        assertThat(listener.events)
+                .filteredOn(MeasurementError.class::isInstance)
+                .hasSize(arrivals / 2);
+        assertThat(listener.events)
+                .filteredOn(SamplerResponse.class::isInstance)
+                .hasSize(arrivals - arrivals / 2);
+    }
 
-        @Override
-        public EventReader samplesReader() {
-            return () -> events.stream().iterator();
+    @Test
+    void splitArrivalsAcrossDispatchers() throws InterruptedException {
+        var listener = new CollectingEventListener();
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            OpenWorldStrategy.of(
+                            1000, Duration.ofMillis(500), 2, ArrivalTiming.SPIN_THEN_PARK, ArrivalProcess.periodic())
+                    .execute(
+                            () -> (parameters) -> {
+                                var start = System.nanoTime();
+                                return SamplerResponse.empty(start, System.nanoTime());
+                            },
+                            new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                            journal,
+                            LatencyRecorder.noop(),
+                            new DispatchLagRecorder());
         }
+
+        // every arrival before the deadline is issued exactly once, 1ms apart, whichever dispatcher owns it
+        var scheduledStartTimes = listener.events.stream()
+                .filter(SamplerResponse.class::isInstance)
+                .mapToLong(e -> ((SamplerResponse<?>) e).scheduledStartTime())
+                .sorted()
+                .toArray();
+        assertThat(scheduledStartTimes).hasSize(499);
+        for (int i = 1; i < scheduledStartTimes.length; i++) {
+            assertThat(scheduledStartTimes[i] - scheduledStartTimes[i - 1]).isEqualTo(1_000_000L);
+        }
+    }
+
+    @Test
+    void recordDispatchLagOfScheduledUsers(@TempDir Path outputDir) throws Exception {
+        var dispatchLag = new DispatchLagRecorder();
+
+        try (var journal = new QueueingSamplerResponsesJournal(new CollectingEventListener())) {
+            journal.start();
+            OpenWorldStrategy.of(100, Duration.ofMillis(500))
+                    .execute(
+                            () -> (parameters) -> {
+                                var start = System.nanoTime();
+                                return SamplerResponse.empty(start, System.nanoTime());
+                            },
+                            new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                            journal,
+                            LatencyRecorder.noop(),
+                            dispatchLag);
+        }
+        dispatchLag.writeSnapshot(outputDir);
+
+        // one tagged histogram per kind of lag, both counting every one of the 49 arrivals
+        var lags = new HashMap<String, Long>();
+        try (var reader = new HistogramLogReader(
+                outputDir.resolve(DispatchLagRecorder.FILE_NAME).toFile())) {
+            EncodableHistogram next;
+            while ((next = reader.nextIntervalHistogram()) != null) {
+                lags.put(next.getTag(), ((Histogram) next).getTotalCount());
+            }
+        }
+        assertThat(lags)
+                .containsOnly(
+                        entry(DispatchLagRecorder.SUBMISSION_TAG, 49L),
+                        entry(DispatchLagRecorder.THREAD_START_TAG, 49L));
+
+        // a later run into the same directory with nothing to record doesn't leave these lags behind
+        new DispatchLagRecorder().writeSnapshot(outputDir);
+        assertThat(outputDir.resolve(DispatchLagRecorder.FILE_NAME)).doesNotExist();
     }
 }
@@ -0,0 +1,272 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.roadrunner.api.parameters.ParameterSource;
+import io.roadrunner.api.parameters.ParameterTable;
+import io.roadrunner.api.parameters.SamplerParameters;
+import io.roadrunner.core.ParameterAccess;
+import io.roadrunner.shaded.hdrhistogram.EncodableHistogram;
+import io.roadrunner.shaded.hdrhistogram.Histogram;
+import io.roadrunner.shaded.hdrhistogram.HistogramLogReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParameterCarouselTest {
+
+    private static final SamplerParameters[] ROWS = rows(10);
+
+    @Test
+    void cycleThroughAllRowsFromSpreadOffsets() {
+        var carousel = new ParameterCarousel(ROWS, ParameterAccess.ROUND_ROBIN, 1);
+
+        assertThat(draw(carousel.cursor(0, 2), 12)).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 0, 1);
+        assertThat(draw(carousel.cursor(1, 2), 6)).containsExactly(5, 6, 7, 8, 9, 0);
+    }
+
+    @Test
+    void cycleThroughOwnSliceOfRows() {
+        var carousel = new ParameterCarousel(ROWS, ParameterAccess.PARTITIONED, 1);
+
+        assertThat(draw(carousel.cursor(0, 3), 5)).containsExactly(0, 1, 2, 0, 1);
+        assertThat(draw(carousel.cursor(1, 3), 5)).containsExactly(3, 4, 5, 3, 4);
+        assertThat(draw(carousel.cursor(2, 3), 5)).containsExactly(6, 7, 8, 9, 6);
+        // more users than rows share single rows
+        assertThat(draw(carousel.cursor(11, 20), 2)).containsExactly(5, 5);
+    }
+
+    @Test
+    void useEveryRowOnceAcrossCursors() {
+        var rows = rows(200);
+        var carousel = new ParameterCarousel(rows, ParameterAccess.SEQUENTIAL_ONCE, 1);
+        var first = carousel.cursor(0, 2);
+        var second = carousel.cursor(1, 2);
+
+        var drawn = new ArrayList<Integer>();
+        // interleaved, each cursor holds on to its own block of rows
+        var exhausted = false;
+        while (!exhausted) {
+            exhausted = true;
+            for (var cursor : List.of(first, second)) {
+                var row = cursor.next();
+                if (row != null) {
+                    drawn.add(index(row));
+                    exhausted = false;
+                }
+            }
+        }
+        assertThat(drawn).hasSize(200).doesNotHaveDuplicates();
+        assertThat(drawn.subList(0, 4)).containsExactly(0, ParameterCarousel.SEQUENTIAL_BLOCK, 1, 65);
+    }
+
+    @Test
+    void drawReproducibleRandomRows() {
+        var carousel = new ParameterCarousel(ROWS, ParameterAccess.RANDOM, 42);
+
+        var drawn = draw(carousel.cursor(0, 4), 1_000);
+        assertThat(drawn).isEqualTo(draw(carousel.cursor(0, 4), 1_000));
+        assertThat(drawn).isNotEqualTo(draw(carousel.cursor(1, 4), 1_000));
+        assertThat(new HashSet<>(drawn)).hasSize(10);
+    }
+
+    @Test
+    void carryCursorsOverToTheNextStage() {
+        var roundRobin = new ParameterCarousel(ROWS, ParameterAccess.ROUND_ROBIN, 1);
+        assertThat(draw(roundRobin.cursor(0, 2), 3)).containsExactly(0, 1, 2);
+        assertThat(draw(roundRobin.cursor(1, 2), 3)).containsExactly(5, 6, 7);
+        roundRobin.nextStage();
+        assertThat(draw(roundRobin.cursor(0, 1), 3)).containsExactly(3, 4, 5);
+
+        var random = new ParameterCarousel(ROWS, ParameterAccess.RANDOM, 42);
+        var firstStage = draw(random.cursor(0, 1), 1_000);
+        random.nextStage();
+        assertThat(draw(random.cursor(0, 1), 1_000)).isNotEqualTo(firstStage);
+    }
+
+    @Test
+    void viewTableRowsInPlaceUntilClosed() throws Exception {
+        var closed = new AtomicBoolean();
+        var table = new ParameterTable() {
+            @Override
+            public List<String> columns() {
+                return List.of("index");
+            }
+
+            @Override
+            public Class<?> typeOf(int column) {
+                return Integer.class;
+            }
+
+            @Override
+            public int size() {
+                return 10;
+            }
+
+            @Override
+            public Object valueAt(int row, int column) {
+                return row;
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        try (var carousel =
+                ParameterCarousel.from(() -> table, ParameterAccess.PARTITIONED, 1, 16, new DispatchLagRecorder())) {
+            assertThat(draw(carousel.cursor(1, 2), 6)).containsExactly(5, 6, 7, 8, 9, 5);
+            assertThat(closed).isFalse();
+        }
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void streamEveryRowOnceAcrossCursors() throws Exception {
+        ParameterSource source = () -> () -> Arrays.asList(rows(1_000)).iterator();
+
+        try (var carousel =
+                ParameterCarousel.from(source, ParameterAccess.STREAMING, 1, 16, new DispatchLagRecorder())) {
+            var first = carousel.cursor(0, 2);
+            var second = carousel.cursor(1, 2);
+            var drawn = new ArrayList<Integer>();
+            var exhausted = false;
+            while (!exhausted) {
+                exhausted = true;
+                for (var cursor : List.of(first, second)) {
+                    var row = cursor.next();
+                    if (row != null) {
+                        drawn.add(index(row));
+                        exhausted = false;
+                    }
+                }
+            }
+            assertThat(drawn).hasSize(1_000).doesNotHaveDuplicates();
+            // once the source ran out, it stays out
+            assertThat(carousel.cursor(0, 2).next()).isNull();
+        }
+    }
+
+    @Test
+    void recordWaitsForSlowSource(@TempDir Path outputDir) throws Exception {
+        var rows = rows(8);
+        // the first 4 rows fill the buffer, every later one takes a while
+        ParameterSource source = () -> () -> IntStream.range(0, rows.length)
+                .mapToObj(i -> {
+                    if (i >= 4) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+                    }
+                    return rows[i];
+                })
+                .iterator();
+        var dispatchLag = new DispatchLagRecorder();
+
+        try (var carousel = ParameterCarousel.from(source, ParameterAccess.STREAMING, 1, 4, dispatchLag)) {
+            var cursor = carousel.cursor(0, 1);
+            var drawn = new ArrayList<Integer>();
+            for (var row = cursor.next(); row != null; row = cursor.next()) {
+                drawn.add(index(row));
+            }
+            assertThat(drawn).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        }
+        dispatchLag.writeSnapshot(outputDir);
+
+        var waits = 0L;
+        try (var reader = new HistogramLogReader(
+                outputDir.resolve(DispatchLagRecorder.FILE_NAME).toFile())) {
+            EncodableHistogram next;
+            while ((next = reader.nextIntervalHistogram()) != null) {
+                if (DispatchLagRecorder.PARAMETER_WAIT_TAG.equals(next.getTag())) {
+                    waits += ((Histogram) next).getTotalCount();
+                }
+            }
+        }
+        assertThat(waits).isBetween(1L, 4L);
+    }
+
+    @Test
+    void stopWaitingForRowsOnceClosed() throws Exception {
+        var rows = rows(4);
+        // the first 4 rows fill the buffer, then the source blocks until it is interrupted
+        ParameterSource source = () -> () -> IntStream.iterate(0, i -> i + 1)
+                .mapToObj(i -> {
+                    if (i < rows.length) {
+                        return rows[i];
+                    }
+                    while (!Thread.interrupted()) {
+                        LockSupport.park();
+                    }
+                    throw new UncheckedIOException(new ClosedByInterruptException());
+                })
+                .iterator();
+        var carousel = ParameterCarousel.from(source, ParameterAccess.STREAMING, 1, 4, new DispatchLagRecorder());
+        var cursor = carousel.cursor(0, 1);
+        assertThat(draw(cursor, 4)).containsExactly(0, 1, 2, 3);
+
+        var waiting = new CompletableFuture<SamplerParameters>();
+        Thread.ofVirtual().start(() -> waiting.complete(cursor.next()));
+        carousel.close();
+
+        assertThat(waiting).succeedsWithin(Duration.ofSeconds(5)).isNull();
+    }
+
+    @Test
+    void refuseSourceWithoutRows() {
+        ParameterSource source = () -> Collections::emptyIterator;
+
+        assertThatThrownBy(() ->
+                        ParameterCarousel.from(source, ParameterAccess.STREAMING, 1, 4, new DispatchLagRecorder()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("zero rows");
+    }
+
+    private static List<Integer> draw(ParameterCarousel.Cursor cursor, int count) {
+        var drawn = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; i++) {
+            drawn.add(index(cursor.next()));
+        }
+        return drawn;
+    }
+
+    private static int index(SamplerParameters row) {
+        return (Integer) row.valueOf("index");
+    }
+
+    private static SamplerParameters[] rows(int count) {
+        var rows = new SamplerParameters[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = SamplerParameters.of("index", i);
+        }
+        return rows;
+    }
+}
@@ -15,24 +15,27 @@
  */
 package io.roadrunner.core.internal;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 import io.roadrunner.api.events.Event;
-import io.roadrunner.api.events.EventListener;
 import io.roadrunner.api.events.SamplerResponse;
-import io.roadrunner.api.measurments.EventReader;
+import io.roadrunner.api.samplers.BodyRetention;
+import io.roadrunner.core.JournalWaitStrategy;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.CRC32C;
 import org.junit.jupiter.api.Test;
 
 class QueueingSamplerResponsesJournalTest {
 
     @Test
     void drainResponseJournal() {
-        var listener = new CollectionEventListener();
+        var listener = new CollectingEventListener();
         var response1 = SamplerResponse.response(0, 0, "1");
         var response2 = SamplerResponse.response(0, 0, "2");
         var response3 = SamplerResponse.response(0, 0, "3");
@@ -41,39 +44,215 @@ class QueueingSamplerResponsesJournalTest {
 
         try (var journal = new QueueingSamplerResponsesJournal(listener)) {
             journal.start();
-            journal.response(response1);
-            journal.response(response2);
-            journal.response(response3);
-            journal.response(response4);
-            journal.response(response5);
+            var writer = journal.newWriter(BodyRetention.FULL);
+            writer.response(response1);
+            writer.response(response2);
+            writer.response(response3);
+            writer.response(response4);
+            writer.response(response5);
+            writer.flush();
         }
 
         // Wait for responses to be processed before closing
-        await().atMost(Duration.ofSeconds(5)).until(() -> listener.responses.size() >= 5);
+        await().atMost(Duration.ofSeconds(5)).until(() -> listener.events.size() >= 5);
 
         // Verify all responses were processed correctly
-        assertThat(listener.responses).containsExactly(response1, response2, response3, response4, response5);
+        assertThat(listener.events).containsExactly(response1, response2, response3, response4, response5);
     }
 
-    private static class CollectionEventListener implements EventListener {
+    @Test
+    void countsUsersStalledOnFullJournal() throws Exception {
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var listener = new CollectingEventListener() {
+            @Override
+            public void onEvent(Collection<? extends Event> batch) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvent(batch);
+            }
+        };
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener, 2, JournalWaitStrategy.PARK)) {
+            journal.start();
+            // the journal thread takes the first chunk and blocks in the listener, the next two
+            // fill the ring buffer and the last one has to wait for a free slot
+            var writer = journal.newWriter(BodyRetention.FULL);
+            writer.response(SamplerResponse.response(0, 0, "0"));
+            writer.flush();
+            blocked.await();
+            var producer = Thread.ofVirtual().start(() -> {
+                for (int i = 1; i < 4; i++) {
+                    writer.response(SamplerResponse.response(i, i, Integer.toString(i)));
+                    writer.flush();
+                }
+            });
+            Thread.sleep(100);
+            release.countDown();
+            producer.join();
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> listener.events.size() == 4);
+            assertThat(journal.producerStalls()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void failUsersAndCloseWhenListenerFails() {
+        var listener = new CollectingEventListener() {
+            @Override
+            public void onEvent(Collection<? extends Event> batch) {
+                throw new IllegalArgumentException("listener failed");
+            }
+        };
+
+        var journal = new QueueingSamplerResponsesJournal(listener, 2, JournalWaitStrategy.PARK);
+        journal.start();
+        var writer = journal.newWriter(BodyRetention.FULL);
+        writer.response(SamplerResponse.response(0, 0, "0"));
+        writer.flush();
+        await().atMost(Duration.ofSeconds(5)).until(() -> journal.failure() != null);
+
+        // with nobody draining the ring buffer, the user that finds it full fails rather than hangs
+        assertThatThrownBy(() -> {
+                    for (int i = 1; i < 4; i++) {
+                        writer.response(SamplerResponse.response(i, i, Integer.toString(i)));
+                        writer.flush();
+                    }
+                })
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("listener failed");
+        assertThatThrownBy(journal::close)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("responses journal failed")
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mergeUsersChunksByTimestamp() {
+        var listener = new CollectingEventListener();
+        var response1 = SamplerResponse.response(1, 1, "1");
+        var response2 = SamplerResponse.response(2, 2, "2");
+        var response3 = SamplerResponse.response(3, 3, "3");
+        var response4 = SamplerResponse.response(4, 4, "4");
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            // both chunks are waiting before the journal thread starts, so they end up in one batch
+            var writer1 = journal.newWriter(BodyRetention.FULL);
+            writer1.response(response1);
+            writer1.response(response3);
+            writer1.flush();
+            var writer2 = journal.newWriter(BodyRetention.FULL);
+            writer2.response(response2);
+            writer2.response(response4);
+            writer2.flush();
+            journal.start();
+        }
 
-        // Using thread-safe collection since events might be added from different threads
-        List<Event> responses = new CopyOnWriteArrayList<>();
+        await().atMost(Duration.ofSeconds(5)).until(() -> listener.events.size() >= 4);
+        assertThat(listener.events).containsExactly(response1, response2, response3, response4);
+    }
 
-        @Override
-        public void onStart() {}
+    @Test
+    void flushFullAndExpiredChunks() {
+        var listener = new CollectingEventListener();
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            var writer = journal.newWriter(BodyRetention.FULL);
+            for (int i = 0; i < JournalWriter.CHUNK_SIZE; i++) {
+                writer.response(SamplerResponse.response(0, 0, Integer.toString(i)));
+            }
+            await().atMost(Duration.ofSeconds(5)).until(() -> listener.events.size() == JournalWriter.CHUNK_SIZE);
 
-        @Override
-        public void onEvent(Collection<? extends Event> batch) {
-            responses.addAll(batch);
+            writer.response(SamplerResponse.response(0, 0, "first"));
+            writer.response(SamplerResponse.response(JournalWriter.MAX_CHUNK_SPAN_NANOS, 0, "late"));
+            await().atMost(Duration.ofSeconds(5)).until(() -> listener.events.size() == JournalWriter.CHUNK_SIZE + 2);
         }
+    }
+
+    @Test
+    void flushChunksThatExpireWhileUserIsIdle() {
+        var listener = new CollectingEventListener();
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            var writer = journal.newWriter(BodyRetention.FULL);
+            writer.response(SamplerResponse.response(0, 0, "first"));
 
-        @Override
-        public void onStop() {}
+            writer.idleUntil(JournalWriter.MAX_CHUNK_SPAN_NANOS - 1);
+            assertThat(listener.events).isEmpty();
 
-        @Override
-        public EventReader samplesReader() {
-            return () -> responses.stream().iterator();
+            writer.idleUntil(JournalWriter.MAX_CHUNK_SPAN_NANOS);
+            await().atMost(Duration.ofSeconds(5)).until(() -> listener.events.size() == 1);
         }
     }
+
+    @Test
+    void dropResponseBodiesWhenNotRetained() {
+        var listener = new CollectingEventListener();
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            var writer = journal.newWriter(BodyRetention.NONE);
+            writer.userEnters();
+            writer.response(SamplerResponse.response(1, 2, "body"));
+            writer.userExits();
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> listener.events.size() == 3);
+        assertThat(listener.events.get(1)).isEqualTo(SamplerResponse.response(1, 2, null));
+    }
+
+    @Test
+    void reduceResponseBodiesBeforeJournaling() {
+        var chunk = new EventChunk(2);
+
+        chunk.add(SamplerResponse.response(1, 2, "body"), BodyRetention.SIZE);
+        chunk.add(SamplerResponse.response(1, 2, new byte[] {1, 2, 3}), BodyRetention.CHECKSUM);
+        // sizes are counted as UTF-8 bytes, whatever the width of the characters
+        for (var body : List.of("zoë€😀", "lone \uD83D surrogate", new StringBuilder("ünïcode"))) {
+            assertThat(BodyRetention.SIZE.retain(body))
+                    .isEqualTo((long) body.toString().getBytes(UTF_8).length);
+        }
+
+        var checksum = new CRC32C();
+        checksum.update(new byte[] {1, 2, 3});
+        assertThat(chunk.attachments).containsExactly(4L, checksum.getValue());
+    }
+
+    @Test
+    void journalShortLivedWritersInSmallChunks() {
+        var listener = new CollectingEventListener();
+
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            var writer = journal.newShortLivedWriter(BodyRetention.NONE);
+            writer.userEnters();
+            // one more event than a short-lived chunk holds, the rest goes into a fresh chunk
+            for (int i = 0; i < JournalWriter.SHORT_LIVED_CHUNK_SIZE; i++) {
+                writer.response(SamplerResponse.response(i, i, null));
+            }
+            writer.userExits();
+        }
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> listener.events.size() == JournalWriter.SHORT_LIVED_CHUNK_SIZE + 2);
+    }
+
+    @Test
+    void reuseReleasedChunks() {
+        var pool = new ChunkPool(4, 8);
+        var chunk = pool.acquire();
+        chunk.add(SamplerResponse.response(1, 2, "body"), BodyRetention.FULL);
+
+        pool.release(chunk);
+
+        assertThat(chunk.size).isZero();
+        assertThat(chunk.attachments[0]).isNull();
+        assertThat(pool.acquire()).isSameAs(chunk);
+    }
 }
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class RequestBudgetTest {
+
+    @Test
+    void makeExactlyBudgetedRequestsAcrossUsers() throws Exception {
+        var users = 8;
+        var budget = new RequestBudget(1_000_003, users);
+
+        var made = new ArrayList<Future<Long>>();
+        try (var executor = Executors.newFixedThreadPool(users)) {
+            for (int i = 0; i < users; i++) {
+                made.add(executor.submit((Callable<Long>) () -> {
+                    var lease = budget.lease();
+                    long requests = 0;
+                    while (lease.tryAcquire()) {
+                        requests++;
+                    }
+                    return requests;
+                }));
+            }
+        }
+
+        long total = 0;
+        for (var requests : made) {
+            total += requests.get();
+        }
+        assertThat(total).isEqualTo(1_000_003);
+        assertThat(budget.remaining()).isZero();
+    }
+
+    @Test
+    void claimSmallerBlocksAsBudgetDrains() {
+        var budget = new RequestBudget(10_000, 2);
+        var lease = budget.lease();
+
+        // a quarter of a user's fair share, at most a full block
+        lease.tryAcquire();
+        assertThat(budget.remaining()).isEqualTo(10_000 - RequestBudget.MAX_BLOCK);
+
+        var last = budget.lease();
+        while (budget.remaining() > 3) {
+            last.tryAcquire();
+        }
+        // single requests once there are fewer left than users times four
+        assertThat(budget.remaining()).isEqualTo(3);
+        var other = budget.lease();
+        other.tryAcquire();
+        assertThat(budget.remaining()).isEqualTo(2);
+    }
+
+    @Test
+    void neverRunOutOfUnboundedBudget() {
+        var lease = new RequestBudget(RequestBudget.UNBOUNDED, 4).lease();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(lease.tryAcquire()).isTrue();
+        }
+    }
+}
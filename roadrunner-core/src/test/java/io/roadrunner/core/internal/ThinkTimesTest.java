@@ -0,0 +1,60 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.roadrunner.core.ThinkTime;
+import java.time.Duration;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class ThinkTimesTest {
+
+    @Test
+    void drawReproducibleThinkTimesPerUser() {
+        var thinkTime = ThinkTime.exponential(Duration.ofMillis(100), 42);
+        var user = thinkTime.schedule(0);
+
+        var pauses = LongStream.range(0, 10_000)
+                .map(i -> user.nextStart(0, 1_000) - 1_000)
+                .toArray();
+
+        assertThat(LongStream.of(pauses).average().orElseThrow()).isCloseTo(100_000_000.0, within(5_000_000.0));
+        assertThat(thinkTime.schedule(0).nextStart(0, 1_000) - 1_000).isEqualTo(pauses[0]);
+        assertThat(thinkTime.schedule(1).nextStart(0, 1_000) - 1_000).isNotEqualTo(pauses[0]);
+    }
+
+    @Test
+    void drawUniformThinkTimesWithinBounds() {
+        var user = ThinkTime.uniform(Duration.ofMillis(10), Duration.ofMillis(20), 1)
+                .schedule(0);
+
+        assertThat(LongStream.range(0, 1_000).map(i -> user.nextStart(0, 0)))
+                .allMatch(pause -> pause >= 10_000_000L && pause < 20_000_000L);
+        assertThatThrownBy(() -> ThinkTime.uniform(Duration.ofMillis(20), Duration.ofMillis(10), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void paceFromScheduledStartRegardlessOfResponse() {
+        var user = ThinkTime.pacing(Duration.ofSeconds(1)).schedule(0);
+
+        assertThat(user.nextStart(5_000_000_000L, 7_500_000_000L)).isEqualTo(6_000_000_000L);
+    }
+}
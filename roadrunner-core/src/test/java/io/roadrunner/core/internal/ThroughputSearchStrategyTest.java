@@ -0,0 +1,111 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.latency.LatencyRecorder;
+import io.roadrunner.api.parameters.SamplerParameters;
+import io.roadrunner.api.samplers.SamplerProvider;
+import io.roadrunner.core.ThroughputSearch;
+import java.time.Duration;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+class ThroughputSearchStrategyTest {
+
+    private static final long HOUR_NANOS = Duration.ofHours(1).toNanos();
+
+    @Test
+    void doubleUpToFirstBrokenRateThenBisect() throws InterruptedException {
+        var strategy = ThroughputSearchStrategy.of(
+                new ThroughputSearch(20, 320, Duration.ofMillis(100), 99.0, Duration.ofMillis(50), 20));
+        var probed = new ArrayList<Integer>();
+
+        // the service saturates above 100 users/s
+        var maxSustainedRate = strategy.search(rate -> {
+            probed.add(rate);
+            return new ThroughputSearchStrategy.Step(rate, rate, 0, rate <= 100);
+        });
+
+        // doubles up to 160, then bisects 80..160 down to 20 users/s apart
+        assertThat(probed).containsExactly(20, 40, 80, 160, 120, 100);
+        assertThat(maxSustainedRate).isEqualTo(100);
+    }
+
+    @Test
+    void stopAtUpperRateWhenEveryStepSustained() throws InterruptedException {
+        var strategy = ThroughputSearchStrategy.of(
+                new ThroughputSearch(20, 300, Duration.ofMillis(100), 99.0, Duration.ofMillis(50), 20));
+        var probed = new ArrayList<Integer>();
+
+        var maxSustainedRate = strategy.search(rate -> {
+            probed.add(rate);
+            return new ThroughputSearchStrategy.Step(rate, rate, 0, true);
+        });
+
+        assertThat(probed).containsExactly(20, 40, 80, 160, 300);
+        assertThat(maxSustainedRate).isEqualTo(300);
+    }
+
+    @Test
+    void journalStepsAndMaxSustainedRate() throws InterruptedException {
+        // responses without service time, far below the threshold whatever the dispatch lag
+        var listener = runSearch(0);
+
+        assertThat(listener.events)
+                .filteredOn(StageEvent.class::isInstance)
+                .extracting(e -> ((StageEvent) e).label())
+                .containsExactly("rate-20", "rate-40", "rate-80", StageEvent.MAX_SUSTAINED_RATE + 80);
+    }
+
+    @Test
+    void sustainNothingWhenFirstStepBreaksThreshold() throws InterruptedException {
+        // responses an hour late, far above the threshold, bisected down to 10 users/s apart from zero
+        var listener = runSearch(HOUR_NANOS);
+
+        assertThat(listener.events)
+                .filteredOn(StageEvent.class::isInstance)
+                .extracting(e -> ((StageEvent) e).label())
+                .containsExactly("rate-20", "rate-10", StageEvent.MAX_SUSTAINED_RATE + 0);
+    }
+
+    /**
+     * Searches 20..80 users/s against a sampler reporting every response {@code latencyNanos} after
+     * it started, with a threshold of a minute.
+     */
+    private static CollectingEventListener runSearch(long latencyNanos) throws InterruptedException {
+        SamplerProvider samplerProvider = () -> (parameters) -> {
+            var start = System.nanoTime();
+            return SamplerResponse.empty(start, start + latencyNanos);
+        };
+        var listener = new CollectingEventListener();
+        var strategy = ThroughputSearchStrategy.of(
+                new ThroughputSearch(20, 80, Duration.ofMillis(100), 99.0, Duration.ofMinutes(1), 10));
+        try (var journal = new QueueingSamplerResponsesJournal(listener)) {
+            journal.start();
+            strategy.execute(
+                    samplerProvider,
+                    new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                    journal,
+                    LatencyRecorder.noop(),
+                    new DispatchLagRecorder());
+        }
+        return listener;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.core.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.latency.LatencyRecorder;
+import io.roadrunner.api.measurments.StageSummary;
+import io.roadrunner.api.parameters.SamplerParameters;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Test;
+
+class WarmUpStrategyTest {
+
+    @Test
+    void journalWarmUpButLeaveItOutOfSummary() throws InterruptedException {
+        var listener = new CollectingEventListener();
+        var aggregates = new AggregatingEventListener(listener);
+        var recorded = new CountingLatencyRecorder();
+
+        try (var journal = new QueueingSamplerResponsesJournal(aggregates)) {
+            journal.start();
+            WarmUpStrategy.of(ClosedWorldStrategy.forDuration(2, Duration.ofMillis(400)), Duration.ofMillis(200))
+                    .execute(
+                            () -> (parameters) -> {
+                                var start = System.nanoTime();
+                                LockSupport.parkNanos(5_000_000);
+                                return SamplerResponse.empty(start, System.nanoTime());
+                            },
+                            new ParameterCarousel(new SamplerParameters[] {SamplerParameters.NONE}),
+                            journal,
+                            recorded,
+                            new DispatchLagRecorder());
+        }
+
+        var summary = aggregates.summary();
+        assertThat(summary.stages())
+                .extracting(StageSummary::label)
+                .containsExactly(StageEvent.WARM_UP, StageEvent.MEASUREMENT);
+        var warmUp = summary.stages().get(0);
+        var measurement = summary.stages().get(1);
+        assertThat(measurement.startTime() - warmUp.startTime()).isEqualTo(200_000_000L);
+        assertThat(warmUp.totalRequests()).isPositive();
+        assertThat(summary.totalRequests()).isPositive().isEqualTo(measurement.totalRequests());
+        assertThat(summary.firstStartTime()).isGreaterThanOrEqualTo(measurement.startTime());
+        // every response is journaled, only measured ones reach the latency recorder
+        assertThat(listener.events)
+                .filteredOn(SamplerResponse.class::isInstance)
+                .hasSize((int) (warmUp.totalRequests() + measurement.totalRequests()));
+        // give or take one response just about scheduled at the end of the warm-up
+        assertThat(recorded.count.sum()).isCloseTo(measurement.totalRequests(), within(1L));
+    }
+
+    private static class CountingLatencyRecorder implements LatencyRecorder {
+        final LongAdder count = new LongAdder();
+
+        @Override
+        public void record(long correctedLatencyNanos) {
+            count.increment();
+        }
+
+        @Override
+        public void writeSnapshot(Path outputDir) {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -16,10 +16,13 @@
 package io.roadrunner.output.csv;
 
 import io.roadrunner.api.events.Event;
+import io.roadrunner.api.events.EventBatch;
 import io.roadrunner.api.events.EventListener;
 import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
 import io.roadrunner.api.events.UserEvent;
 import io.roadrunner.api.measurments.EventReader;
+import io.roadrunner.api.measurments.Sample;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -61,32 +64,106 @@ public class CsvOutputEventListener implements EventListener {
             switch (response) {
                 case SamplerResponse.Error e -> appendResponseRow(e, "KO");
                 case SamplerResponse.Response<?> e -> appendResponseRow(e, "OK");
-                case UserEvent.Enter e -> rowBuilder.append("USER,").append(e.timestamp()).append(",ENTER");
-                case UserEvent.Exit e -> rowBuilder.append("USER,").append(e.timestamp()).append(",EXIT");
+                case UserEvent.Enter e ->
+                    rowBuilder.append("USER,").append(e.timestamp()).append(",ENTER");
+                case UserEvent.Exit e ->
+                    rowBuilder.append("USER,").append(e.timestamp()).append(",EXIT");
+                case StageEvent e -> appendStageRow(e.timestamp(), e.label());
                 default -> throw new IllegalStateException("Unexpected value: " + response);
             }
-            try {
-                bufferedWriter.append(rowBuilder);
-                bufferedWriter.newLine();
-            } catch (IOException e) {
-                LOG.error("cannot write csv output", e);
-                throw new RuntimeException(e);
+            writeRow();
+        }
+    }
+
+    @Override
+    public void onEvent(EventBatch batch) {
+        try (var cursor = batch.cursor()) {
+            while (cursor.next()) {
+                rowBuilder.setLength(0);
+                switch (cursor.kind()) {
+                    case RESPONSE ->
+                        appendResponseRow(
+                                cursor.scheduledStartTime(),
+                                cursor.timestamp(),
+                                cursor.stopTime(),
+                                cursor.latency(),
+                                cursor.status() == Sample.Status.OK ? "OK" : "KO",
+                                cursor.bytesReceived(),
+                                cursor.timeToFirstByte(),
+                                cursor.timeToRequestSent());
+                    case USER_ENTER ->
+                        rowBuilder.append("USER,").append(cursor.timestamp()).append(",ENTER");
+                    case USER_EXIT ->
+                        rowBuilder.append("USER,").append(cursor.timestamp()).append(",EXIT");
+                    // the exception can't be read back, there is nothing to persist
+                    case ERROR -> {
+                        continue;
+                    }
+                    case STAGE -> appendStageRow(cursor.timestamp(), cursor.label());
+                }
+                writeRow();
             }
         }
     }
 
+    private void writeRow() {
+        try {
+            bufferedWriter.append(rowBuilder);
+            bufferedWriter.newLine();
+        } catch (IOException e) {
+            LOG.error("cannot write csv output", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void appendStageRow(long timestamp, String label) {
+        // labels are free text, quoted the CSV way
+        rowBuilder
+                .append("STAGE,")
+                .append(timestamp)
+                .append(",\"")
+                .append(label.replace("\"", "\"\""))
+                .append('"');
+    }
+
     private void appendResponseRow(SamplerResponse<?> response, String status) {
+        appendResponseRow(
+                response.scheduledStartTime(),
+                response.timestamp(),
+                response.stopTime(),
+                response.latency(),
+                status,
+                response.bytesReceived(),
+                response.timeToFirstByte(),
+                response.timeToRequestSent());
+    }
+
+    private void appendResponseRow(
+            long scheduledStartTime,
+            long timestamp,
+            long stopTime,
+            long latency,
+            String status,
+            long bytesReceived,
+            long timeToFirstByte,
+            long timeToRequestSent) {
         rowBuilder
                 .append("REQ,")
-                .append(response.scheduledStartTime())
+                .append(scheduledStartTime)
+                .append(',')
+                .append(timestamp)
+                .append(',')
+                .append(stopTime)
+                .append(',')
+                .append(latency)
                 .append(',')
-                .append(response.timestamp())
+                .append(status)
                 .append(',')
-                .append(response.stopTime())
+                .append(bytesReceived)
                 .append(',')
-                .append(response.latency())
+                .append(timeToFirstByte)
                 .append(',')
-                .append(status);
+                .append(timeToRequestSent);
     }
 
     @Override
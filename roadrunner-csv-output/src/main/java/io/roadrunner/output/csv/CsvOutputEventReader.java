@@ -19,6 +19,7 @@ import static java.lang.Long.parseLong;
 
 import io.roadrunner.api.events.Event;
 import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
 import io.roadrunner.api.events.UserEvent;
 import io.roadrunner.api.measurments.EventReader;
 import io.roadrunner.api.measurments.Sample;
@@ -54,6 +55,7 @@ public class CsvOutputEventReader implements EventReader {
         return switch (type) {
             case "REQ" -> toResponse(record);
             case "USER" -> toUser(record);
+            case "STAGE" -> new StageEvent(parseLong(record.get(1)), record.get(2));
             default -> throw new IllegalStateException("Unexpected value: " + type);
         };
     }
@@ -74,15 +76,25 @@ public class CsvOutputEventReader implements EventReader {
         var stopTime = parseLong(record.get(3));
         var latency = parseLong(record.get(4));
         var status = Sample.Status.valueOf(record.get(5));
+        // files written before transfer metrics were recorded end with the status or time to first byte
+        var bytesReceived = record.size() > 6 ? parseLong(record.get(6)) : SamplerResponse.NOT_MEASURED;
+        var timeToFirstByte = record.size() > 7 ? parseLong(record.get(7)) : SamplerResponse.NOT_MEASURED;
+        var timeToRequestSent = record.size() > 8 ? parseLong(record.get(8)) : SamplerResponse.NOT_MEASURED;
         return switch (status) {
             case Sample.Status.OK ->
                 new SamplerResponse.Response<>(timestamp, stopTime, null)
                         .withLatency(latency)
-                        .withScheduledStartTime(scheduledStartTime);
+                        .withScheduledStartTime(scheduledStartTime)
+                        .withBytesReceived(bytesReceived)
+                        .withTimeToRequestSent(timeToRequestSent)
+                        .withTimeToFirstByte(timeToFirstByte);
             case Sample.Status.KO ->
                 new SamplerResponse.Error(timestamp, stopTime, null)
                         .withLatency(latency)
-                        .withScheduledStartTime(scheduledStartTime);
+                        .withScheduledStartTime(scheduledStartTime)
+                        .withBytesReceived(bytesReceived)
+                        .withTimeToRequestSent(timeToRequestSent)
+                        .withTimeToFirstByte(timeToFirstByte);
         };
     }
 }
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner;
+
+import io.roadrunner.api.Roadrunner;
+import io.roadrunner.core.Bootstrap;
+import io.roadrunner.samplers.zero.ZeroSamplerProvider;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of a closed-world user taking a request from the shared request budget: a run of a fixed
+ * number of requests against the zero sampler, so what is left is the load model's own
+ * overhead per request. Compare scores across {@code users} to see how it scales with contention.
+ */
+public class RequestBudgetBenchmarks {
+
+    private static final int REQUESTS = 1_000_000;
+
+    @State(Scope.Benchmark)
+    public static class ClosedWorldBudget {
+        private Roadrunner roadrunner;
+        private ZeroSamplerProvider samplerProvider;
+
+        @Param({"1", "2", "4", "8", "16", "32"})
+        private int users;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            roadrunner = new Bootstrap().withClosedWorldModel(users, REQUESTS).build();
+            samplerProvider = new ZeroSamplerProvider();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            roadrunner.close();
+            samplerProvider.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    @Fork(value = 1, warmups = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+    public void closedWorldRequests(ClosedWorldBudget benchmark) {
+        benchmark.roadrunner.execute(benchmark.samplerProvider);
+    }
+}
@@ -0,0 +1,300 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.parameters.csv;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.roadrunner.api.parameters.ParameterTable;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ParameterTable} memory-mapped from a column store file.
+ * <p>
+ * The file holds a header — the separator of the CSV file the store was built from, the column
+ * names, types and whether they are nullable — followed by the columns, one after another: a
+ * nullable column starts with a bitmap of its null rows, then come its values laid out as its
+ * {@link ColumnType} says. Every column is mapped as a whole, so rows live
+ * in the page cache rather than on the heap, values are read in place by row index, already typed,
+ * and only the values a sampler asks for are ever decoded. A mapped column is limited to 2 GiB, hence
+ * {@link #MAX_ROWS}.
+ * <p>
+ * {@link #close()} unmaps the columns right away, so the file can be deleted (or replaced) even
+ * where mapped files can't be, and no rows may be read after.
+ */
+public final class ColumnStore implements ParameterTable {
+
+    static final int MAGIC = 0x52525053; // "RRPS"
+    static final int VERSION = 1;
+    // the widest fixed-width type takes 12 bytes per row
+    static final int MAX_ROWS = Integer.MAX_VALUE / ColumnType.TIMESTAMP.width();
+
+    /**
+     * Name, type and nullability of a column.
+     */
+    record Column(String name, ColumnType type, boolean nullable) {}
+
+    static int nullWords(int rows) {
+        return (rows + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Returns the separator of the CSV file the column store {@code file} was built from. Reads the
+     * start of the header only.
+     */
+    static char separatorOf(Path file) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            checkVersion(in, file);
+            in.readInt();
+            in.readInt();
+            return in.readChar();
+        }
+    }
+
+    private static void checkVersion(DataInputStream in, Path file) throws IOException {
+        var magic = in.readInt();
+        var version = in.readInt();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException("%s is not a column store file (version %d)".formatted(file, version));
+        }
+    }
+
+    /**
+     * Maps the column store {@code file}.
+     */
+    public static ColumnStore open(Path file) throws IOException {
+        var arena = Arena.ofShared();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            checkVersion(in, file);
+            var columnCount = in.readInt();
+            var rows = in.readInt();
+            // the separator matters to CsvParameterSource only
+            in.readChar();
+            var position = 4L * Integer.BYTES + Character.BYTES;
+            var columns = new ArrayList<Column>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                var name = new String(in.readNBytes(in.readInt()), UTF_8);
+                var type = in.readUnsignedByte();
+                if (type >= ColumnType.values().length) {
+                    throw new IOException("unknown type %d of column %s in %s".formatted(type, name, file));
+                }
+                var nullable = in.readBoolean();
+                columns.add(new Column(name, ColumnType.values()[type], nullable));
+                // name length and bytes, type and nullable
+                position += Integer.BYTES + name.getBytes(UTF_8).length + 2;
+            }
+            var values = new Values[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                var column = columns.get(i);
+                ByteBuffer nulls = null;
+                if (column.nullable()) {
+                    nulls = map(channel, arena, position, (long) nullWords(rows) * Long.BYTES);
+                    position += (long) nullWords(rows) * Long.BYTES;
+                }
+                var width = column.type().width();
+                if (width == ColumnType.VARIABLE) {
+                    var offsets = map(channel, arena, position, (rows + 1L) * Integer.BYTES);
+                    position += (rows + 1L) * Integer.BYTES;
+                    var length = offsets.getInt(rows * Integer.BYTES);
+                    values[i] = new Values(column.type(), nulls, offsets, map(channel, arena, position, length));
+                    position += length;
+                } else {
+                    values[i] =
+                            new Values(column.type(), nulls, null, map(channel, arena, position, (long) rows * width));
+                    position += (long) rows * width;
+                }
+            }
+            return new ColumnStore(file, columns, values, rows, arena);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, Arena arena, long position, long length) throws IOException {
+        if (position + length > channel.size()) {
+            throw new IOException("truncated column store");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length, arena)
+                .asByteBuffer();
+    }
+
+    private final Path file;
+    private final List<String> names;
+    private final List<Column> columns;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final Values[] values;
+    private final int rows;
+    private final Arena arena;
+
+    private ColumnStore(Path file, List<Column> columns, Values[] values, int rows, Arena arena) {
+        this.file = file;
+        this.arena = arena;
+        this.names = columns.stream().map(Column::name).toList();
+        this.columns = List.copyOf(columns);
+        this.values = values;
+        this.rows = rows;
+        for (int i = 0; i < names.size(); i++) {
+            positions.putIfAbsent(names.get(i), i);
+        }
+    }
+
+    @Override
+    public List<String> columns() {
+        return names;
+    }
+
+    @Override
+    public Class<?> typeOf(int column) {
+        return columns.get(column).type().javaType();
+    }
+
+    @Override
+    public int size() {
+        return rows;
+    }
+
+    @Override
+    public Object valueAt(int row, int column) {
+        return values[column].valueAt(row);
+    }
+
+    @Override
+    public boolean isNull(int row, int column) {
+        return values[column].isNull(row);
+    }
+
+    @Override
+    public long longAt(int row, int column) {
+        return values[column].longAt(row);
+    }
+
+    @Override
+    public int intAt(int row, int column) {
+        return values[column].intAt(row);
+    }
+
+    @Override
+    public double doubleAt(int row, int column) {
+        return values[column].doubleAt(row);
+    }
+
+    @Override
+    public boolean booleanAt(int row, int column) {
+        return values[column].booleanAt(row);
+    }
+
+    @Override
+    public int columnOf(String name) {
+        return positions.getOrDefault(name, -1);
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    @Override
+    public String toString() {
+        return "column store " + file;
+    }
+
+    /**
+     * A mapped column. Reads go through absolute gets only, so it is safe to share between threads.
+     *
+     * @param nulls bitmap of null rows, {@code null} when the column isn't nullable
+     * @param offsets end offsets of variable-width values, {@code null} for fixed-width types
+     */
+    private record Values(ColumnType type, ByteBuffer nulls, ByteBuffer offsets, ByteBuffer data) {
+
+        boolean isNull(int row) {
+            return nulls != null && (nulls.getLong(row / Long.SIZE * Long.BYTES) & 1L << row) != 0;
+        }
+
+        // primitive columns are read as they are, anything else goes through its boxed value
+
+        long longAt(int row) {
+            return switch (type) {
+                case LONG -> data.getLong(row * Long.BYTES);
+                case INT -> data.getInt(row * Integer.BYTES);
+                default -> ((Number) valueAt(row)).longValue();
+            };
+        }
+
+        int intAt(int row) {
+            return type == ColumnType.INT ? data.getInt(row * Integer.BYTES) : ((Number) valueAt(row)).intValue();
+        }
+
+        double doubleAt(int row) {
+            return type == ColumnType.DOUBLE
+                    ? data.getDouble(row * Double.BYTES)
+                    : ((Number) valueAt(row)).doubleValue();
+        }
+
+        boolean booleanAt(int row) {
+            return type == ColumnType.BOOLEAN ? data.get(row) != 0 : (Boolean) valueAt(row);
+        }
+
+        Object valueAt(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            var width = type.width();
+            return switch (type) {
+                case LONG -> data.getLong(row * width);
+                case DOUBLE -> data.getDouble(row * width);
+                case INT -> data.getInt(row * width);
+                case BOOLEAN -> data.get(row) != 0;
+                case DATE -> LocalDate.ofEpochDay(data.getLong(row * width));
+                case TIME -> LocalTime.ofNanoOfDay(data.getLong(row * width));
+                case TIMESTAMP ->
+                    LocalDateTime.ofEpochSecond(
+                            data.getLong(row * width), data.getInt(row * width + Long.BYTES), ZoneOffset.UTC);
+                case STRING -> new String(bytes(row, 0), UTF_8);
+                case DECIMAL -> {
+                    var start = offsets.getInt(row * Integer.BYTES);
+                    yield new BigDecimal(new BigInteger(bytes(row, Integer.BYTES)), data.getInt(start));
+                }
+            };
+        }
+
+        private byte[] bytes(int row, int skip) {
+            var start = offsets.getInt(row * Integer.BYTES) + skip;
+            var bytes = new byte[offsets.getInt((row + 1) * Integer.BYTES) - start];
+            data.get(start, bytes);
+            return bytes;
+        }
+    }
+}
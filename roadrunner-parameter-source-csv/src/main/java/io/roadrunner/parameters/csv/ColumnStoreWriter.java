@@ -0,0 +1,215 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.parameters.csv;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Writes a {@link ColumnStore} file. Rows are appended one at a time and every column is spilled to
+ * a file of its own next to the store, so writing takes no more memory than a single row (and a
+ * bit per row of every nullable column) no matter how many rows there are. {@link #finish()} glues
+ * the columns together behind the header and moves the result in place of the store file,
+ * {@link #close()} without finishing leaves the store file as it was.
+ */
+final class ColumnStoreWriter implements AutoCloseable {
+
+    private final Path store;
+    private final char separator;
+    private final List<ColumnStore.Column> columns;
+    private final Path spill;
+    // fixed-width values, or end offsets of variable-width ones
+    private final DataOutputStream[] values;
+    // variable-width values
+    private final DataOutputStream[] data;
+    private final long[] dataBytes;
+    private final BitSet[] nulls;
+    private int rows;
+
+    /**
+     * Writes a store built from a CSV file with {@code separator}, which is recorded in the header
+     * to tell whether the store is stale.
+     */
+    ColumnStoreWriter(Path store, List<ColumnStore.Column> columns, char separator) throws IOException {
+        this.store = store;
+        this.separator = separator;
+        this.columns = List.copyOf(columns);
+        this.spill = Files.createTempDirectory(store.toAbsolutePath().getParent(), ".columns");
+        this.values = new DataOutputStream[columns.size()];
+        this.data = new DataOutputStream[columns.size()];
+        this.dataBytes = new long[columns.size()];
+        this.nulls = new BitSet[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            values[i] = open(spill.resolve(i + ".values"));
+            if (columns.get(i).type().width() == ColumnType.VARIABLE) {
+                data[i] = open(spill.resolve(i + ".data"));
+            }
+            if (columns.get(i).nullable()) {
+                nulls[i] = new BitSet();
+            }
+        }
+    }
+
+    /**
+     * Appends a row of values of the columns' {@link ColumnType#javaType() types}, {@code null}s
+     * allowed in nullable columns only.
+     */
+    void append(Object[] row) throws IOException {
+        if (row.length != columns.size()) {
+            throw new IllegalArgumentException(
+                    "row %d has %d values, but there are %d columns".formatted(rows + 1, row.length, columns.size()));
+        }
+        if (rows == ColumnStore.MAX_ROWS) {
+            throw new IOException("column store %s is limited to %d rows".formatted(store, ColumnStore.MAX_ROWS));
+        }
+        for (int i = 0; i < row.length; i++) {
+            var column = columns.get(i);
+            var value = row[i];
+            if (value == null) {
+                if (!column.nullable()) {
+                    throw new IllegalArgumentException(
+                            "row %d has no value in column %s".formatted(rows + 1, column.name()));
+                }
+                nulls[i].set(rows);
+                appendNull(i, column.type());
+            } else {
+                append(i, column, value);
+            }
+        }
+        rows++;
+    }
+
+    private void append(int i, ColumnStore.Column column, Object value) throws IOException {
+        var out = values[i];
+        switch (column.type()) {
+            case LONG -> out.writeLong(((Number) value).longValue());
+            case DOUBLE -> out.writeDouble(((Number) value).doubleValue());
+            case INT -> out.writeInt(((Number) value).intValue());
+            case BOOLEAN -> out.writeBoolean((Boolean) value);
+            case DATE -> out.writeLong(((LocalDate) value).toEpochDay());
+            case TIME -> out.writeLong(((LocalTime) value).toNanoOfDay());
+            case TIMESTAMP -> {
+                var timestamp = (LocalDateTime) value;
+                out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(timestamp.getNano());
+            }
+            case STRING -> appendVariable(i, column, value.toString().getBytes(UTF_8), 0);
+            case DECIMAL -> {
+                var decimal = (BigDecimal) value;
+                var unscaled = decimal.unscaledValue().toByteArray();
+                data[i].writeInt(decimal.scale());
+                appendVariable(i, column, unscaled, Integer.BYTES);
+            }
+        }
+    }
+
+    private void appendNull(int i, ColumnType type) throws IOException {
+        if (type.width() == ColumnType.VARIABLE) {
+            values[i].writeInt((int) dataBytes[i]);
+        } else {
+            values[i].write(new byte[type.width()]);
+        }
+    }
+
+    /**
+     * Appends {@code bytes} to the data of variable-width column {@code i}, which already took
+     * {@code written} bytes of the value.
+     */
+    private void appendVariable(int i, ColumnStore.Column column, byte[] bytes, int written) throws IOException {
+        dataBytes[i] += written + bytes.length;
+        if (dataBytes[i] > Integer.MAX_VALUE) {
+            throw new IOException(
+                    "column %s of column store %s exceeds %d bytes".formatted(column.name(), store, Integer.MAX_VALUE));
+        }
+        data[i].write(bytes);
+        values[i].writeInt((int) dataBytes[i]);
+    }
+
+    void finish() throws IOException {
+        closeSpills();
+        var written = spill.resolve("store");
+        try (var out = open(written)) {
+            out.writeInt(ColumnStore.MAGIC);
+            out.writeInt(ColumnStore.VERSION);
+            out.writeInt(columns.size());
+            out.writeInt(rows);
+            out.writeChar(separator);
+            for (var column : columns) {
+                var name = column.name().getBytes(UTF_8);
+                out.writeInt(name.length);
+                out.write(name);
+                out.writeByte(column.type().ordinal());
+                out.writeBoolean(column.nullable());
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                if (nulls[i] != null) {
+                    var words = nulls[i].toLongArray();
+                    for (int word = 0; word < ColumnStore.nullWords(rows); word++) {
+                        out.writeLong(word < words.length ? words[word] : 0);
+                    }
+                }
+                if (data[i] != null) {
+                    out.writeInt(0);
+                    Files.copy(spill.resolve(i + ".values"), out);
+                    Files.copy(spill.resolve(i + ".data"), out);
+                } else {
+                    Files.copy(spill.resolve(i + ".values"), out);
+                }
+            }
+        }
+        Files.move(written, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeSpills();
+        } finally {
+            try (var files = Files.list(spill)) {
+                for (var file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(spill);
+        }
+    }
+
+    private void closeSpills() throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            values[i].close();
+            if (data[i] != null) {
+                data[i].close();
+            }
+        }
+    }
+
+    private static DataOutputStream open(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.parameters.csv;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Type of a {@link ColumnStore} column, and how its values are laid out in the store file: either
+ * {@link #width()} bytes per row, or, for variable-width types, {@code rows + 1} 4-byte offsets into
+ * a block of bytes which holds the values one after another. The order is part of the file format.
+ */
+enum ColumnType {
+    /**
+     * 8-byte two's complement values.
+     */
+    LONG(Long.class, Long.BYTES),
+    /**
+     * 8-byte IEEE 754 values.
+     */
+    DOUBLE(Double.class, Double.BYTES),
+    /**
+     * UTF-8 bytes.
+     */
+    STRING(String.class, ColumnType.VARIABLE),
+    /**
+     * 4-byte two's complement values.
+     */
+    INT(Integer.class, Integer.BYTES),
+    /**
+     * 1 byte, 0 or 1.
+     */
+    BOOLEAN(Boolean.class, 1),
+    /**
+     * 4-byte scale followed by the two's complement bytes of the unscaled value.
+     */
+    DECIMAL(BigDecimal.class, ColumnType.VARIABLE),
+    /**
+     * 8-byte epoch day.
+     */
+    DATE(LocalDate.class, Long.BYTES),
+    /**
+     * 8-byte nano of day.
+     */
+    TIME(LocalTime.class, Long.BYTES),
+    /**
+     * 8-byte epoch second and 4-byte nano of second, of the date-time at UTC.
+     */
+    TIMESTAMP(LocalDateTime.class, Long.BYTES + Integer.BYTES);
+
+    static final int VARIABLE = -1;
+
+    private final Class<?> javaType;
+    private final int width;
+
+    ColumnType(Class<?> javaType, int width) {
+        this.javaType = javaType;
+        this.width = width;
+    }
+
+    Class<?> javaType() {
+        return javaType;
+    }
+
+    /**
+     * Returns the bytes per row, {@link #VARIABLE} for variable-width types.
+     */
+    int width() {
+        return width;
+    }
+}
@@ -38,26 +38,123 @@ import org.slf4j.LoggerFactory;
  * as the returned {@link ParameterFeed} is iterated. The engine drains the feed
  * once before the benchmark loop starts and then closes it, so all I/O happens
  * outside the hot path.
+ * <p>
+ * With a {@code store} file, the rows are compiled into a {@link ColumnStore} instead,
+ * which the engine maps and reads in place, so even multi-million-row files take
+ * next to no heap. The store is rebuilt only when it is missing, older than the
+ * CSV file (or the schema) or built with another separator; without a CSV file, a
+ * previously built store is mapped as it is.
+ * <p>
+ * With a {@code schema} file, values are parsed into the types the {@link CsvSchema}
+ * says, once, while the CSV file is loaded. Typed rows always go through a column store,
+ * a temporary one, deleted when the source is closed, unless a {@code store} is given. The
+ * temporary store is created on the first {@link #load()} and rebuilt by later ones, and the
+ * tables loaded from it must be closed before the source.
  */
 public final class CsvParameterSource implements ParameterSource {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CsvParameterSource.class);
+
     private final Path csvFile;
     private final char separator;
+    private final Path store;
+    private final Path schema;
+    private Path temporaryStore;
 
     public CsvParameterSource(Path csvFile, char separator) {
+        this(csvFile, separator, null, null);
+    }
+
+    /**
+     * @param csvFile CSV file, or {@code null} to map the {@code store} as it is
+     * @param store column store file, or {@code null} to load the rows onto the heap
+     * @param schema {@link CsvSchema} file, or {@code null} when all columns are strings
+     */
+    public CsvParameterSource(Path csvFile, char separator, Path store, Path schema) {
+        if (csvFile == null && store == null) {
+            throw new IllegalArgumentException("either a CSV file or a column store is required");
+        }
         this.csvFile = csvFile;
         this.separator = separator;
+        this.store = store;
+        this.schema = schema;
     }
 
     @Override
     public ParameterFeed load() throws IOException {
-        var format = CSVFormat.DEFAULT
+        if (store == null && schema == null) {
+            return CsvParameterFeed.of(csvFile, format());
+        }
+        var target = store;
+        if (target == null) {
+            if (temporaryStore == null) {
+                temporaryStore = Files.createTempFile("roadrunner-parameters-", ".columns");
+            }
+            target = temporaryStore;
+        }
+        if (csvFile != null && (target == temporaryStore || isStale())) {
+            buildStore(target);
+        }
+        LOG.info("Mapping parameters from column store {}", target);
+        return ColumnStore.open(target);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (temporaryStore != null) {
+            Files.deleteIfExists(temporaryStore);
+            temporaryStore = null;
+        }
+    }
+
+    private CSVFormat format() {
+        return CSVFormat.DEFAULT
                 .builder()
                 .setDelimiter(separator)
                 .setHeader()
                 .setSkipHeaderRecord(true)
                 .get();
-        return CsvParameterFeed.of(csvFile, format);
+    }
+
+    private boolean isStale() throws IOException {
+        if (!Files.exists(store)) {
+            return true;
+        }
+        var built = Files.getLastModifiedTime(store);
+        return Files.getLastModifiedTime(csvFile).compareTo(built) > 0
+                || schema != null && Files.getLastModifiedTime(schema).compareTo(built) > 0
+                || !builtWithSeparator();
+    }
+
+    private boolean builtWithSeparator() {
+        try {
+            return ColumnStore.separatorOf(store) == separator;
+        } catch (IOException e) {
+            LOG.debug("Column store {} can't be read, rebuilding it", store, e);
+            return false;
+        }
+    }
+
+    private void buildStore(Path target) throws IOException {
+        LOG.info("Building column store {} from CSV file {}", target, csvFile);
+        var rowSchema = schema == null ? CsvSchema.STRINGS : CsvSchema.read(schema);
+        try (var reader = Files.newBufferedReader(csvFile);
+                var parser = format().parse(reader)) {
+            var rows = rowSchema.parser(parser.getHeaderNames());
+            try (var writer = new ColumnStoreWriter(target, rows.columns(), separator)) {
+                for (var record : parser) {
+                    writer.append(rows.parse(record));
+                }
+                writer.finish();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        var description =
+                store == null ? "CSV file " + csvFile : "CSV file %s with column store %s".formatted(csvFile, store);
+        return schema == null ? description : description + " and schema " + schema;
     }
 
     private static class CsvParameterFeed implements ParameterFeed {
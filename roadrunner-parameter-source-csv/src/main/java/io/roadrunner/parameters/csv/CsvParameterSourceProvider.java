@@ -24,8 +24,11 @@ import java.util.Map;
  * <p>
  * Configuration keys:
  * <ul>
- *   <li>{@code file} — path to the CSV file (required)</li>
+ *   <li>{@code file} — path to the CSV file (required, unless {@code store} is given)</li>
  *   <li>{@code separator} — single-character column separator (default: {@code ,})</li>
+ *   <li>{@code store} — path to the column store built from the CSV file, see
+ *       {@link CsvParameterSource}</li>
+ *   <li>{@code schema} — path to the column types of the CSV file, see {@link CsvSchema}</li>
  * </ul>
  * <p>
  * CLI example: {@code --parameters-source csv:file=data.csv,separator=;}
@@ -39,8 +42,9 @@ public final class CsvParameterSourceProvider implements ParameterSourceProvider
 
     @Override
     public CsvParameterSource create(Map<String, String> configuration) {
-        var filePath = configuration.get("file");
-        if (filePath == null || filePath.isBlank()) {
+        var file = pathOf(configuration, "file");
+        var store = pathOf(configuration, "store");
+        if (file == null && store == null) {
             throw new IllegalArgumentException(
                     "CSV parameter source requires 'file' configuration key, e.g. csv:file=data.csv");
         }
@@ -49,6 +53,11 @@ public final class CsvParameterSourceProvider implements ParameterSourceProvider
             throw new IllegalArgumentException(
                     "CSV separator must be a single character, got: '%s'".formatted(separatorStr));
         }
-        return new CsvParameterSource(Path.of(filePath), separatorStr.charAt(0));
+        return new CsvParameterSource(file, separatorStr.charAt(0), store, pathOf(configuration, "schema"));
+    }
+
+    private static Path pathOf(Map<String, String> configuration, String key) {
+        var path = configuration.get(key);
+        return path == null || path.isBlank() ? null : Path.of(path);
     }
 }
@@ -0,0 +1,221 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.parameters.csv;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * Types of the columns of a CSV file, so that values are parsed once, while the CSV file is loaded,
+ * rather than handed to samplers as strings.
+ * <p>
+ * A schema is a CSV file itself, with a header and a row per typed column:
+ * <pre>
+ * column,type,nullable,format
+ * id,long
+ * score,double,true
+ * born,date,false,dd.MM.yyyy
+ * </pre>
+ * {@code type} is one of {@code string}, {@code boolean}, {@code int}, {@code long},
+ * {@code double}, {@code decimal}, {@code date}, {@code time} or {@code timestamp}. An empty value of
+ * a {@code nullable} column (false by default) is {@code null}; in any other column, it is an error,
+ * unless the column is a string. {@code format} is the {@link DateTimeFormatter} pattern of a
+ * {@code date}, {@code time} or {@code timestamp} column, ISO-8601 by default. Columns the schema
+ * doesn't mention are strings.
+ */
+final class CsvSchema {
+
+    /**
+     * Schema of CSV files whose columns are all strings.
+     */
+    static final CsvSchema STRINGS = new CsvSchema(Map.of());
+
+    private record Field(ColumnType type, boolean nullable, DateTimeFormatter format) {}
+
+    private static final Field STRING = new Field(ColumnType.STRING, false, null);
+
+    static CsvSchema read(Path file) throws IOException {
+        var format = CSVFormat.DEFAULT
+                .builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setTrim(true)
+                .get();
+        var fields = new LinkedHashMap<String, Field>();
+        try (var reader = Files.newBufferedReader(file);
+                var parser = format.parse(reader)) {
+            if (!parser.getHeaderMap().containsKey("column")
+                    || !parser.getHeaderMap().containsKey("type")) {
+                throw new IllegalArgumentException(
+                        "CSV schema %s requires 'column' and 'type' columns, e.g. column,type,nullable,format"
+                                .formatted(file));
+            }
+            for (var record : parser) {
+                var column = record.get("column");
+                var type = typeOf(record.get("type"), column);
+                var nullable = Boolean.parseBoolean(optional(record, "nullable"));
+                var pattern = optional(record, "format");
+                if (fields.put(column, new Field(type, nullable, formatOf(type, pattern, column))) != null) {
+                    throw new IllegalArgumentException(
+                            "column %s appears twice in CSV schema %s".formatted(column, file));
+                }
+            }
+        }
+        return new CsvSchema(fields);
+    }
+
+    private static String optional(CSVRecord record, String name) {
+        return record.isSet(name) ? record.get(name) : "";
+    }
+
+    private static ColumnType typeOf(String type, String column) {
+        try {
+            return ColumnType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "unknown type '%s' of column %s, expected one of: string, boolean, int, long, double, decimal, date, time, timestamp"
+                            .formatted(type, column));
+        }
+    }
+
+    private static DateTimeFormatter formatOf(ColumnType type, String pattern, String column) {
+        if (pattern.isEmpty()) {
+            return switch (type) {
+                case DATE -> DateTimeFormatter.ISO_LOCAL_DATE;
+                case TIME -> DateTimeFormatter.ISO_LOCAL_TIME;
+                case TIMESTAMP -> DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+                default -> null;
+            };
+        }
+        if (type != ColumnType.DATE && type != ColumnType.TIME && type != ColumnType.TIMESTAMP) {
+            throw new IllegalArgumentException("column %s is a %s, only date, time and timestamp columns have a format"
+                    .formatted(column, type.name().toLowerCase(Locale.ROOT)));
+        }
+        return DateTimeFormatter.ofPattern(pattern);
+    }
+
+    private final Map<String, Field> fields;
+
+    private CsvSchema(Map<String, Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Returns the parser of rows of a CSV file with the {@code header}.
+     */
+    RowParser parser(List<String> header) {
+        var unknown = new HashSet<>(fields.keySet());
+        header.forEach(unknown::remove);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "CSV schema columns %s are missing from the CSV header %s".formatted(unknown, header));
+        }
+        return new RowParser(
+                header,
+                header.stream().map(name -> fields.getOrDefault(name, STRING)).toArray(Field[]::new));
+    }
+
+    static final class RowParser {
+        private final List<String> header;
+        private final Field[] fields;
+
+        private RowParser(List<String> header, Field[] fields) {
+            this.header = header;
+            this.fields = fields;
+        }
+
+        /**
+         * Returns the columns of the rows, typed as the schema says.
+         */
+        List<ColumnStore.Column> columns() {
+            var columns = new ArrayList<ColumnStore.Column>(fields.length);
+            for (int i = 0; i < fields.length; i++) {
+                columns.add(new ColumnStore.Column(header.get(i), fields[i].type(), fields[i].nullable()));
+            }
+            return columns;
+        }
+
+        /**
+         * Returns the values of {@code record}, parsed as the schema says.
+         */
+        Object[] parse(CSVRecord record) {
+            var values = record.values();
+            if (values.length != fields.length) {
+                throw new IllegalArgumentException("row %d has %d values, but the header has %d columns"
+                        .formatted(record.getRecordNumber(), values.length, fields.length));
+            }
+            var parsed = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                parsed[i] = parse(fields[i], values[i], record.getRecordNumber(), header.get(i));
+            }
+            return parsed;
+        }
+
+        private static Object parse(Field field, String value, long row, String column) {
+            if (value.isEmpty() && (field.nullable() || field.type() != ColumnType.STRING)) {
+                if (field.nullable()) {
+                    return null;
+                }
+                throw new IllegalArgumentException(
+                        "row %d has no value in column %s, which isn't nullable".formatted(row, column));
+            }
+            try {
+                return switch (field.type()) {
+                    case STRING -> value;
+                    case BOOLEAN -> parseBoolean(value.strip());
+                    case INT -> Integer.parseInt(value.strip());
+                    case LONG -> Long.parseLong(value.strip());
+                    case DOUBLE -> Double.parseDouble(value.strip());
+                    case DECIMAL -> new BigDecimal(value.strip());
+                    case DATE -> LocalDate.parse(value.strip(), field.format());
+                    case TIME -> LocalTime.parse(value.strip(), field.format());
+                    case TIMESTAMP -> LocalDateTime.parse(value.strip(), field.format());
+                };
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException(
+                        "row %d, column %s: cannot parse '%s' as %s"
+                                .formatted(
+                                        row, column, value, field.type().name().toLowerCase(Locale.ROOT)),
+                        e);
+            }
+        }
+
+        private static Boolean parseBoolean(String value) {
+            if (value.equalsIgnoreCase("true")) {
+                return Boolean.TRUE;
+            }
+            if (value.equalsIgnoreCase("false")) {
+                return Boolean.FALSE;
+            }
+            throw new IllegalArgumentException("not a boolean");
+        }
+    }
+}
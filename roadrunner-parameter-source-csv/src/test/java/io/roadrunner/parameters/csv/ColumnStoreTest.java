@@ -0,0 +1,153 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.parameters.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.roadrunner.parameters.csv.ColumnStore.Column;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ColumnStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readTypedColumnsInPlace() throws Exception {
+        var file = tempDir.resolve("users.columns");
+        try (var writer = new ColumnStoreWriter(
+                file,
+                List.of(
+                        new Column("id", ColumnType.LONG, false),
+                        new Column("score", ColumnType.DOUBLE, false),
+                        new Column("name", ColumnType.STRING, false)),
+                ',')) {
+            writer.append(new Object[] {1L, 0.5, "alice"});
+            writer.append(new Object[] {2, 1.5f, "zoë"});
+            writer.append(new Object[] {Long.MAX_VALUE, -1.0, ""});
+            writer.finish();
+        }
+
+        var unmapped = ColumnStore.open(file);
+        unmapped.close();
+        assertThatThrownBy(() -> unmapped.row(0).valueOf("id")).isInstanceOf(IllegalStateException.class);
+
+        try (var store = ColumnStore.open(file)) {
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.columns()).containsExactly("id", "score", "name");
+            assertThat(store.columnOf("name")).isEqualTo(2);
+            assertThat(store.columnOf("missing")).isEqualTo(-1);
+            assertThat(store.row(1).valueOf("id")).isEqualTo(2L);
+            assertThat(store.row(1).valueOf("score")).isEqualTo(1.5);
+            assertThat(store.row(1).valueOf("name")).isEqualTo("zoë");
+            assertThat(store.row(2).valueOf("id")).isEqualTo(Long.MAX_VALUE);
+            assertThat(store.row(2).valueOf("name")).isEqualTo("");
+
+            var bound = new ArrayList<String>();
+            store.row(0).forEach((i, type, value) -> bound.add(i + ":" + type.getSimpleName() + ":" + value));
+            assertThat(bound).containsExactly("0:Long:1", "1:Double:0.5", "2:String:alice");
+        }
+        // nothing is left behind next to the store
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void readNullableColumnsOfEveryType() throws Exception {
+        var file = tempDir.resolve("typed.columns");
+        var types = ColumnType.values();
+        var columns = Arrays.stream(types)
+                .map(type -> new Column(type.name().toLowerCase(Locale.ROOT), type, true))
+                .toList();
+        Object[] row = {
+            -7L,
+            2.5,
+            "text",
+            42,
+            true,
+            new BigDecimal("-12345678901234567890.0042"),
+            LocalDate.of(1969, 7, 20),
+            LocalTime.of(20, 17, 40, 123),
+            LocalDateTime.of(2026, 10, 18, 12, 30, 15, 999_999_999)
+        };
+        // every other row is all nulls, across more than a word of the null bitmaps
+        try (var writer = new ColumnStoreWriter(file, columns, ',')) {
+            for (int i = 0; i < 100; i++) {
+                writer.append(i % 2 == 0 ? row : new Object[types.length]);
+            }
+            writer.finish();
+        }
+
+        try (var store = ColumnStore.open(file)) {
+            assertThat(store.size()).isEqualTo(100);
+            for (int column = 0; column < types.length; column++) {
+                assertThat(store.typeOf(column)).isEqualTo(types[column].javaType());
+                assertThat(store.valueAt(98, column)).isEqualTo(row[column]);
+                assertThat(store.valueAt(99, column)).isNull();
+                assertThat(store.isNull(98, column)).isFalse();
+                assertThat(store.isNull(99, column)).isTrue();
+            }
+            // primitive columns are read without boxing, numbers widen and narrow across types
+            assertThat(store.longAt(98, 0)).isEqualTo(-7L);
+            assertThat(store.intAt(98, 0)).isEqualTo(-7);
+            assertThat(store.doubleAt(98, 1)).isEqualTo(2.5);
+            assertThat(store.longAt(98, 3)).isEqualTo(42L);
+            assertThat(store.intAt(98, 3)).isEqualTo(42);
+            assertThat(store.doubleAt(98, 3)).isEqualTo(42.0);
+            assertThat(store.booleanAt(98, 4)).isTrue();
+            assertThat(store.doubleAt(98, 5)).isEqualTo(((BigDecimal) row[5]).doubleValue());
+        }
+    }
+
+    @Test
+    void leaveStoreUntouchedWhenNotFinished() throws Exception {
+        var file = tempDir.resolve("users.columns");
+        assertThatThrownBy(() -> {
+                    try (var writer =
+                            new ColumnStoreWriter(file, List.of(new Column("id", ColumnType.LONG, false)), ',')) {
+                        writer.append(new Object[] {1L});
+                        writer.append(new Object[] {null});
+                    }
+                })
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("row 2");
+
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectFilesOtherThanStores() throws Exception {
+        var file = tempDir.resolve("data.csv");
+        Files.writeString(file, "name,value\nalice,1\n");
+
+        assertThatThrownBy(() -> ColumnStore.open(file)).hasMessageContaining("not a column store");
+    }
+}
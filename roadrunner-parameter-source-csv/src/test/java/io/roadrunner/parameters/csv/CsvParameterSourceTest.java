@@ -18,10 +18,13 @@ package io.roadrunner.parameters.csv;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.roadrunner.api.parameters.ParameterTable;
 import io.roadrunner.api.parameters.SamplerParameters;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -134,4 +137,156 @@ class CsvParameterSourceTest {
             assertThat(rows.get(1).valueOf("value")).isEqualTo("2");
         }
     }
+
+    @Test
+    void shouldBuildColumnStoreOnceAndViewRowsInPlace() throws Exception {
+        var csvFile = tempDir.resolve("data.csv");
+        var store = tempDir.resolve("data.columns");
+        Files.writeString(csvFile, "name,value\nalice,1\nbob,\n");
+
+        try (var source = new CsvParameterSource(csvFile, ',', store, null);
+                var feed = source.load()) {
+            assertThat(feed).isInstanceOf(ParameterTable.class);
+            List<SamplerParameters> rows = new ArrayList<>();
+            feed.forEach(rows::add);
+
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0).asMap()).isEqualTo(Map.of("name", "alice", "value", "1"));
+            assertThat(rows.get(1).valueOf("name")).isEqualTo("bob");
+            assertThat(rows.get(1).valueOf("value")).isEqualTo("");
+        }
+        var built = Files.getLastModifiedTime(store);
+
+        // an up-to-date store is reused, and a store on its own is enough
+        try (var source = new CsvParameterSource(csvFile, ',', store, null);
+                var feed = source.load()) {
+            assertThat(((ParameterTable) feed).size()).isEqualTo(2);
+        }
+        assertThat(Files.getLastModifiedTime(store)).isEqualTo(built);
+        try (var source = new CsvParameterSourceProvider().create(Map.of("store", store.toString()));
+                var feed = source.load()) {
+            assertThat(((ParameterTable) feed).row(1).valueOf("name")).isEqualTo("bob");
+        }
+    }
+
+    @Test
+    void shouldRebuildUnreadableColumnStore() throws Exception {
+        var csvFile = tempDir.resolve("data.csv");
+        var store = tempDir.resolve("data.columns");
+        Files.writeString(csvFile, "name\nalice\n");
+        // newer than the CSV file, but not a store this version can read
+        Files.writeString(store, "not a column store");
+
+        try (var source = new CsvParameterSource(csvFile, ',', store, null);
+                var feed = source.load()) {
+            assertThat(((ParameterTable) feed).row(0).valueOf("name")).isEqualTo("alice");
+        }
+    }
+
+    @Test
+    void shouldRebuildColumnStoreForAnotherSeparator() throws Exception {
+        var csvFile = tempDir.resolve("data.csv");
+        var store = tempDir.resolve("data.columns");
+        Files.writeString(csvFile, "name;value\nalice;1\n");
+
+        try (var source = new CsvParameterSource(csvFile, ',', store, null);
+                var feed = source.load()) {
+            assertThat(((ParameterTable) feed).columns()).containsExactly("name;value");
+        }
+        try (var source = new CsvParameterSource(csvFile, ';', store, null);
+                var feed = source.load()) {
+            assertThat(((ParameterTable) feed).columns()).containsExactly("name", "value");
+        }
+    }
+
+    @Test
+    void shouldParseValuesOnceAsSchemaSays() throws Exception {
+        var csvFile = tempDir.resolve("users.csv");
+        var schema = tempDir.resolve("users.schema");
+        Files.writeString(csvFile, "id,name,born,balance,active\n1,alice,20.07.1969,10.50,true\n2,,,,FALSE\n");
+        Files.writeString(schema, """
+                column,type,nullable,format
+                id,long
+                born,date,true,dd.MM.yyyy
+                balance,decimal,true
+                active,boolean
+                """);
+
+        try (var source = new CsvParameterSource(csvFile, ',', null, schema);
+                var feed = source.load()) {
+            var table = (ParameterTable) feed;
+            assertThat(table.columns()).containsExactly("id", "name", "born", "balance", "active");
+            assertThat(table.typeOf(0)).isEqualTo(Long.class);
+            assertThat(table.typeOf(2)).isEqualTo(LocalDate.class);
+
+            var alice = table.row(0);
+            assertThat(alice.valueOf("id")).isEqualTo(1L);
+            assertThat(alice.valueOf("name")).isEqualTo("alice");
+            assertThat(alice.valueOf("born")).isEqualTo(LocalDate.of(1969, 7, 20));
+            assertThat(alice.valueOf("balance")).isEqualTo(new BigDecimal("10.50"));
+            assertThat(alice.valueOf("active")).isEqualTo(true);
+
+            // empty values are nulls in nullable columns, and empty strings in string ones
+            var bound = new ArrayList<String>();
+            table.row(1).forEach((i, type, value) -> bound.add(type.getSimpleName() + "=" + value));
+            assertThat(bound)
+                    .containsExactly("Long=2", "String=", "LocalDate=null", "BigDecimal=null", "Boolean=false");
+        }
+    }
+
+    @Test
+    void shouldRejectValuesNotMatchingSchema() throws Exception {
+        var csvFile = tempDir.resolve("users.csv");
+        var schema = tempDir.resolve("users.schema");
+        Files.writeString(schema, "column,type\nid,int\n");
+
+        Files.writeString(csvFile, "id\n1\none\n");
+        try (var source = new CsvParameterSource(csvFile, ',', null, schema)) {
+            assertThatThrownBy(source::load)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("row 2, column id: cannot parse 'one' as int");
+        }
+
+        Files.writeString(csvFile, "id\n1\n\"\"\n");
+        try (var source = new CsvParameterSource(csvFile, ',', null, schema)) {
+            assertThatThrownBy(source::load)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("isn't nullable");
+        }
+
+        Files.writeString(csvFile, "key\n1\n");
+        try (var source = new CsvParameterSource(csvFile, ',', null, schema)) {
+            assertThatThrownBy(source::load)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("missing from the CSV header");
+        }
+    }
+
+    @Test
+    void shouldKeepOneTemporaryStorePerSourceUntilClosed() throws Exception {
+        var csvFile = tempDir.resolve("users.csv");
+        var schema = tempDir.resolve("users.schema");
+        Files.writeString(csvFile, "id\n1\n2\n");
+        Files.writeString(schema, "column,type\nid,long\n");
+        var before = temporaryStores();
+
+        try (var source = new CsvParameterSource(csvFile, ',', null, schema)) {
+            try (var feed = source.load()) {
+                assertThat(((ParameterTable) feed).size()).isEqualTo(2);
+            }
+            try (var feed = source.load()) {
+                assertThat(((ParameterTable) feed).row(1).valueOf("id")).isEqualTo(2L);
+                assertThat(temporaryStores()).hasSize(before.size() + 1);
+            }
+        }
+        assertThat(temporaryStores()).isEqualTo(before);
+    }
+
+    private static List<Path> temporaryStores() throws IOException {
+        try (var files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("roadrunner-parameters-"))
+                    .sorted()
+                    .toList();
+        }
+    }
 }
@@ -16,7 +16,13 @@
 package io.roadrunner.reports.console;
 
 import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.events.StageEvent;
+import io.roadrunner.api.measurments.EventCursor;
 import io.roadrunner.api.measurments.EventReader;
+import io.roadrunner.api.measurments.Measurements;
+import io.roadrunner.api.measurments.MeasurementsSummary;
+import io.roadrunner.api.measurments.Sample;
+import io.roadrunner.api.measurments.StageSummary;
 import io.roadrunner.api.reports.ReportGenerator;
 import io.roadrunner.shaded.hdrhistogram.EncodableHistogram;
 import io.roadrunner.shaded.hdrhistogram.Histogram;
@@ -28,8 +34,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.DoubleToLongFunction;
+import java.util.stream.Collectors;
 import org.apache.commons.text.StringSubstitutor;
 import org.apache.commons.text.io.StringSubstitutorReader;
 import org.apache.commons.text.lookup.StringLookupFactory;
@@ -42,41 +54,107 @@ final class ConsoleReportGenerator implements ReportGenerator {
         this.properties = properties;
     }
 
+    @Override
+    public void generateReport(Measurements measurements) throws IOException {
+        var summary = measurements.summary();
+        if (summary.isEmpty()) {
+            generateChart(measurements.samplesReader());
+            return;
+        }
+        // Ensure the progress bar line is terminated before the report starts
+        System.out.println();
+
+        // aggregated while the run was journaled, no need to read the output back
+        var snapshotPath = snapshotPath();
+        var aggregates = summary.get();
+        printReport(
+                aggregates.totalRequests(),
+                aggregates.errorRequests(),
+                aggregates.firstStartTime(),
+                aggregates.lastStopTime(),
+                snapshotPath != null
+                        ? LatencyStats.of(readSnapshotHistogram(snapshotPath))
+                        : LatencyStats.of(aggregates),
+                TransferStats.of(aggregates),
+                DispatchLagStats.of(dispatchLagPath()),
+                aggregates.stages().stream().map(StageStats::of).toList());
+    }
+
     @Override
     public void generateChart(EventReader eventReader) throws IOException {
         // Ensure the progress bar line is terminated before the report starts
         System.out.println();
 
+        var snapshotPath = snapshotPath();
+        var useSnapshot = snapshotPath != null;
+
+        // scan chunks of the journal in parallel (on the common fork-join pool) and merge the results
+        var chunks = eventReader.chunks(Runtime.getRuntime().availableProcessors());
+        var firstScan = scan(chunks, !useSnapshot, WarmUp.NONE);
+        var warmUp = WarmUp.of(firstScan.stageStarts);
+        // the warm-up's end may be journaled in any chunk, leave its responses out in another pass once it is known
+        var summary = warmUp == WarmUp.NONE ? firstScan : scan(chunks, !useSnapshot, warmUp);
+        // a stage's responses may be spread over chunks other than its stage event's, attribute them in a second pass
+        var stages = summary.stageStarts.isEmpty()
+                ? List.<StageStats>of()
+                : chunks.parallelStream()
+                        .map(chunk -> StagesScan.scan(chunk, firstScan.stageStarts))
+                        .reduce(StagesScan::merge)
+                        .orElseThrow()
+                        .stageStats();
+
+        Histogram histogram = useSnapshot ? readSnapshotHistogram(snapshotPath) : summary.histogram;
+        printReport(
+                summary.totalRequests,
+                summary.errorRequests,
+                summary.firstStartTime,
+                summary.lastStopTime,
+                LatencyStats.of(histogram),
+                summary.transferStats(),
+                DispatchLagStats.of(dispatchLagPath()),
+                stages);
+    }
+
+    private static ChunkSummary scan(List<EventReader> chunks, boolean recordLatency, WarmUp warmUp) {
+        return chunks.parallelStream()
+                .map(chunk -> ChunkSummary.scan(chunk, recordLatency, warmUp))
+                .reduce(ChunkSummary::merge)
+                .orElseGet(() -> new ChunkSummary(recordLatency));
+    }
+
+    /**
+     * Returns the pause-corrected latency snapshot, when present and not overridden by
+     * {@code rawLatency}.
+     */
+    private Path snapshotPath() {
         var rawLatency = Boolean.parseBoolean(properties.getOrDefault("rawLatency", "false"));
         var outputDirProp = properties.get("outputDir");
         var snapshotPath =
                 outputDirProp == null ? null : Paths.get(outputDirProp).resolve("latency.hgrm");
         var useSnapshot = !rawLatency && snapshotPath != null && Files.isRegularFile(snapshotPath);
+        return useSnapshot ? snapshotPath : null;
+    }
 
-        Histogram histogram = useSnapshot ? readSnapshotHistogram(snapshotPath) : new Histogram(3);
-
-        // Track the first and last measurement timestamps to calculate total duration
-        long firstStartTime = Long.MAX_VALUE;
-        var lastStopTime = 0L;
-
-        // Track error counts
-        var totalRequests = 0L;
-        var errorRequests = 0L;
-
-        for (var event : eventReader) {
-            if (event instanceof SamplerResponse<?> response) {
-                totalRequests++;
-                if (!useSnapshot) {
-                    histogram.recordValue(response.latency());
-                }
-                firstStartTime = Math.min(firstStartTime, response.scheduledStartTime());
-                lastStopTime = Math.max(lastStopTime, response.stopTime());
-                if (response instanceof SamplerResponse.Error) {
-                    errorRequests++;
-                }
-            }
-        }
+    /**
+     * Returns the load generator's dispatch lag snapshot, when the load model recorded one.
+     */
+    private Path dispatchLagPath() {
+        var outputDirProp = properties.get("outputDir");
+        var dispatchLagPath =
+                outputDirProp == null ? null : Paths.get(outputDirProp).resolve("dispatch-lag.hgrm");
+        return dispatchLagPath != null && Files.isRegularFile(dispatchLagPath) ? dispatchLagPath : null;
+    }
 
+    private void printReport(
+            long totalRequests,
+            long errorRequests,
+            long firstStartTime,
+            long lastStopTime,
+            LatencyStats latency,
+            TransferStats transfer,
+            DispatchLagStats dispatchLag,
+            List<StageStats> stages)
+            throws IOException {
         // Calculate total duration in seconds
         double totalDurationSeconds = (lastStopTime - firstStartTime) / 1_000_000_000.0;
 
@@ -95,17 +173,43 @@ final class ConsoleReportGenerator implements ReportGenerator {
         lookups.put("errorCount", Long.toString(errorRequests));
         lookups.put("errorPercentage", String.format("%.2f", errorPercentage));
         lookups.put("errorRate", String.format("%.2f", errorRate));
-        lookups.put("maxValue", Long.toString(toMillis(histogram.getMaxValue())));
-        lookups.put("minValue", Long.toString(toMillis(histogram.getMinValue())));
-        lookups.put(
-                "meanValue",
-                Long.toString(toMillis(Double.valueOf(histogram.getMean()).longValue())));
-        lookups.put("p50", Long.toString(toMillis(percentileOf(histogram, 50))));
-        lookups.put("p90", Long.toString(toMillis(percentileOf(histogram, 90))));
-        lookups.put("p99", Long.toString(toMillis(percentileOf(histogram, 99))));
-        lookups.put("p999", Long.toString(toMillis(percentileOf(histogram, 99.9))));
+        lookups.put("maxValue", Long.toString(toMillis(latency.max())));
+        lookups.put("minValue", Long.toString(toMillis(latency.min())));
+        lookups.put("meanValue", Long.toString(toMillis(latency.mean())));
+        lookups.put("p50", Long.toString(toMillis(latency.p50())));
+        lookups.put("p90", Long.toString(toMillis(latency.p90())));
+        lookups.put("p99", Long.toString(toMillis(latency.p99())));
+        lookups.put("p999", Long.toString(toMillis(latency.p999())));
         lookups.put("requestsPerSecond", String.format("%.2f", requestsPerSecond));
         lookups.put("totalDurationSeconds", String.format("%.2f", totalDurationSeconds));
+        lookups.put("bytesReceived", orNotMeasured(transfer.bytesReceived()));
+        lookups.put(
+                "transferRate",
+                transfer.bytesReceived() == SamplerResponse.NOT_MEASURED
+                        ? "n/a"
+                        : String.format("%.2f", transfer.bytesReceived() / 1024.0 / totalDurationSeconds));
+        lookups.put("requestSent", transfer.requestSent().toMillis());
+        lookups.put("serverTime", transfer.serverTime().toMillis());
+        lookups.put("firstByte", transfer.firstByte().toMillis());
+        lookups.put("transferTime", transfer.transferTime().toMillis());
+        lookups.put("lastByte", transfer.lastByte().toMillis());
+        lookups.put("submissionLag", dispatchLag.submission().toMicros());
+        lookups.put("threadStartLag", dispatchLag.threadStart().toMicros());
+        lookups.put(
+                "parameterWait",
+                dispatchLag.parameterWaits() == 0
+                        ? "n/a"
+                        : "%s, %d waits"
+                                .formatted(dispatchLag.parameterWait().toMicros(), dispatchLag.parameterWaits()));
+        lookups.put("generatorStatus", generatorStatus(dispatchLag));
+        // one line per stage, the template line only holds the heading
+        lookups.put(
+                "stages",
+                stages.isEmpty()
+                        ? " n/a"
+                        : stages.stream()
+                                .map(stage -> "%n  %s".formatted(stage))
+                                .collect(Collectors.joining()));
 
         var stringSubstitutor = new StringSubstitutor(StringLookupFactory.INSTANCE.interpolatorStringLookup(lookups));
 
@@ -117,6 +221,383 @@ final class ConsoleReportGenerator implements ReportGenerator {
         }
     }
 
+    /**
+     * Flags runs where the load generator issued users later than the threshold (1 ms unless the
+     * {@code dispatchLagThreshold} property says otherwise), or where users waited for streamed
+     * parameter rows: their latencies tell more about the generator than about the system under
+     * test.
+     */
+    private String generatorStatus(DispatchLagStats dispatchLag) {
+        var status = dispatchLagStatus(dispatchLag);
+        if (dispatchLag.parameterWaits() == 0) {
+            return status;
+        }
+        var starved = "WARNING, users waited %d times for parameter rows, the parameter source can't keep up"
+                .formatted(dispatchLag.parameterWaits());
+        return status.startsWith("WARNING") ? status + "; " + starved : starved;
+    }
+
+    private String dispatchLagStatus(DispatchLagStats dispatchLag) {
+        var worst = Math.max(
+                dispatchLag.submission().p99(), dispatchLag.threadStart().p99());
+        if (worst == SamplerResponse.NOT_MEASURED) {
+            return "n/a";
+        }
+        var threshold = Duration.parse(properties.getOrDefault("dispatchLagThreshold", "PT0.001S"));
+        if (worst <= threshold.toNanos()) {
+            return "ok";
+        }
+        return "WARNING, 99th percentile dispatch lag of %d us exceeds %d us, the load generator is the bottleneck"
+                .formatted(worst / 1_000, threshold.toNanos() / 1_000);
+    }
+
+    private record LatencyStats(long min, long max, long mean, long p50, long p90, long p99, long p999) {
+
+        static LatencyStats of(Histogram histogram) {
+            return new LatencyStats(
+                    histogram.getMinValue(),
+                    histogram.getMaxValue(),
+                    Double.valueOf(histogram.getMean()).longValue(),
+                    percentileOf(histogram, 50),
+                    percentileOf(histogram, 90),
+                    percentileOf(histogram, 99),
+                    percentileOf(histogram, 99.9));
+        }
+
+        static LatencyStats of(MeasurementsSummary summary) {
+            return new LatencyStats(
+                    summary.minLatency(),
+                    summary.maxLatency(),
+                    Double.valueOf(summary.meanLatency()).longValue(),
+                    summary.latencyAtPercentile(50),
+                    summary.latencyAtPercentile(90),
+                    summary.latencyAtPercentile(99),
+                    summary.latencyAtPercentile(99.9));
+        }
+    }
+
+    /**
+     * 50th and 99th percentile of a request phase, {@link SamplerResponse#NOT_MEASURED} when the
+     * sampler doesn't report it.
+     */
+    private record PhaseStats(long p50, long p99) {
+
+        static PhaseStats of(DoubleToLongFunction atPercentile) {
+            return new PhaseStats(atPercentile.applyAsLong(50), atPercentile.applyAsLong(99));
+        }
+
+        static PhaseStats of(Histogram histogram) {
+            return histogram.getTotalCount() == 0
+                    ? new PhaseStats(SamplerResponse.NOT_MEASURED, SamplerResponse.NOT_MEASURED)
+                    : of(histogram::getValueAtPercentile);
+        }
+
+        String toMillis() {
+            return "%s/%s"
+                    .formatted(
+                            orNotMeasured(ConsoleReportGenerator.toMillis(p50)),
+                            orNotMeasured(ConsoleReportGenerator.toMillis(p99)));
+        }
+
+        String toMicros() {
+            return "%s/%s"
+                    .formatted(
+                            orNotMeasured(ConsoleReportGenerator.toMicros(p50)),
+                            orNotMeasured(ConsoleReportGenerator.toMicros(p99)));
+        }
+    }
+
+    /**
+     * How late the load generator submitted users after their scheduled start, how long they then
+     * waited for a thread, and how often and how long they waited for streamed parameter rows.
+     */
+    private record DispatchLagStats(
+            PhaseStats submission, PhaseStats threadStart, PhaseStats parameterWait, long parameterWaits) {
+
+        static DispatchLagStats of(Path snapshotPath) throws IOException {
+            var submission = new Histogram(3);
+            var threadStart = new Histogram(3);
+            var parameterWait = new Histogram(3);
+            if (snapshotPath != null) {
+                try (var reader = new HistogramLogReader(snapshotPath.toFile())) {
+                    EncodableHistogram next;
+                    while ((next = reader.nextIntervalHistogram()) != null) {
+                        if (next instanceof Histogram h) {
+                            switch (String.valueOf(h.getTag())) {
+                                case "submission" -> submission.add(h);
+                                case "thread-start" -> threadStart.add(h);
+                                case "parameter-wait" -> parameterWait.add(h);
+                                default -> {}
+                            }
+                        }
+                    }
+                }
+            }
+            return new DispatchLagStats(
+                    PhaseStats.of(submission),
+                    PhaseStats.of(threadStart),
+                    PhaseStats.of(parameterWait),
+                    parameterWait.getTotalCount());
+        }
+    }
+
+    /**
+     * Bytes received and the phases of a request: until the request was sent, until the server
+     * answered, until the first and the last byte arrived.
+     */
+    private record TransferStats(
+            long bytesReceived,
+            PhaseStats requestSent,
+            PhaseStats serverTime,
+            PhaseStats firstByte,
+            PhaseStats transferTime,
+            PhaseStats lastByte) {
+
+        static TransferStats of(MeasurementsSummary summary) {
+            return new TransferStats(
+                    summary.bytesReceived(),
+                    PhaseStats.of(summary::timeToRequestSentAtPercentile),
+                    PhaseStats.of(summary::serverTimeAtPercentile),
+                    PhaseStats.of(summary::timeToFirstByteAtPercentile),
+                    PhaseStats.of(summary::transferTimeAtPercentile),
+                    PhaseStats.of(summary::timeToLastByteAtPercentile));
+        }
+    }
+
+    /**
+     * Requests and latencies of a load profile stage.
+     */
+    private record StageStats(
+            String label,
+            long totalRequests,
+            long errorRequests,
+            double durationSeconds,
+            long p50,
+            long p99,
+            long max) {
+
+        static StageStats of(StageSummary stage) {
+            return new StageStats(
+                    stage.label(),
+                    stage.totalRequests(),
+                    stage.errorRequests(),
+                    Math.max(0, stage.lastStopTime() - stage.startTime()) / 1_000_000_000.0,
+                    stage.latencyAtPercentile(50),
+                    stage.latencyAtPercentile(99),
+                    stage.maxLatency());
+        }
+
+        @Override
+        public String toString() {
+            // closes a throughput search, no requests belong to it
+            if (label.startsWith(StageEvent.MAX_SUSTAINED_RATE)) {
+                return "maximum sustainable throughput: %s users/s"
+                        .formatted(label.substring(StageEvent.MAX_SUSTAINED_RATE.length()));
+            }
+            return "%s: %d requests, %.2f req/s, %d errors, 50th/99th/max (ms) %d/%d/%d"
+                    .formatted(
+                            label,
+                            totalRequests,
+                            durationSeconds == 0 ? 0.0 : totalRequests / durationSeconds,
+                            errorRequests,
+                            toMillis(p50),
+                            toMillis(p99),
+                            toMillis(max));
+        }
+    }
+
+    /**
+     * Per-stage counters and latency histograms of a single chunk of the journal, responses
+     * attributed to the latest stage started before they were scheduled.
+     */
+    private static final class StagesScan {
+        private final List<StageStart> stageStarts;
+        private final Histogram[] histograms;
+        private final long[] totalRequests;
+        private final long[] errorRequests;
+        private final long[] lastStopTimes;
+
+        private StagesScan(List<StageStart> stageStarts) {
+            this.stageStarts = stageStarts;
+            this.histograms = new Histogram[stageStarts.size()];
+            Arrays.setAll(histograms, i -> new Histogram(3));
+            this.totalRequests = new long[stageStarts.size()];
+            this.errorRequests = new long[stageStarts.size()];
+            this.lastStopTimes = new long[stageStarts.size()];
+        }
+
+        static StagesScan scan(EventReader chunk, List<StageStart> stageStarts) {
+            var scan = new StagesScan(stageStarts);
+            var starts = stageStarts.stream().mapToLong(StageStart::timestamp).toArray();
+            try (var cursor = chunk.cursor()) {
+                while (cursor.next()) {
+                    if (cursor.kind() == EventCursor.Kind.RESPONSE) {
+                        var found = Arrays.binarySearch(starts, cursor.scheduledStartTime());
+                        var stage = found >= 0 ? found : -found - 2;
+                        if (stage >= 0) {
+                            scan.histograms[stage].recordValue(cursor.latency());
+                            scan.totalRequests[stage]++;
+                            if (cursor.status() == Sample.Status.KO) {
+                                scan.errorRequests[stage]++;
+                            }
+                            scan.lastStopTimes[stage] = Math.max(scan.lastStopTimes[stage], cursor.stopTime());
+                        }
+                    }
+                }
+            }
+            return scan;
+        }
+
+        StagesScan merge(StagesScan other) {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i].add(other.histograms[i]);
+                totalRequests[i] += other.totalRequests[i];
+                errorRequests[i] += other.errorRequests[i];
+                lastStopTimes[i] = Math.max(lastStopTimes[i], other.lastStopTimes[i]);
+            }
+            return this;
+        }
+
+        List<StageStats> stageStats() {
+            var stats = new ArrayList<StageStats>(histograms.length);
+            for (int i = 0; i < histograms.length; i++) {
+                stats.add(new StageStats(
+                        stageStarts.get(i).label(),
+                        totalRequests[i],
+                        errorRequests[i],
+                        Math.max(0, lastStopTimes[i] - stageStarts.get(i).timestamp()) / 1_000_000_000.0,
+                        histograms[i].getValueAtPercentile(50),
+                        histograms[i].getValueAtPercentile(99),
+                        histograms[i].getMaxValue()));
+            }
+            return stats;
+        }
+    }
+
+    private record StageStart(String label, long timestamp) {}
+
+    /**
+     * Responses scheduled within the warm-up stage, from {@code start} up to the next stage's start
+     * at {@code end}, are left out of the summary.
+     */
+    private record WarmUp(long start, long end) {
+        static final WarmUp NONE = new WarmUp(0, 0);
+
+        static WarmUp of(List<StageStart> stageStarts) {
+            for (int i = 0; i < stageStarts.size(); i++) {
+                if (stageStarts.get(i).label().equals(StageEvent.WARM_UP)) {
+                    var end =
+                            i + 1 < stageStarts.size() ? stageStarts.get(i + 1).timestamp() : Long.MAX_VALUE;
+                    return new WarmUp(stageStarts.get(i).timestamp(), end);
+                }
+            }
+            return NONE;
+        }
+
+        boolean contains(long scheduledStartTime) {
+            return scheduledStartTime >= start && scheduledStartTime < end;
+        }
+    }
+
+    /**
+     * Counters, latency and transfer histograms of a single chunk of the journal.
+     */
+    private static final class ChunkSummary {
+        private final Histogram histogram;
+        // Track the first and last measurement timestamps to calculate total duration
+        private long firstStartTime = Long.MAX_VALUE;
+        private long lastStopTime = 0L;
+        // Track error counts
+        private long totalRequests;
+        private long errorRequests;
+        private long bytesReceived = SamplerResponse.NOT_MEASURED;
+        private final Histogram timeToRequestSent = new Histogram(3);
+        private final Histogram serverTime = new Histogram(3);
+        private final Histogram timeToFirstByte = new Histogram(3);
+        private final Histogram transferTime = new Histogram(3);
+        private final Histogram timeToLastByte = new Histogram(3);
+        // ordered by time once merged
+        private final List<StageStart> stageStarts = new ArrayList<>();
+
+        ChunkSummary(boolean recordLatency) {
+            this.histogram = recordLatency ? new Histogram(3) : null;
+        }
+
+        static ChunkSummary scan(EventReader chunk, boolean recordLatency, WarmUp warmUp) {
+            var summary = new ChunkSummary(recordLatency);
+            try (var cursor = chunk.cursor()) {
+                while (cursor.next()) {
+                    if (cursor.kind() == EventCursor.Kind.RESPONSE && !warmUp.contains(cursor.scheduledStartTime())) {
+                        summary.totalRequests++;
+                        if (recordLatency) {
+                            summary.histogram.recordValue(cursor.latency());
+                        }
+                        summary.firstStartTime = Math.min(summary.firstStartTime, cursor.scheduledStartTime());
+                        summary.lastStopTime = Math.max(summary.lastStopTime, cursor.stopTime());
+                        if (cursor.status() == Sample.Status.KO) {
+                            summary.errorRequests++;
+                        }
+                        if (cursor.bytesReceived() != SamplerResponse.NOT_MEASURED) {
+                            summary.bytesReceived = Math.max(summary.bytesReceived, 0) + cursor.bytesReceived();
+                        }
+                        summary.recordPhases(
+                                cursor.timeToRequestSent(),
+                                cursor.timeToFirstByte(),
+                                cursor.stopTime() - cursor.timestamp());
+                    } else if (cursor.kind() == EventCursor.Kind.STAGE) {
+                        summary.stageStarts.add(new StageStart(cursor.label(), cursor.timestamp()));
+                    }
+                }
+            }
+            return summary;
+        }
+
+        private void recordPhases(long requestSent, long firstByte, long lastByte) {
+            if (requestSent != SamplerResponse.NOT_MEASURED) {
+                timeToRequestSent.recordValue(requestSent);
+            }
+            if (firstByte != SamplerResponse.NOT_MEASURED) {
+                timeToFirstByte.recordValue(firstByte);
+                timeToLastByte.recordValue(lastByte);
+                transferTime.recordValue(Math.max(0, lastByte - firstByte));
+                if (requestSent != SamplerResponse.NOT_MEASURED) {
+                    serverTime.recordValue(Math.max(0, firstByte - requestSent));
+                }
+            }
+        }
+
+        TransferStats transferStats() {
+            return new TransferStats(
+                    bytesReceived,
+                    PhaseStats.of(timeToRequestSent),
+                    PhaseStats.of(serverTime),
+                    PhaseStats.of(timeToFirstByte),
+                    PhaseStats.of(transferTime),
+                    PhaseStats.of(timeToLastByte));
+        }
+
+        ChunkSummary merge(ChunkSummary other) {
+            if (histogram != null) {
+                histogram.add(other.histogram);
+            }
+            firstStartTime = Math.min(firstStartTime, other.firstStartTime);
+            lastStopTime = Math.max(lastStopTime, other.lastStopTime);
+            totalRequests += other.totalRequests;
+            errorRequests += other.errorRequests;
+            if (other.bytesReceived != SamplerResponse.NOT_MEASURED) {
+                bytesReceived = Math.max(bytesReceived, 0) + other.bytesReceived;
+            }
+            timeToRequestSent.add(other.timeToRequestSent);
+            serverTime.add(other.serverTime);
+            timeToFirstByte.add(other.timeToFirstByte);
+            transferTime.add(other.transferTime);
+            timeToLastByte.add(other.timeToLastByte);
+            stageStarts.addAll(other.stageStarts);
+            stageStarts.sort(Comparator.comparingLong(StageStart::timestamp));
+            return this;
+        }
+    }
+
     private static Histogram readSnapshotHistogram(Path snapshotPath) throws IOException {
         var combined = new Histogram(1_000L, 3_600_000_000_000L, 3);
         try (var reader = new HistogramLogReader(snapshotPath.toFile())) {
@@ -135,6 +616,16 @@ final class ConsoleReportGenerator implements ReportGenerator {
     }
 
     private static long toMillis(long maxValue) {
-        return Duration.ofNanos(maxValue).toMillis();
+        return maxValue == SamplerResponse.NOT_MEASURED
+                ? maxValue
+                : Duration.ofNanos(maxValue).toMillis();
+    }
+
+    private static long toMicros(long value) {
+        return value == SamplerResponse.NOT_MEASURED ? value : value / 1_000;
+    }
+
+    private static String orNotMeasured(long value) {
+        return value == SamplerResponse.NOT_MEASURED ? "n/a" : Long.toString(value);
     }
 }
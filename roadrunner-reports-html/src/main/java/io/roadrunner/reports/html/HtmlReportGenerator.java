@@ -17,9 +17,7 @@ package io.roadrunner.reports.html;
 
 import static java.util.Objects.requireNonNull;
 
-import io.roadrunner.api.events.Event;
-import io.roadrunner.api.events.SamplerResponse;
-import io.roadrunner.api.events.UserEvent;
+import io.roadrunner.api.events.StageEvent;
 import io.roadrunner.api.measurments.EventReader;
 import io.roadrunner.api.reports.ReportGenerator;
 import io.roadrunner.shaded.hdrhistogram.EncodableHistogram;
@@ -65,31 +63,40 @@ public class HtmlReportGenerator implements ReportGenerator {
         Histogram histogram = useSnapshot ? loadSnapshot(snapshotPath) : new Histogram(3);
 
         int u = 0;
+        // responses scheduled within the warm-up stage are charted, but left out of the histogram
+        long warmUpStart = Long.MAX_VALUE;
+        long warmUpEnd = Long.MAX_VALUE;
         try (PrintStream datapoints = new PrintStream(datapointsJs.toFile());
-                PrintStream users = new PrintStream(usersJs.toFile())) {
+                PrintStream users = new PrintStream(usersJs.toFile());
+                var cursor = eventReader.cursor()) {
             datapoints.println("const datapoints = [");
             users.println(("const users = ["));
-            for (Event event : eventReader) {
-                switch (event) {
-                    case SamplerResponse<?> r: {
-                        if (!useSnapshot) {
-                            histogram.recordValue(r.latency());
+            while (cursor.next()) {
+                switch (cursor.kind()) {
+                    case RESPONSE -> {
+                        var warmUp =
+                                cursor.scheduledStartTime() >= warmUpStart && cursor.scheduledStartTime() < warmUpEnd;
+                        if (!useSnapshot && !warmUp) {
+                            histogram.recordValue(cursor.latency());
                         }
-                        datapoints.printf("\t{x : %d,y : %d},%n", r.timestamp(), r.latency());
-                        break;
+                        datapoints.printf("\t{x : %d,y : %d},%n", cursor.timestamp(), cursor.latency());
                     }
-                    case UserEvent.Enter e: {
+                    case USER_ENTER -> {
                         u++;
-                        users.printf("\t{x : %d,y : %d},%n", e.timestamp(), u);
-                        break;
+                        users.printf("\t{x : %d,y : %d},%n", cursor.timestamp(), u);
                     }
-                    case UserEvent.Exit e: {
+                    case USER_EXIT -> {
                         u--;
-                        users.printf("\t{x : %d,y : %d},%n", e.timestamp(), u);
-                        break;
+                        users.printf("\t{x : %d,y : %d},%n", cursor.timestamp(), u);
                     }
-                    default:
-                        throw new IllegalStateException("Unexpected value: " + event);
+                    case STAGE -> {
+                        if (cursor.label().equals(StageEvent.WARM_UP)) {
+                            warmUpStart = cursor.timestamp();
+                        } else if (cursor.timestamp() > warmUpStart) {
+                            warmUpEnd = Math.min(warmUpEnd, cursor.timestamp());
+                        }
+                    }
+                    case ERROR -> {}
                 }
             }
             datapoints.println("];");
@@ -31,6 +31,7 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.file.Files;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterEach;
@@ -70,12 +71,37 @@ class AbSamplerProviderIT {
                 assertThat(event).asInstanceOf(type(SamplerResponse.Response.class)).satisfies(response -> {
                     assertThat(response.timestamp()).isGreaterThan(0);
                     assertThat(response.stopTime()).isGreaterThan(response.timestamp());
+                    // a request without a body is sent with its headers
+                    assertThat(response.timeToRequestSent())
+                            .isNotNegative()
+                            .isLessThanOrEqualTo(response.timeToFirstByte());
                 });
                 assertThat(lastMethod.get()).isEqualTo("GET");
             }
         }
     }
 
+    @Test
+    void asyncRequests() throws Exception {
+        try (var plugin = new AbSamplerPlugin()) {
+            var options = plugin.options();
+            options.uri = URI.create("http://localhost:" + PORT + "/test");
+            try (var provider = plugin.newSamplerProvider(options); var sampler = provider.newAsyncSampler()) {
+                var response = sampler.executeAsync(SamplerParameters.NONE).toCompletableFuture().get(10, TimeUnit.SECONDS);
+                assertThat(response).asInstanceOf(type(SamplerResponse.Response.class)).satisfies(r -> {
+                    assertThat(r.stopTime()).isGreaterThan(r.timestamp());
+                    assertThat(r.timeToRequestSent()).isNotNegative();
+                });
+                assertThat(lastMethod.get()).isEqualTo("GET");
+
+                server.stop(0);
+                // a failed exchange completes with an error response rather than exceptionally
+                var error = sampler.executeAsync(SamplerParameters.NONE).toCompletableFuture().get(10, TimeUnit.SECONDS);
+                assertThat(error).isInstanceOf(SamplerResponse.Error.class);
+            }
+        }
+    }
+
     @Test
     void errorRequest() {
         try (var plugin = new AbSamplerPlugin()) {
@@ -105,6 +131,7 @@ class AbSamplerProviderIT {
                 var event = sampler.execute(SamplerParameters.NONE);
 
                 assertThat(event).isInstanceOf(SamplerResponse.Response.class);
+                assertThat(event.timeToRequestSent()).isNotNegative().isLessThanOrEqualTo(event.timeToFirstByte());
                 assertThat(lastMethod.get()).isEqualTo("POST");
                 assertThat(lastContentType.get()).isEqualTo("text/plain");
             } finally {
@@ -15,6 +15,7 @@
  */
 package io.roadrunner.samplers.ab;
 
+import io.roadrunner.api.samplers.BodyRetention;
 import io.roadrunner.samplers.spi.SamplerOptions;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -75,6 +76,12 @@ public class AbSamplerOptions implements SamplerOptions<AbSamplerProvider> {
             converter = InetAddressConverter.class)
     public InetAddress localAddress;
 
+    @Option(
+            names = "--body-retention",
+            description = "What to keep of response bodies: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})",
+            defaultValue = "NONE")
+    public BodyRetention bodyRetention = BodyRetention.NONE;
+
     private final AbSamplerPlugin abSamplerPlugin;
 
     public AbSamplerOptions(AbSamplerPlugin abSamplerPlugin) {
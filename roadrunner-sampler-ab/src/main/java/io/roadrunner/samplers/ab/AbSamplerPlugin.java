@@ -76,7 +76,7 @@ public class AbSamplerPlugin implements SamplerPlugin<AbSamplerProvider, AbSampl
                         throw new IllegalArgumentException("Unsupported HTTP method: %s".formatted(effectiveMethod));
                 };
 
-        return new AbSamplerProvider(httpClient, requestSupplier);
+        return new AbSamplerProvider(httpClient, requestSupplier, options.bodyRetention);
     }
 
     @Override
@@ -16,37 +16,46 @@
 package io.roadrunner.samplers.ab;
 
 import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.samplers.AsyncSampler;
+import io.roadrunner.api.samplers.AsyncSamplerProvider;
+import io.roadrunner.api.samplers.BodyRetention;
 import io.roadrunner.api.samplers.Sampler;
-import io.roadrunner.api.samplers.SamplerProvider;
 import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
-public class AbSamplerProvider implements SamplerProvider {
+public class AbSamplerProvider implements AsyncSamplerProvider {
 
     private final HttpClient httpClient;
     private final Supplier<HttpRequest> requestSupplier;
+    private final BodyRetention bodyRetention;
+    private final HttpResponse.BodyHandler<CustomBodyHandlers.Measured<Object>> bodyHandler;
 
-    public AbSamplerProvider(HttpClient httpClient, Supplier<HttpRequest> requestSupplier) {
+    public AbSamplerProvider(
+            HttpClient httpClient, Supplier<HttpRequest> requestSupplier, BodyRetention bodyRetention) {
         this.httpClient = httpClient;
         this.requestSupplier = requestSupplier;
+        this.bodyRetention = bodyRetention;
+        // bodies that are dropped anyway are counted while they stream by, never buffered
+        this.bodyHandler = bodyRetention == BodyRetention.NONE
+                ? CustomBodyHandlers.measuring(HttpResponse.BodyHandlers.discarding())
+                : CustomBodyHandlers.measuring(HttpResponse.BodyHandlers.ofByteArray());
     }
 
     @Override
     public Sampler newSampler() {
-        var request = requestSupplier.get();
+        // written by the client's threads once the request body is out
+        var requestSentTime = new AtomicLong(SamplerResponse.NOT_MEASURED);
+        var request = measuringRequestSent(requestSupplier.get(), requestSentTime);
         return (parameters) -> {
+            requestSentTime.set(SamplerResponse.NOT_MEASURED);
             var startTime = System.nanoTime();
             try {
-                var httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-                var stopTime = System.nanoTime();
-                if (httpResponse.statusCode() == 200) {
-                    return SamplerResponse.response(startTime, stopTime, httpResponse);
-                } else {
-                    return SamplerResponse.error(startTime, stopTime, Integer.toString(httpResponse.statusCode()));
-                }
+                var httpResponse = httpClient.send(request, bodyHandler);
+                return toSamplerResponse(httpResponse, startTime, System.nanoTime(), requestSentTime.get());
             } catch (IOException e) {
                 return SamplerResponse.error(startTime, System.nanoTime(), e.getMessage());
             } catch (InterruptedException e) {
@@ -56,6 +65,62 @@ public class AbSamplerProvider implements SamplerProvider {
         };
     }
 
+    /**
+     * Sends requests with {@link HttpClient#sendAsync}, the client's selector thread drives all of
+     * them and no thread waits for a response.
+     */
+    @Override
+    public AsyncSampler newAsyncSampler() {
+        var template = requestSupplier.get();
+        return parameters -> {
+            // requests are in flight concurrently, each needs its own request sent probe
+            var requestSentTime = new AtomicLong(SamplerResponse.NOT_MEASURED);
+            var request = measuringRequestSent(template, requestSentTime);
+            var startTime = System.nanoTime();
+            return httpClient.sendAsync(request, bodyHandler).<SamplerResponse<?>>handle((httpResponse, failure) -> {
+                var stopTime = System.nanoTime();
+                if (failure != null) {
+                    return SamplerResponse.error(
+                            startTime, stopTime, AsyncSampler.causeOf(failure).getMessage());
+                }
+                return toSamplerResponse(httpResponse, startTime, stopTime, requestSentTime.get());
+            });
+        };
+    }
+
+    private static SamplerResponse<?> toSamplerResponse(
+            HttpResponse<CustomBodyHandlers.Measured<Object>> httpResponse,
+            long startTime,
+            long stopTime,
+            long requestSent) {
+        var measured = httpResponse.body();
+        var timeToRequestSent = requestSent == SamplerResponse.NOT_MEASURED ? requestSent : requestSent - startTime;
+        if (httpResponse.statusCode() == 200) {
+            return SamplerResponse.response(startTime, stopTime, measured.body())
+                    .withBytesReceived(measured.bytesReceived())
+                    .withTimeToRequestSent(timeToRequestSent)
+                    .withTimeToFirstByte(measured.firstByteTime() - startTime);
+        } else {
+            return SamplerResponse.error(startTime, stopTime, Integer.toString(httpResponse.statusCode()))
+                    .withBytesReceived(measured.bytesReceived())
+                    .withTimeToRequestSent(timeToRequestSent)
+                    .withTimeToFirstByte(measured.firstByteTime() - startTime);
+        }
+    }
+
+    private static HttpRequest measuringRequestSent(HttpRequest request, AtomicLong requestSentTime) {
+        // requests without a body, like the default GET, are sent with their headers
+        var publisher = request.bodyPublisher().orElseGet(HttpRequest.BodyPublishers::noBody);
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .method(request.method(), CustomBodyPublishers.measuring(publisher, requestSentTime::set))
+                .build();
+    }
+
+    @Override
+    public BodyRetention bodyRetention() {
+        return bodyRetention;
+    }
+
     @Override
     public void close() {
         httpClient.close();
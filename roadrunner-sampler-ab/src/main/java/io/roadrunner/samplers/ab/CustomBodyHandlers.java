@@ -17,59 +17,70 @@ package io.roadrunner.samplers.ab;
 
 import java.net.http.HttpResponse;
 import java.nio.ByteBuffer;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Flow;
 
 final class CustomBodyHandlers {
 
-    public record HttpResponseData(long bytesConsumed, double speedMbps) {}
+    /**
+     * Response body along with when its first byte arrived ({@link System#nanoTime()}) and how many
+     * body bytes were received.
+     */
+    record Measured<T>(T body, long firstByteTime, long bytesReceived) {}
 
-    public static HttpResponse.BodyHandler<HttpResponseData> ofByteCounting() {
-        return responseInfo -> new ByteCountingSubscriber();
+    private CustomBodyHandlers() {}
+
+    /**
+     * Wraps {@code downstream} so that the time to first byte and the number of body bytes are
+     * measured while the body streams through. With {@link HttpResponse.BodyHandlers#discarding()}
+     * the body is counted and dropped without ever being buffered.
+     */
+    static <T> HttpResponse.BodyHandler<Measured<T>> measuring(HttpResponse.BodyHandler<? extends T> downstream) {
+        return responseInfo -> {
+            // the handler is applied as soon as the status line and headers are in
+            var firstByteTime = System.nanoTime();
+            return new MeasuringSubscriber<>(downstream.apply(responseInfo), firstByteTime);
+        };
     }
 
-    private static class ByteCountingSubscriber implements HttpResponse.BodySubscriber<HttpResponseData> {
-        private long bytesConsumed = 0;
-        private Instant startTime;
+    private static final class MeasuringSubscriber<T> implements HttpResponse.BodySubscriber<Measured<T>> {
+        private final HttpResponse.BodySubscriber<? extends T> downstream;
+        private final long firstByteTime;
+        // onNext calls are serialized and happen before completion, no need for atomics
+        private long bytesReceived;
+
+        MeasuringSubscriber(HttpResponse.BodySubscriber<? extends T> downstream, long firstByteTime) {
+            this.downstream = downstream;
+            this.firstByteTime = firstByteTime;
+        }
 
         @Override
         public void onSubscribe(Flow.Subscription subscription) {
-            startTime = Instant.now();
-            subscription.request(Long.MAX_VALUE);
+            downstream.onSubscribe(subscription);
         }
 
         @Override
         public void onNext(List<ByteBuffer> item) {
             for (ByteBuffer buffer : item) {
-                bytesConsumed += buffer.remaining();
+                bytesReceived += buffer.remaining();
             }
+            downstream.onNext(item);
         }
 
         @Override
         public void onError(Throwable throwable) {
-            completion.completeExceptionally(throwable);
+            downstream.onError(throwable);
         }
 
         @Override
         public void onComplete() {
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-            double seconds = duration.toMillis() / 1000.0;
-            double speedMbps = (bytesConsumed * 8) / (seconds * 1_000_000);
-            HttpResponseData responseData = new HttpResponseData(bytesConsumed, speedMbps);
-            // Complete the subscriber with the response data
-            this.completion.complete(responseData);
+            downstream.onComplete();
         }
 
         @Override
-        public CompletionStage<HttpResponseData> getBody() {
-            return completion;
+        public CompletionStage<Measured<T>> getBody() {
+            return downstream.getBody().thenApply(body -> new Measured<>(body, firstByteTime, bytesReceived));
         }
-
-        private final CompletableFuture<HttpResponseData> completion = new CompletableFuture<>();
     }
 }
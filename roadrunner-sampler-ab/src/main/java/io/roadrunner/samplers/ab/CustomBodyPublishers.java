@@ -0,0 +1,76 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.samplers.ab;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.function.LongConsumer;
+
+final class CustomBodyPublishers {
+
+    private CustomBodyPublishers() {}
+
+    /**
+     * Wraps {@code downstream} so that {@code onSent} gets the {@link System#nanoTime()} at which the
+     * last byte of the request body was handed over to the client.
+     * <p>
+     * The JDK client exposes no hook into the request phase and doesn't subscribe to empty bodies
+     * at all, but it asks for the content length right before it writes the request headers, once
+     * connected. With an empty body that is when the request is sent, so pass
+     * {@link HttpRequest.BodyPublishers#noBody()} to measure requests without a body; note that
+     * they then carry a {@code Content-Length: 0} header.
+     */
+    static HttpRequest.BodyPublisher measuring(HttpRequest.BodyPublisher downstream, LongConsumer onSent) {
+        return new HttpRequest.BodyPublisher() {
+            @Override
+            public long contentLength() {
+                var contentLength = downstream.contentLength();
+                if (contentLength == 0) {
+                    // nothing follows the headers
+                    onSent.accept(System.nanoTime());
+                }
+                return contentLength;
+            }
+
+            @Override
+            public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+                downstream.subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscriber.onSubscribe(subscription);
+                    }
+
+                    @Override
+                    public void onNext(ByteBuffer item) {
+                        subscriber.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        subscriber.onError(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        onSent.accept(System.nanoTime());
+                        subscriber.onComplete();
+                    }
+                });
+            }
+        };
+    }
+}
@@ -16,6 +16,7 @@
 package io.roadrunner.samplers.jdbc.tests;
 
 import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.parameters.ParameterTable;
 import io.roadrunner.api.parameters.SamplerParameters;
 import io.roadrunner.samplers.jdbc.JDBCSamplerOptions;
 import io.roadrunner.samplers.jdbc.JDBCSamplerPlugin;
@@ -24,14 +25,18 @@ import org.junit.jupiter.api.Test;
 
 import javax.sql.DataSource;
 import java.io.PrintWriter;
+import java.math.BigDecimal;
 import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
@@ -151,6 +156,101 @@ class JDBCSamplerProviderIT {
         }
     }
 
+    @Test
+    void bindTypedTableRowsAndNulls() throws Exception {
+        try (var plugin = new JDBCSamplerPlugin()) {
+            var options = defaultSamplerOptions(plugin,
+                    "jdbc:hsqldb:mem:typed",
+                    "INSERT INTO typed (v_long,v_int,v_double,v_bool,v_text,v_dec,v_date) VALUES (?,?,?,?,?,?,?)");
+            try (var provider = plugin.newSamplerProvider(options)) {
+                try (Connection connection = provider.getConnection()) {
+                    connection.createStatement().execute("CREATE TABLE typed (v_long bigint,v_int int,v_double double,"
+                            + "v_bool boolean,v_text varchar(255),v_dec decimal(10,2),v_date date)");
+                }
+                var table = new RowsTable(
+                        List.of(Long.class, Integer.class, Double.class, Boolean.class, String.class, BigDecimal.class,
+                                LocalDate.class),
+                        new Object[][] {
+                                {1L, 2, 3.5, true, "one", new BigDecimal("4.25"), LocalDate.of(2024, 1, 2)},
+                                {null, null, null, null, null, null, null}
+                        });
+                try (var sampler = provider.newSampler()) {
+                    for (var row : table) {
+                        assertThat(sampler.execute(row)).isInstanceOf(SamplerResponse.Response.class);
+                    }
+                    // a row of another schema recompiles the binder of the same sampler
+                    var other = new LinkedHashMap<String, Object>();
+                    other.put("v_long", 5);
+                    other.put("v_int", 6L);
+                    other.put("v_double", 7.0f);
+                    other.put("v_bool", false);
+                    other.put("v_text", "two");
+                    other.put("v_dec", new BigDecimal("8.50"));
+                    other.put("v_date", LocalDate.of(2024, 3, 4));
+                    assertThat(sampler.execute(SamplerParameters.of(other))).isInstanceOf(SamplerResponse.Response.class);
+                }
+                try (Connection connection = provider.getConnection();
+                     var rs = connection.createStatement().executeQuery("SELECT * FROM typed ORDER BY v_long")) {
+                    assertThat(rs.next()).isTrue();
+                    for (int i = 1; i <= 7; i++) {
+                        assertThat(rs.getObject(i)).isNull();
+                    }
+                    assertThat(rs.next()).isTrue();
+                    assertThat(rs.getLong(1)).isEqualTo(1L);
+                    assertThat(rs.getInt(2)).isEqualTo(2);
+                    assertThat(rs.getDouble(3)).isEqualTo(3.5);
+                    assertThat(rs.getBoolean(4)).isTrue();
+                    assertThat(rs.getString(5)).isEqualTo("one");
+                    assertThat(rs.getBigDecimal(6)).isEqualTo(new BigDecimal("4.25"));
+                    assertThat(rs.getObject(7, LocalDate.class)).isEqualTo(LocalDate.of(2024, 1, 2));
+                    assertThat(rs.next()).isTrue();
+                    assertThat(rs.getLong(1)).isEqualTo(5L);
+                    assertThat(rs.getInt(2)).isEqualTo(6);
+                    assertThat(rs.getString(5)).isEqualTo("two");
+                    assertThat(rs.next()).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void errorOnUnsupportedParameterType() {
+        try (var plugin = new JDBCSamplerPlugin()) {
+            var options = defaultSamplerOptions(plugin, "jdbc:hsqldb:mem:unsupported", "SELECT ? FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+            try (var provider = plugin.newSamplerProvider(options);
+                 var sampler = provider.newSampler()) {
+                var parameters = new LinkedHashMap<String, Object>();
+                parameters.put("v", new Object());
+                assertThat(sampler.execute(SamplerParameters.of(parameters)))
+                        .asInstanceOf(type(SamplerResponse.Error.class))
+                        .satisfies(r -> assertThat(r.message())
+                                .isEqualTo("unsupported Java type for JDBC parameter binding: java.lang.Object"));
+            }
+        }
+    }
+
+    private record RowsTable(List<Class<?>> types, Object[][] rows) implements ParameterTable {
+        @Override
+        public List<String> columns() {
+            return IntStream.range(0, types.size()).mapToObj(i -> "c" + i).toList();
+        }
+
+        @Override
+        public Class<?> typeOf(int column) {
+            return types.get(column);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+
+        @Override
+        public Object valueAt(int row, int column) {
+            return rows[row][column];
+        }
+    }
+
     private static class ExceptionThrowingDataSource implements DataSource {
         @Override
         public <T> T unwrap(Class<T> iface) {
@@ -15,25 +15,12 @@
  */
 package io.roadrunner.samplers.jdbc;
 
-import static java.util.Map.entry;
-import static java.util.Objects.requireNonNull;
-
 import io.roadrunner.api.events.SamplerResponse;
 import io.roadrunner.api.parameters.SamplerParameters;
 import io.roadrunner.api.samplers.Sampler;
 import io.roadrunner.api.samplers.SamplerProvider;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.sql.Connection;
-import java.sql.JDBCType;
 import java.sql.SQLException;
-import java.sql.SQLType;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.OffsetDateTime;
-import java.time.OffsetTime;
-import java.util.Map;
 import java.util.concurrent.atomic.LongAdder;
 import javax.sql.DataSource;
 
@@ -44,6 +31,9 @@ public class JDBCSamplerProvider implements SamplerProvider {
     private final LongAdder sampleCount = new LongAdder();
     private final LongAdder acquireNanos = new LongAdder();
     private final LongAdder queryNanos = new LongAdder();
+    // the binder for the parameter schema seen last, shared by all samplers: the open-world model
+    // creates a sampler per arrival, so a binder kept per sampler would be compiled per request
+    private volatile ParameterBinder binder;
 
     public JDBCSamplerProvider(DataSource dataSource, String query) {
         this.dataSource = dataSource;
@@ -52,14 +42,33 @@ public class JDBCSamplerProvider implements SamplerProvider {
 
     @Override
     public Sampler newSampler() {
-        return (SamplerParameters parameters) -> {
+        return new JDBCSampler();
+    }
+
+    /**
+     * Returns the binder for the schema of {@code parameters}, compiling a new one only when the
+     * schema changes. Samplers racing on a change may each compile one, the last one wins.
+     */
+    private ParameterBinder binderFor(SamplerParameters parameters) {
+        var last = binder;
+        if (last == null || !last.fits(parameters)) {
+            last = ParameterBinder.of(parameters);
+            binder = last;
+        }
+        return last;
+    }
+
+    private final class JDBCSampler implements Sampler {
+
+        @Override
+        public SamplerResponse<?> execute(SamplerParameters parameters) {
             var tStarted = System.nanoTime();
             try (var cnn = dataSource.getConnection();
                     var stmt = cnn.prepareStatement(query)) {
                 var tAcquired = System.nanoTime();
                 try {
                     long rowCount;
-                    parameters.forEach((index, type, value) -> stmt.setObject(index + 1, value, sqlTypeOf(type)));
+                    binderFor(parameters).bind(stmt, parameters);
                     boolean hasResultSet = stmt.execute();
                     if (hasResultSet) {
                         try (var rs = stmt.getResultSet()) {
@@ -85,41 +94,7 @@ public class JDBCSamplerProvider implements SamplerProvider {
                 recordTimestamps(tStarted, tDone, tDone);
                 return SamplerResponse.error(tStarted, tDone, e.getMessage());
             }
-        };
-    }
-
-    /**
-     * Java to SQL type mapping per the JDBC 4.3 spec (table B-4 / appendix B). Only the exact
-     * runtime classes a {@link io.roadrunner.api.parameters.ParameterSource} can produce are
-     * listed — subtypes (e.g. {@code java.util.Date}, {@code Number}) and primitive class
-     * literals (unreachable since values arrive via {@link Object#getClass()}) are out of scope.
-     */
-    private static final Map<Class<?>, SQLType> SQL_TYPE_BY_JAVA_TYPE = Map.ofEntries(
-            entry(String.class, JDBCType.VARCHAR),
-            entry(Character.class, JDBCType.CHAR),
-            entry(Boolean.class, JDBCType.BOOLEAN),
-            entry(Byte.class, JDBCType.TINYINT),
-            entry(Short.class, JDBCType.SMALLINT),
-            entry(Integer.class, JDBCType.INTEGER),
-            entry(Long.class, JDBCType.BIGINT),
-            entry(Float.class, JDBCType.REAL),
-            entry(Double.class, JDBCType.DOUBLE),
-            entry(BigDecimal.class, JDBCType.DECIMAL),
-            entry(BigInteger.class, JDBCType.NUMERIC),
-            entry(byte[].class, JDBCType.VARBINARY),
-            entry(java.sql.Date.class, JDBCType.DATE),
-            entry(java.sql.Time.class, JDBCType.TIME),
-            entry(java.sql.Timestamp.class, JDBCType.TIMESTAMP),
-            entry(LocalDate.class, JDBCType.DATE),
-            entry(LocalTime.class, JDBCType.TIME),
-            entry(LocalDateTime.class, JDBCType.TIMESTAMP),
-            entry(OffsetTime.class, JDBCType.TIME_WITH_TIMEZONE),
-            entry(OffsetDateTime.class, JDBCType.TIMESTAMP_WITH_TIMEZONE));
-
-    private static SQLType sqlTypeOf(Class<?> type) {
-        return requireNonNull(
-                SQL_TYPE_BY_JAVA_TYPE.get(type),
-                () -> "unsupported Java type for JDBC parameter binding: " + type.getName());
+        }
     }
 
     private void recordTimestamps(long tStarted, long tAcquired, long tDone) {
@@ -0,0 +1,172 @@
+/**
+ * Copyright 2024 Symentis.pl
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.roadrunner.samplers.jdbc;
+
+import static java.util.Map.entry;
+import static java.util.Objects.requireNonNull;
+
+import io.roadrunner.api.parameters.ParameterTable;
+import io.roadrunner.api.parameters.SamplerParameters;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.Map;
+
+/**
+ * Binds sampler parameters to the positional placeholders of a prepared statement.
+ * <p>
+ * The binder is compiled once per parameter schema — the column types of a
+ * {@link ParameterTable} — into one type-specialised setter per placeholder, so binding a row is a
+ * loop over an array: no type lookups, and primitive columns go through {@code setLong},
+ * {@code setInt}, {@code setDouble}, … straight from the table without boxing their values.
+ * Binders are immutable, so samplers on any thread can share them.
+ */
+final class ParameterBinder {
+
+    /**
+     * Java to SQL type mapping per the JDBC 4.3 spec (table B-4 / appendix B). Only the exact
+     * runtime classes a {@link io.roadrunner.api.parameters.ParameterSource} can produce are
+     * listed — subtypes (e.g. {@code java.util.Date}, {@code Number}) and primitive class
+     * literals (tables report columns by their boxed types) are out of scope.
+     */
+    private static final Map<Class<?>, SQLType> SQL_TYPE_BY_JAVA_TYPE = Map.ofEntries(
+            entry(String.class, JDBCType.VARCHAR),
+            entry(Character.class, JDBCType.CHAR),
+            entry(Boolean.class, JDBCType.BOOLEAN),
+            entry(Byte.class, JDBCType.TINYINT),
+            entry(Short.class, JDBCType.SMALLINT),
+            entry(Integer.class, JDBCType.INTEGER),
+            entry(Long.class, JDBCType.BIGINT),
+            entry(Float.class, JDBCType.REAL),
+            entry(Double.class, JDBCType.DOUBLE),
+            entry(BigDecimal.class, JDBCType.DECIMAL),
+            entry(BigInteger.class, JDBCType.NUMERIC),
+            entry(byte[].class, JDBCType.VARBINARY),
+            entry(java.sql.Date.class, JDBCType.DATE),
+            entry(java.sql.Time.class, JDBCType.TIME),
+            entry(java.sql.Timestamp.class, JDBCType.TIMESTAMP),
+            entry(LocalDate.class, JDBCType.DATE),
+            entry(LocalTime.class, JDBCType.TIME),
+            entry(LocalDateTime.class, JDBCType.TIMESTAMP),
+            entry(OffsetTime.class, JDBCType.TIME_WITH_TIMEZONE),
+            entry(OffsetDateTime.class, JDBCType.TIMESTAMP_WITH_TIMEZONE));
+
+    @FunctionalInterface
+    private interface Setter {
+        void set(PreparedStatement stmt, int index, ParameterTable table, int row, int column) throws SQLException;
+    }
+
+    private final ParameterTable table;
+    private final Class<?>[] types;
+    private final Setter[] setters;
+
+    private ParameterBinder(ParameterTable table, Class<?>[] types, Setter[] setters) {
+        this.table = table;
+        this.types = types;
+        this.setters = setters;
+    }
+
+    /**
+     * Compiles a binder for the schema of {@code parameters}.
+     *
+     * @throws NullPointerException when a column has a type JDBC parameters can't be bound from
+     */
+    static ParameterBinder of(SamplerParameters parameters) {
+        var table = parameters.table();
+        var types = new Class<?>[table.columns().size()];
+        var setters = new Setter[types.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = table.typeOf(i);
+            setters[i] = setterOf(types[i]);
+        }
+        return new ParameterBinder(table, types, setters);
+    }
+
+    /**
+     * Returns {@code true} when {@code parameters} can be bound by this binder: they are a row of
+     * the table it was compiled for, or of a table with the same column types.
+     */
+    boolean fits(SamplerParameters parameters) {
+        var other = parameters.table();
+        if (other == table) {
+            return true;
+        }
+        if (other.columns().size() != types.length) {
+            return false;
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (other.typeOf(i) != types[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void bind(PreparedStatement stmt, SamplerParameters parameters) throws SQLException {
+        var table = parameters.table();
+        var row = parameters.row();
+        for (int i = 0; i < setters.length; i++) {
+            setters[i].set(stmt, i + 1, table, row, i);
+        }
+    }
+
+    private static Setter setterOf(Class<?> type) {
+        var sqlType = requireNonNull(
+                SQL_TYPE_BY_JAVA_TYPE.get(type),
+                () -> "unsupported Java type for JDBC parameter binding: " + type.getName());
+        Setter setter;
+        if (type == Long.class) {
+            setter = (stmt, index, table, row, column) -> stmt.setLong(index, table.longAt(row, column));
+        } else if (type == Integer.class) {
+            setter = (stmt, index, table, row, column) -> stmt.setInt(index, table.intAt(row, column));
+        } else if (type == Short.class) {
+            setter = (stmt, index, table, row, column) -> stmt.setShort(index, (short) table.intAt(row, column));
+        } else if (type == Byte.class) {
+            setter = (stmt, index, table, row, column) -> stmt.setByte(index, (byte) table.intAt(row, column));
+        } else if (type == Double.class) {
+            setter = (stmt, index, table, row, column) -> stmt.setDouble(index, table.doubleAt(row, column));
+        } else if (type == Float.class) {
+            setter = (stmt, index, table, row, column) -> stmt.setFloat(index, (float) table.doubleAt(row, column));
+        } else if (type == Boolean.class) {
+            setter = (stmt, index, table, row, column) -> stmt.setBoolean(index, table.booleanAt(row, column));
+        } else if (type == String.class) {
+            setter = (stmt, index, table, row, column) -> stmt.setString(index, (String) table.valueAt(row, column));
+        } else if (type == BigDecimal.class) {
+            setter = (stmt, index, table, row, column) ->
+                    stmt.setBigDecimal(index, (BigDecimal) table.valueAt(row, column));
+        } else if (type == byte[].class) {
+            setter = (stmt, index, table, row, column) -> stmt.setBytes(index, (byte[]) table.valueAt(row, column));
+        } else {
+            setter = (stmt, index, table, row, column) -> stmt.setObject(index, table.valueAt(row, column), sqlType);
+        }
+        var sqlTypeNumber = sqlType.getVendorTypeNumber();
+        return (stmt, index, table, row, column) -> {
+            if (table.isNull(row, column)) {
+                stmt.setNull(index, sqlTypeNumber);
+            } else {
+                setter.set(stmt, index, table, row, column);
+            }
+        };
+    }
+}
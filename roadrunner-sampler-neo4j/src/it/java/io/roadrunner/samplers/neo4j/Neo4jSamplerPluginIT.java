@@ -24,6 +24,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.net.URI;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
@@ -72,6 +73,28 @@ public class Neo4jSamplerPluginIT {
         }
     }
 
+    @Test
+    void validAsyncQuery() throws Exception {
+        try (var plugin = new Neo4jSamplerPlugin()) {
+            var options = plugin.options();
+            options.uri = new URI("neo4j://%s:%d".formatted(neo4j.getHost(), neo4j.getMappedPort(7687)));
+            options.username = "neo4j";
+            options.password = "";
+            options.query = "RETURN $param";
+            try (var samplerProvider = options.samplerProvider();
+                 var sampler = samplerProvider.newAsyncSampler()) {
+                var response = sampler.executeAsync(SamplerParameters.of("param", "1"))
+                        .toCompletableFuture()
+                        .get(30, TimeUnit.SECONDS);
+                assertThat(response).asInstanceOf(type(SamplerResponse.Response.class))
+                        .satisfies(r -> {
+                            assertThat(r.timestamp()).isLessThanOrEqualTo(r.stopTime());
+                            assertThat(r.stopTime()).isLessThanOrEqualTo(System.nanoTime());
+                        });
+            }
+        }
+    }
+
     @Test
     void validParameterizedQuery() throws Exception {
         try (var plugin = new Neo4jSamplerPlugin()) {
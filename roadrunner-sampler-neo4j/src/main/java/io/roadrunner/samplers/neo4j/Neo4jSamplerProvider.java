@@ -16,12 +16,19 @@
 package io.roadrunner.samplers.neo4j;
 
 import io.roadrunner.api.events.SamplerResponse;
+import io.roadrunner.api.samplers.AsyncSampler;
+import io.roadrunner.api.samplers.AsyncSamplerProvider;
 import io.roadrunner.api.samplers.Sampler;
-import io.roadrunner.api.samplers.SamplerProvider;
 import java.util.Map;
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.ResultCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class Neo4jSamplerProvider implements SamplerProvider {
+public class Neo4jSamplerProvider implements AsyncSamplerProvider {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Neo4jSamplerProvider.class);
 
     private final Driver driver;
     private final String query;
@@ -49,6 +56,39 @@ public class Neo4jSamplerProvider implements SamplerProvider {
         };
     }
 
+    /**
+     * Runs queries in async sessions, the driver's event loop completes them without blocking a
+     * thread per query.
+     */
+    @Override
+    public AsyncSampler newAsyncSampler() {
+        return parameters -> {
+            var startTime = System.nanoTime();
+            @SuppressWarnings("unchecked")
+            var params = (Map<String, Object>) parameters.asMap();
+            var session = driver.session(AsyncSession.class);
+            return session.runAsync(query, params)
+                    .thenCompose(ResultCursor::consumeAsync)
+                    .<SamplerResponse<?>>handle((summary, failure) -> {
+                        var stopTime = System.nanoTime();
+                        if (failure != null) {
+                            return SamplerResponse.error(
+                                    startTime,
+                                    stopTime,
+                                    AsyncSampler.causeOf(failure).getMessage());
+                        }
+                        return SamplerResponse.response(startTime, stopTime, summary);
+                    })
+                    // the query is measured by now, a session that fails to close doesn't fail it
+                    .thenCompose(response -> session.closeAsync().handle((closed, failure) -> {
+                        if (failure != null) {
+                            LOG.warn("failed to close neo4j session", AsyncSampler.causeOf(failure));
+                        }
+                        return response;
+                    }));
+        };
+    }
+
     @Override
     public void close() {
         driver.close();
@@ -21,6 +21,7 @@ module io.roadrunner.samplers.neo4j {
     requires io.roadrunner.samplers.spi;
     requires info.picocli;
     requires org.neo4j.driver;
+    requires org.slf4j;
 
     exports io.roadrunner.samplers.neo4j;
 